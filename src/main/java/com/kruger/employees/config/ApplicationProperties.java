@@ -1,6 +1,12 @@
 package com.kruger.employees.config;
 
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Employee Vaccine Inventory.
@@ -10,7 +16,509 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Export export = new Export();
+
+    private final BulkImport bulkImport = new BulkImport();
+
+    private final Compliance compliance = new Compliance();
+
+    private final Cache cache = new Cache();
+
+    private final Security security = new Security();
+
     // jhipster-needle-application-properties-property
+
+    public Export getExport() {
+        return export;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public Compliance getCompliance() {
+        return compliance;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Export {
+
+        /**
+         * Number of rows the JDBC driver fetches per round trip while streaming an export,
+         * which is also the number of entities kept in the persistence context at once.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class BulkImport {
+
+        /**
+         * Number of lines resolved, inserted and committed together by the bulk imports.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * Maximum number of rejected lines reported by an import job, further ones are only counted.
+         */
+        private int maxReportedErrors = 1000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class Compliance {
+
+        /**
+         * Number of doses of each vaccine type an employee needs to be fully vaccinated.
+         */
+        private final Map<VaccineType, Integer> requiredDoses = new EnumMap<>(
+            Map.of(VaccineType.SPUTNIK, 2, VaccineType.AZTRAZENECA, 2, VaccineType.PFIZER, 2, VaccineType.JHONSONJHONSON, 1)
+        );
+
+        public Map<VaccineType, Integer> getRequiredDoses() {
+            return requiredDoses;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tier of the caches, required by the caches with a {@code disk-size}.
+         */
+        private String diskPath;
+
+        /**
+         * Tiers and expiry of the caches, by cache name, overriding {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Invalidation {
+
+            public enum Transport {
+                /**
+                 * Evictions stay in the JVM, for a single node.
+                 */
+                LOOPBACK,
+                /**
+                 * Evictions are sent with PostgreSQL NOTIFY to the nodes sharing the database.
+                 */
+                POSTGRES,
+            }
+
+            private Transport transport = Transport.LOOPBACK;
+
+            /**
+             * PostgreSQL channel of the evictions, shared by the nodes.
+             */
+            private String channel = "cache_invalidation";
+
+            /**
+             * Time the evictions are held to be sent together.
+             */
+            private Duration batchDelay = Duration.ofMillis(20);
+
+            /**
+             * Maximum number of evictions sent together.
+             */
+            private int maxBatchSize = 200;
+
+            public Transport getTransport() {
+                return transport;
+            }
+
+            public void setTransport(Transport transport) {
+                this.transport = transport;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public Duration getBatchDelay() {
+                return batchDelay;
+            }
+
+            public void setBatchDelay(Duration batchDelay) {
+                this.batchDelay = batchDelay;
+            }
+
+            public int getMaxBatchSize() {
+                return maxBatchSize;
+            }
+
+            public void setMaxBatchSize(int maxBatchSize) {
+                this.maxBatchSize = maxBatchSize;
+            }
+        }
+
+        public static class WarmUp {
+
+            /**
+             * Whether the caches are loaded before the application reports itself ready.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of users loaded, the last modified ones unless a snapshot lists them.
+             */
+            private int users = 1000;
+
+            /**
+             * Maximum number of employees loaded with their vaccines, the last created ones unless a snapshot lists them.
+             */
+            private int employees = 5000;
+
+            /**
+             * Number of users or employees loaded per query.
+             */
+            private int batchSize = 500;
+
+            /**
+             * File listing the cached users and employees on shutdown, loaded first on the next start. No snapshot if not set.
+             */
+            private String snapshotFile;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getUsers() {
+                return users;
+            }
+
+            public void setUsers(int users) {
+                this.users = users;
+            }
+
+            public int getEmployees() {
+                return employees;
+            }
+
+            public void setEmployees(int employees) {
+                this.employees = employees;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public String getSnapshotFile() {
+                return snapshotFile;
+            }
+
+            public void setSnapshotFile(String snapshotFile) {
+                this.snapshotFile = snapshotFile;
+            }
+        }
+
+        public static class Region {
+
+            /**
+             * Maximum number of entries kept on heap, {@code jhipster.cache.ehcache.max-entries} if neither it nor
+             * {@code heap-size} is set.
+             */
+            private Long maxEntries;
+
+            /**
+             * Maximum size of the entries kept on heap, measured by walking their object graphs. Since Java 16 the JVM
+             * hides the internals of the JDK classes from the walk, which underestimates their size.
+             */
+            private DataSize heapSize;
+
+            /**
+             * Size of the off-heap tier, outside of the garbage collected heap, where the entries are stored serialized.
+             */
+            private DataSize offHeapSize;
+
+            /**
+             * Size of the disk tier, in {@code disk-path}, larger than {@code off-heap-size}.
+             */
+            private DataSize diskSize;
+
+            /**
+             * Time an entry stays in the cache after it's written, {@code jhipster.cache.ehcache.time-to-live-seconds} if
+             * neither it nor {@code time-to-idle} is set.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time an entry stays in the cache after it's last read or written, exclusive with {@code time-to-live}.
+             */
+            private Duration timeToIdle;
+
+            /**
+             * Age after which a read of an entry loaded by a {@code @Cacheable(sync = true)} method reloads it in the
+             * background, shorter than {@code time-to-live} so that popular entries never expire. Unset, entries are
+             * only loaded on a miss.
+             */
+            private Duration refreshAfter;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+
+            public Duration getRefreshAfter() {
+                return refreshAfter;
+            }
+
+            public void setRefreshAfter(Duration refreshAfter) {
+                this.refreshAfter = refreshAfter;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+        private final RefreshToken refreshToken = new RefreshToken();
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public TokenRevocation getTokenRevocation() {
+            return tokenRevocation;
+        }
+
+        public RefreshToken getRefreshToken() {
+            return refreshToken;
+        }
+
+        public static class PasswordHashing {
+
+            /**
+             * Threads hashing the passwords, half of the processors by default so that logins can't take them all.
+             */
+            private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+            /**
+             * Passwords waiting for a thread, beyond which the requests hashing one are rejected with a 503.
+             */
+            private int queueCapacity = 50;
+
+            /**
+             * Time a bcrypt hash may take: the strength is calibrated at startup to the strongest one within it.
+             */
+            private Duration latencyBudget = Duration.ofMillis(250);
+
+            private int minStrength = 10;
+
+            private int maxStrength = 16;
+
+            /**
+             * The bcrypt strength, skipping the calibration.
+             */
+            private Integer strength;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Duration getLatencyBudget() {
+                return latencyBudget;
+            }
+
+            public void setLatencyBudget(Duration latencyBudget) {
+                this.latencyBudget = latencyBudget;
+            }
+
+            public int getMinStrength() {
+                return minStrength;
+            }
+
+            public void setMinStrength(int minStrength) {
+                this.minStrength = minStrength;
+            }
+
+            public int getMaxStrength() {
+                return maxStrength;
+            }
+
+            public void setMaxStrength(int maxStrength) {
+                this.maxStrength = maxStrength;
+            }
+
+            public Integer getStrength() {
+                return strength;
+            }
+
+            public void setStrength(Integer strength) {
+                this.strength = strength;
+            }
+        }
+
+        public static class TokenRevocation {
+
+            /**
+             * Revocations the Bloom filter of the revoked tokens is sized for, it's sized again when there are more.
+             */
+            private long expectedRevocations = 100_000;
+
+            /**
+             * Probability that a token not revoked is still looked up in the database.
+             */
+            private double falsePositiveProbability = 0.01;
+
+            public long getExpectedRevocations() {
+                return expectedRevocations;
+            }
+
+            public void setExpectedRevocations(long expectedRevocations) {
+                this.expectedRevocations = expectedRevocations;
+            }
+
+            public double getFalsePositiveProbability() {
+                return falsePositiveProbability;
+            }
+
+            public void setFalsePositiveProbability(double falsePositiveProbability) {
+                this.falsePositiveProbability = falsePositiveProbability;
+            }
+        }
+
+        public static class RefreshToken {
+
+            /**
+             * Validity of the refresh tokens, from the login: the refreshes don't extend it. With remember-me, it's the
+             * validity of the remember-me tokens of JHipster instead.
+             */
+            private Duration validity = Duration.ofHours(24);
+
+            public Duration getValidity() {
+                return validity;
+            }
+
+            public void setValidity(Duration validity) {
+                this.validity = validity;
+            }
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
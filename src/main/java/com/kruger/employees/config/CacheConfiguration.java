@@ -1,15 +1,42 @@
 package com.kruger.employees.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.employees.config.cache.BroadcastingCacheManager;
+import com.kruger.employees.config.cache.CacheInvalidationBus;
+import com.kruger.employees.config.cache.CacheInvalidationTransport;
+import com.kruger.employees.config.cache.LoopbackCacheInvalidationTransport;
+import com.kruger.employees.config.cache.PostgresCacheInvalidationTransport;
+import com.kruger.employees.management.EhcacheMetrics;
+import java.io.File;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.concurrent.Executor;
+import javax.cache.Caching;
+import javax.sql.DataSource;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.jcache.JCacheCache;
 import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
@@ -19,18 +46,84 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
+
+    private static final ApplicationProperties.Cache.Region DEFAULT_REGION = new ApplicationProperties.Cache.Region();
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    /**
+     * The JCache manager of Spring Boot, with the persistence service needed by the disk tiers when
+     * {@code application.cache.disk-path} is set.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        ClassLoader classLoader = getClass().getClassLoader();
+        DefaultConfiguration configuration = cacheProperties.getDiskPath() != null
+            ? new DefaultConfiguration(classLoader, new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath())))
+            : new DefaultConfiguration(classLoader);
+        javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), configuration);
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
+    /**
+     * The Spring cache manager, in place of the one of Spring Boot, broadcasting the evictions to the other nodes and
+     * refreshing ahead the caches with a {@code refresh-after}.
+     */
+    @Bean
+    public CacheManager cacheManager(
+        javax.cache.CacheManager jCacheManager,
+        CacheInvalidationBus cacheInvalidationBus,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        return new BroadcastingCacheManager(
+            jCacheManager,
+            cacheInvalidationBus,
+            cache -> {
+                ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(cache.getName());
+                if (region == null || region.getRefreshAfter() == null) {
+                    return cache;
+                }
+                return new RefreshAheadCache(cache, region.getRefreshAfter(), taskExecutor, Clock.systemUTC());
+            }
+        );
+    }
+
+    @Bean
+    public CacheInvalidationTransport cacheInvalidationTransport(DataSource dataSource, ObjectMapper objectMapper) {
+        ApplicationProperties.Cache.Invalidation invalidation = cacheProperties.getInvalidation();
+        if (invalidation.getTransport() == ApplicationProperties.Cache.Invalidation.Transport.POSTGRES) {
+            return new PostgresCacheInvalidationTransport(dataSource, objectMapper, invalidation.getChannel());
+        }
+        return new LoopbackCacheInvalidationTransport();
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheInvalidationTransport cacheInvalidationTransport) {
+        ApplicationProperties.Cache.Invalidation invalidation = cacheProperties.getInvalidation();
+        return new CacheInvalidationBus(cacheInvalidationTransport, invalidation.getBatchDelay(), invalidation.getMaxBatchSize());
+    }
+
+    /**
+     * Bind the caches to Micrometer with their size and estimated footprint, before the JCache binder of Spring Boot.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CacheMeterBinderProvider<JCacheCache> ehcacheMeterBinderProvider() {
+        return (cache, tags) -> new EhcacheMetrics<>(cache.getNativeCache(), tags);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
     @Bean
@@ -38,6 +131,12 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.kruger.employees.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.kruger.employees.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.kruger.employees.security.CredentialsCachingAuthenticationProvider.CREDENTIALS_CACHE);
+            createCache(cm, com.kruger.employees.domain.User.class.getName() + ".authorities");
+            createCache(cm, com.kruger.employees.domain.Authority.class.getName());
+            createCache(cm, com.kruger.employees.domain.ApplicationUser.class.getName());
+            createCache(cm, com.kruger.employees.domain.ApplicationUser.class.getName() + ".vaccines");
+            createCache(cm, com.kruger.employees.domain.Vaccine.class.getName());
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -47,8 +146,55 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+        // Count the hits, misses, puts and evictions, which EhcacheMetrics reads
+        cm.enableStatistics(cacheName, true);
+    }
+
+    javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().getOrDefault(cacheName, DEFAULT_REGION);
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (region.getHeapSize() != null) {
+            if (region.getMaxEntries() != null) {
+                throw new IllegalStateException("Cache " + cacheName + " sets both max-entries and heap-size");
+            }
+            resourcePools = resourcePools.heap(region.getHeapSize().toBytes(), MemoryUnit.B);
+        } else {
+            long maxEntries = region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries();
+            resourcePools = resourcePools.heap(maxEntries, EntryUnit.ENTRIES);
+        }
+        if (region.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+        if (region.getDiskSize() != null) {
+            if (cacheProperties.getDiskPath() == null) {
+                throw new IllegalStateException("Cache " + cacheName + " has a disk tier but application.cache.disk-path isn't set");
+            }
+            resourcePools = resourcePools.disk(region.getDiskSize().toBytes(), MemoryUnit.B);
+        }
+        Duration refreshAfter = region.getRefreshAfter();
+        if (refreshAfter != null && region.getTimeToLive() != null && refreshAfter.compareTo(region.getTimeToLive()) >= 0) {
+            throw new IllegalStateException("Cache " + cacheName + " sets a refresh-after longer than its time-to-live");
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(expiry(cacheName, region))
+                .build()
+        );
+    }
+
+    private ExpiryPolicy<Object, Object> expiry(String cacheName, ApplicationProperties.Cache.Region region) {
+        if (region.getTimeToIdle() != null) {
+            if (region.getTimeToLive() != null) {
+                // Reads would extend the entries past their time to live, which Ehcache can't cap
+                throw new IllegalStateException("Cache " + cacheName + " sets both time-to-live and time-to-idle");
+            }
+            return ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle());
         }
+        Duration timeToLive = region.getTimeToLive() != null ? region.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        return ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
     }
 
     @Autowired(required = false)
@@ -0,0 +1,53 @@
+package com.kruger.employees.config;
+
+import com.kruger.employees.config.cache.CacheInvalidation;
+import com.kruger.employees.config.cache.CacheInvalidationBus;
+import com.kruger.employees.config.cache.EntityCacheInvalidationListener;
+import com.kruger.employees.repository.VaccineStatisticEventListener;
+import com.kruger.employees.service.analytics.VaccineAnalyticsEventListener;
+import com.kruger.employees.service.compliance.VaccinationComplianceEventListener;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the application's Hibernate event listeners, which see every entity write whatever the code path.
+ */
+@Configuration
+public class HibernateListenerConfiguration {
+
+    public HibernateListenerConfiguration(
+        EntityManagerFactory entityManagerFactory,
+        VaccineStatisticEventListener vaccineStatisticEventListener,
+        VaccineAnalyticsEventListener vaccineAnalyticsEventListener,
+        VaccinationComplianceEventListener vaccinationComplianceEventListener,
+        CacheInvalidationBus cacheInvalidationBus
+    ) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, vaccineStatisticEventListener);
+        registry.appendListeners(EventType.POST_UPDATE, vaccineStatisticEventListener);
+        registry.appendListeners(EventType.POST_DELETE, vaccineStatisticEventListener);
+        registry.appendListeners(EventType.POST_INSERT, vaccineAnalyticsEventListener);
+        registry.appendListeners(EventType.POST_UPDATE, vaccineAnalyticsEventListener);
+        registry.appendListeners(EventType.POST_DELETE, vaccineAnalyticsEventListener);
+        registry.appendListeners(EventType.POST_INSERT, vaccinationComplianceEventListener);
+        registry.appendListeners(EventType.POST_UPDATE, vaccinationComplianceEventListener);
+        registry.appendListeners(EventType.POST_DELETE, vaccinationComplianceEventListener);
+
+        EntityCacheInvalidationListener entityCacheInvalidationListener = new EntityCacheInvalidationListener(
+            sessionFactory,
+            cacheInvalidationBus
+        );
+        registry.appendListeners(EventType.POST_INSERT, entityCacheInvalidationListener);
+        registry.appendListeners(EventType.POST_UPDATE, entityCacheInvalidationListener);
+        registry.appendListeners(EventType.POST_DELETE, entityCacheInvalidationListener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, entityCacheInvalidationListener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, entityCacheInvalidationListener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, entityCacheInvalidationListener);
+        cacheInvalidationBus.register(CacheInvalidation.Kind.ENTITY, entityCacheInvalidationListener);
+        cacheInvalidationBus.register(CacheInvalidation.Kind.COLLECTION, entityCacheInvalidationListener);
+    }
+}
@@ -0,0 +1,216 @@
+package com.kruger.employees.config;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Cache loading its values once per key, and reloading them in the background before they expire.
+ * <p>
+ * Only the {@code @Cacheable(sync = true)} methods give their loader to the cache, through {@link #get(Object, Callable)}:
+ * <ul>
+ *     <li>concurrent misses for the same key wait for a single call of the loader;</li>
+ *     <li>an entry older than {@code refreshAfter} is returned as is, and the loader is called on {@code executor} to
+ *     replace it, once per key at a time.</li>
+ * </ul>
+ * A value loaded while the cache is evicted or cleared is returned but not stored, as it may predate the change which
+ * caused the eviction. An eviction landing after the loader returned waits for its value to be stored, then removes it.
+ */
+public class RefreshAheadCache implements Cache {
+
+    private final Logger log = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final Cache delegate;
+
+    private final long refreshAfterMillis;
+
+    private final Executor executor;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Held for reading while a loaded value is checked and stored, and for writing while an invalidation is counted.
+     */
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+
+    public RefreshAheadCache(Cache delegate, Duration refreshAfter, Executor executor, Clock clock) {
+        this.delegate = delegate;
+        this.refreshAfterMillis = refreshAfter.toMillis();
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Entry entry = lookup(key);
+        return entry != null ? new SimpleValueWrapper(entry.value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Entry entry = lookup(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.value != null && type != null && !type.isInstance(entry.value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + entry.value);
+        }
+        return (T) entry.value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entry entry = lookup(key);
+        if (entry != null) {
+            if (clock.millis() - entry.loadedAt >= refreshAfterMillis) {
+                refresh(key, valueLoader);
+            }
+            return (T) entry.value;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return (T) await(key, valueLoader, inFlight);
+        }
+        try {
+            T value = load(key, valueLoader);
+            load.complete(value);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, new Entry(value, clock.millis()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        countInvalidation();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        countInvalidation();
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        countInvalidation();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        countInvalidation();
+        return delegate.invalidate();
+    }
+
+    private Entry lookup(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null ? (Entry) wrapper.get() : null;
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+        long invalidationsBefore = invalidations.get();
+        T value = valueLoader.call();
+        invalidationLock.readLock().lock();
+        try {
+            if (invalidations.get() == invalidationsBefore) {
+                put(key, value);
+            }
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+        return value;
+    }
+
+    private void countInvalidation() {
+        invalidationLock.writeLock().lock();
+        try {
+            invalidations.incrementAndGet();
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    private void refresh(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        if (loads.putIfAbsent(key, load) != null) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                load.complete(load(key, valueLoader));
+            } catch (Exception e) {
+                // The cached value is served until it expires
+                log.warn("Couldn't refresh the entry {} of the cache {}: {}", key, getName(), e.getMessage());
+                load.completeExceptionally(e);
+            } finally {
+                loads.remove(key, load);
+            }
+        });
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        try {
+            return load.get();
+        } catch (ExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object value;
+
+        private final long loadedAt;
+
+        Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
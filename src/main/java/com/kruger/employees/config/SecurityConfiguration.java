@@ -2,6 +2,10 @@ package com.kruger.employees.config;
 
 import com.kruger.employees.security.*;
 import com.kruger.employees.security.jwt.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -9,12 +13,15 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.zalando.problem.spring.web.advice.security.SecurityProblemSupport;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -27,24 +34,66 @@ public class SecurityConfiguration {
 
     private final TokenProvider tokenProvider;
 
+    private final TokenRevocationStore tokenRevocationStore;
+
     private final CorsFilter corsFilter;
     private final SecurityProblemSupport problemSupport;
 
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
     public SecurityConfiguration(
         TokenProvider tokenProvider,
+        TokenRevocationStore tokenRevocationStore,
         CorsFilter corsFilter,
         JHipsterProperties jHipsterProperties,
-        SecurityProblemSupport problemSupport
+        SecurityProblemSupport problemSupport,
+        @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver
     ) {
         this.tokenProvider = tokenProvider;
+        this.tokenRevocationStore = tokenRevocationStore;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
         this.jHipsterProperties = jHipsterProperties;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        int bcryptStrength = passwordHashing.getStrength() != null
+            ? passwordHashing.getStrength()
+            : PasswordEncoders.calibrateBCryptStrength(
+                passwordHashing.getLatencyBudget(),
+                passwordHashing.getMinStrength(),
+                passwordHashing.getMaxStrength()
+            );
+        return new BoundedPasswordEncoder(
+            PasswordEncoders.delegating(bcryptStrength),
+            passwordHashing.getThreads(),
+            passwordHashing.getQueueCapacity(),
+            meterRegistry
+        );
     }
 
+    /**
+     * The provider of the {@code /api/authenticate} logins and of HTTP Basic, verifying repeated credentials without
+     * hashing them again, and hashing the outdated passwords again in the background.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CredentialsCachingAuthenticationProvider authenticationProvider(
+        UserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder,
+        CacheManager cacheManager,
+        UserDetailsPasswordService userDetailsPasswordService,
+        @Qualifier("taskExecutor") Executor executor
+    ) {
+        CredentialsCachingAuthenticationProvider authenticationProvider = new CredentialsCachingAuthenticationProvider(
+            userDetailsService,
+            passwordEncoder,
+            cacheManager
+        );
+        authenticationProvider.setPasswordUpgrade(userDetailsPasswordService, executor);
+        return authenticationProvider;
     }
 
     @Bean
@@ -54,6 +103,7 @@ public class SecurityConfiguration {
             .csrf()
             .disable()
             .addFilterBefore(corsFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new PasswordHashingUnavailableFilter(handlerExceptionResolver), BasicAuthenticationFilter.class)
             .exceptionHandling()
                 .authenticationEntryPoint(problemSupport)
                 .accessDeniedHandler(problemSupport)
@@ -78,6 +128,8 @@ public class SecurityConfiguration {
             .antMatchers("/swagger-ui/**").permitAll()
             .antMatchers("/test/**").permitAll()
             .antMatchers("/api/authenticate").permitAll()
+            .antMatchers("/api/authenticate/refresh").permitAll()
+            .antMatchers("/api/logout").permitAll()
             .antMatchers("/api/register").permitAll()
             .antMatchers("/api/activate").permitAll()
             .antMatchers("/api/account/reset-password/init").permitAll()
@@ -98,6 +150,6 @@ public class SecurityConfiguration {
     }
 
     private JWTConfigurer securityConfigurerAdapter() {
-        return new JWTConfigurer(tokenProvider);
+        return new JWTConfigurer(tokenProvider, tokenRevocationStore);
     }
 }
@@ -0,0 +1,88 @@
+package com.kruger.employees.config.cache;
+
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+
+/**
+ * Cache broadcasting its evictions with a {@link CacheInvalidationBus}.
+ * <p>
+ * Only {@link String} keys are sent as such: the eviction of another key is broadcast as the eviction of the whole
+ * cache on the other nodes.
+ */
+public class BroadcastingCache implements Cache {
+
+    private final Cache delegate;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public BroadcastingCache(Cache delegate, CacheInvalidationBus cacheInvalidationBus) {
+        this.delegate = delegate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        broadcast(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        // Absent here, the key may be cached by other nodes
+        broadcast(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        broadcast(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        broadcast(null);
+        return invalidated;
+    }
+
+    private void broadcast(Object key) {
+        cacheInvalidationBus.invalidate(CacheInvalidation.Kind.CACHE, getName(), key instanceof String ? (String) key : null);
+    }
+}
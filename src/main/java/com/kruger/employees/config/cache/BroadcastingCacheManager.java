@@ -0,0 +1,60 @@
+package com.kruger.employees.config.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCacheManager;
+
+/**
+ * JCache cache manager whose caches broadcast their evictions with a {@link CacheInvalidationBus}, and which applies
+ * the evictions of the other nodes.
+ */
+public class BroadcastingCacheManager extends JCacheCacheManager implements CacheInvalidationBus.Handler {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final UnaryOperator<Cache> localDecorator;
+
+    private final Map<String, Cache> localCaches = new ConcurrentHashMap<>();
+
+    /**
+     * @param localDecorator decorates each cache before the broadcast of its evictions, and is also applied to the
+     *                       evictions of the other nodes.
+     */
+    public BroadcastingCacheManager(
+        javax.cache.CacheManager cacheManager,
+        CacheInvalidationBus cacheInvalidationBus,
+        UnaryOperator<Cache> localDecorator
+    ) {
+        super(cacheManager);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.localDecorator = localDecorator;
+        cacheInvalidationBus.register(CacheInvalidation.Kind.CACHE, this);
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        Cache localCache = localDecorator.apply(super.decorateCache(cache));
+        localCaches.put(localCache.getName(), localCache);
+        return new BroadcastingCache(localCache, cacheInvalidationBus);
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        Cache localCache = localCaches.get(invalidation.getRegion());
+        if (localCache == null) {
+            return;
+        }
+        if (invalidation.getKey() == null) {
+            localCache.clear();
+        } else {
+            localCache.evict(invalidation.getKey());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        localCaches.values().forEach(Cache::clear);
+    }
+}
@@ -0,0 +1,85 @@
+package com.kruger.employees.config.cache;
+
+import java.util.Objects;
+
+/**
+ * Eviction of a key, or of a whole region when the key is {@code null}, broadcast to the other nodes.
+ */
+public class CacheInvalidation {
+
+    public enum Kind {
+        /**
+         * A cache of the Spring cache manager, the region being the cache name.
+         */
+        CACHE,
+        /**
+         * The Hibernate second-level cache of an entity, the region being the entity name and the key its identifier.
+         */
+        ENTITY,
+        /**
+         * The Hibernate second-level cache of a collection, the region being its role and the key the identifier of
+         * its owner.
+         */
+        COLLECTION,
+    }
+
+    private Kind kind;
+
+    private String region;
+
+    private String key;
+
+    public CacheInvalidation() {}
+
+    public CacheInvalidation(Kind kind, String region, String key) {
+        this.kind = kind;
+        this.region = region;
+        this.key = key;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return kind == that.kind && Objects.equals(region, that.region) && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, region, key);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidation{kind=" + kind + ", region='" + region + "', key='" + key + "'}";
+    }
+}
@@ -0,0 +1,37 @@
+package com.kruger.employees.config.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidations published together by a node, which ignores its own batches.
+ */
+public class CacheInvalidationBatch {
+
+    private String origin;
+
+    private List<CacheInvalidation> invalidations = new ArrayList<>();
+
+    public CacheInvalidationBatch() {}
+
+    public CacheInvalidationBatch(String origin, List<CacheInvalidation> invalidations) {
+        this.origin = origin;
+        this.invalidations = invalidations;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public List<CacheInvalidation> getInvalidations() {
+        return invalidations;
+    }
+
+    public void setInvalidations(List<CacheInvalidation> invalidations) {
+        this.invalidations = invalidations;
+    }
+}
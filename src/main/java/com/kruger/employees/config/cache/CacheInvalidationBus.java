@@ -0,0 +1,194 @@
+package com.kruger.employees.config.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bus broadcasting the cache evictions of this node to the other nodes of the application, and applying theirs.
+ * <p>
+ * An eviction made in a transaction is only sent once the transaction commits, so that the other nodes don't reload
+ * the previous state meanwhile. Evictions are then held for {@code batchDelay}, or until {@code maxBatchSize} are
+ * pending, and sent together: an eviction repeated or covered by the eviction of its whole region is sent once.
+ */
+public class CacheInvalidationBus implements CacheInvalidationTransport.Subscriber, AutoCloseable {
+
+    /**
+     * Applies the evictions of the other nodes to the caches of a {@link CacheInvalidation.Kind}.
+     */
+    public interface Handler {
+        void invalidate(CacheInvalidation invalidation);
+
+        /**
+         * Evict everything, as evictions may have been missed.
+         */
+        void invalidateAll();
+    }
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheInvalidationTransport transport;
+
+    private final long batchDelayMillis;
+
+    private final int maxBatchSize;
+
+    private final Map<CacheInvalidation.Kind, Handler> handlers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+
+    private Set<CacheInvalidation> pending = new LinkedHashSet<>();
+
+    private boolean flushScheduled;
+
+    public CacheInvalidationBus(CacheInvalidationTransport transport, Duration batchDelay, int maxBatchSize) {
+        this.transport = transport;
+        this.batchDelayMillis = batchDelay.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        transport.subscribe(this);
+    }
+
+    public void register(CacheInvalidation.Kind kind, Handler handler) {
+        handlers.put(kind, handler);
+    }
+
+    /**
+     * Broadcast the eviction of a key, or of the whole region if {@code key} is {@code null}, after the commit of the
+     * current transaction if there is one.
+     */
+    public void invalidate(CacheInvalidation.Kind kind, String region, String key) {
+        CacheInvalidation invalidation = new CacheInvalidation(kind, region, key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(List.of(invalidation));
+            return;
+        }
+        TransactionInvalidations transactionInvalidations = (TransactionInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (transactionInvalidations == null) {
+            transactionInvalidations = new TransactionInvalidations();
+            TransactionSynchronizationManager.bindResource(this, transactionInvalidations);
+            TransactionSynchronizationManager.registerSynchronization(transactionInvalidations);
+        }
+        transactionInvalidations.invalidations.add(invalidation);
+    }
+
+    @Override
+    public void onBatch(CacheInvalidationBatch batch) {
+        if (nodeId.equals(batch.getOrigin())) {
+            return;
+        }
+        for (CacheInvalidation invalidation : batch.getInvalidations()) {
+            Handler handler = handlers.get(invalidation.getKind());
+            if (handler == null) {
+                continue;
+            }
+            try {
+                handler.invalidate(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Couldn't apply {}: {}", invalidation, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onMissedBatches() {
+        log.warn("Cache invalidations may have been missed, evicting all the caches");
+        handlers.values().forEach(Handler::invalidateAll);
+    }
+
+    /**
+     * Send the pending evictions, then stop.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    void flush() {
+        Set<CacheInvalidation> invalidations;
+        synchronized (lock) {
+            invalidations = pending;
+            pending = new LinkedHashSet<>();
+            flushScheduled = false;
+        }
+        List<CacheInvalidation> batch = new ArrayList<>(maxBatchSize);
+        for (CacheInvalidation invalidation : invalidations) {
+            if (invalidation.getKey() != null && invalidations.contains(regionOf(invalidation))) {
+                continue;
+            }
+            batch.add(invalidation);
+            if (batch.size() == maxBatchSize) {
+                publish(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+    }
+
+    private void enqueue(Collection<CacheInvalidation> invalidations) {
+        synchronized (lock) {
+            pending.addAll(invalidations);
+            if (scheduler.isShutdown()) {
+                return;
+            }
+            if (pending.size() >= maxBatchSize) {
+                scheduler.execute(this::flush);
+                flushScheduled = true;
+            } else if (!flushScheduled) {
+                scheduler.schedule(this::flush, batchDelayMillis, TimeUnit.MILLISECONDS);
+                flushScheduled = true;
+            }
+        }
+    }
+
+    private void publish(List<CacheInvalidation> invalidations) {
+        try {
+            transport.publish(new CacheInvalidationBatch(nodeId, invalidations));
+        } catch (RuntimeException e) {
+            // The other nodes keep the evicted entries until they expire
+            log.warn("Couldn't publish {} cache invalidations: {}", invalidations.size(), e.getMessage());
+        }
+    }
+
+    private static CacheInvalidation regionOf(CacheInvalidation invalidation) {
+        return new CacheInvalidation(invalidation.getKind(), invalidation.getRegion(), null);
+    }
+
+    private final class TransactionInvalidations implements TransactionSynchronization {
+
+        private final Set<CacheInvalidation> invalidations = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            enqueue(invalidations);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+        }
+    }
+}
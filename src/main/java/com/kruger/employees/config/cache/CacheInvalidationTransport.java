@@ -0,0 +1,25 @@
+package com.kruger.employees.config.cache;
+
+/**
+ * Channel carrying the {@link CacheInvalidationBatch}es between the nodes of the application.
+ */
+public interface CacheInvalidationTransport extends AutoCloseable {
+    /**
+     * Send a batch to every node subscribed, including this one.
+     */
+    void publish(CacheInvalidationBatch batch);
+
+    void subscribe(Subscriber subscriber);
+
+    @Override
+    default void close() {}
+
+    interface Subscriber {
+        void onBatch(CacheInvalidationBatch batch);
+
+        /**
+         * Called when batches may have been lost, for instance while the transport was reconnecting.
+         */
+        void onMissedBatches();
+    }
+}
@@ -0,0 +1,257 @@
+package com.kruger.employees.config.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.StringRepresentableType;
+import org.hibernate.type.Type;
+
+/**
+ * Hibernate listener broadcasting the updates and deletions of the cached entities and collections, and evicting those
+ * of the other nodes from the second-level cache.
+ * <p>
+ * Inserted entities aren't broadcast, as the other nodes can't have cached them, but the collections they join are.
+ * The cached inverse collections, such as {@code ApplicationUser.vaccines}, don't change when their elements are
+ * written through the owning side: an insert, update or deletion of an element broadcasts the collections of its
+ * previous and current owners, which {@code hibernate.cache.auto_evict_collection_cache} only evicts on this node.
+ */
+public class EntityCacheInvalidationListener
+    implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener,
+        CacheInvalidationBus.Handler {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SessionFactoryImplementor sessionFactory;
+
+    private final transient CacheInvalidationBus cacheInvalidationBus;
+
+    private final transient Map<String, List<InverseCollection>> inverseCollectionsByEntity = new ConcurrentHashMap<>();
+
+    public EntityCacheInvalidationListener(SessionFactoryImplementor sessionFactory, CacheInvalidationBus cacheInvalidationBus) {
+        this.sessionFactory = sessionFactory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        broadcastInverseCollections(event.getPersister(), null, event.getState(), event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        broadcastEntity(event.getPersister(), event.getId());
+        // Without the previous state, the previous owners are unknown and the whole collection regions are evicted
+        Object[] oldState = event.getOldState();
+        broadcastInverseCollections(event.getPersister(), oldState, oldState != null ? event.getState() : null, event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        broadcastEntity(event.getPersister(), event.getId());
+        broadcastInverseCollections(event.getPersister(), event.getDeletedState(), null, event.getSession());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * @deprecated still abstract in Hibernate 5, which calls {@link #requiresPostCommitHandling(EntityPersister)}.
+     */
+    @Deprecated
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        broadcastCollection(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        broadcastCollection(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        broadcastCollection(event);
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        String region = invalidation.getRegion();
+        if (invalidation.getKind() == CacheInvalidation.Kind.ENTITY) {
+            if (invalidation.getKey() == null) {
+                sessionFactory.getCache().evictEntityData(region);
+            } else {
+                Type identifierType = sessionFactory.getMetamodel().entityPersister(region).getIdentifierType();
+                sessionFactory.getCache().evictEntityData(region, fromString(identifierType, invalidation.getKey()));
+            }
+        } else if (invalidation.getKind() == CacheInvalidation.Kind.COLLECTION) {
+            if (invalidation.getKey() == null) {
+                sessionFactory.getCache().evictCollectionData(region);
+            } else {
+                Type keyType = sessionFactory.getMetamodel().collectionPersister(region).getKeyType();
+                sessionFactory.getCache().evictCollectionData(region, fromString(keyType, invalidation.getKey()));
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    private void broadcastEntity(EntityPersister persister, Serializable id) {
+        if (persister.canWriteToCache()) {
+            cacheInvalidationBus.invalidate(
+                CacheInvalidation.Kind.ENTITY,
+                persister.getEntityName(),
+                toString(persister.getIdentifierType(), id)
+            );
+        }
+    }
+
+    private void broadcastCollection(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if (role == null) {
+            return;
+        }
+        CollectionPersister persister = sessionFactory.getMetamodel().collectionPersister(role);
+        if (persister.hasCache()) {
+            cacheInvalidationBus.invalidate(
+                CacheInvalidation.Kind.COLLECTION,
+                role,
+                toString(persister.getKeyType(), event.getAffectedOwnerIdOrNull())
+            );
+        }
+    }
+
+    private void broadcastInverseCollections(
+        EntityPersister persister,
+        Object[] previousState,
+        Object[] state,
+        SharedSessionContractImplementor session
+    ) {
+        String entityName = persister.getEntityName();
+        for (InverseCollection collection : inverseCollectionsByEntity.computeIfAbsent(entityName, this::inverseCollections)) {
+            if (collection.ownerProperty < 0 || (previousState == null && state == null)) {
+                // The owners are unknown
+                cacheInvalidationBus.invalidate(CacheInvalidation.Kind.COLLECTION, collection.persister.getRole(), null);
+                continue;
+            }
+            Object previousOwner = previousState != null ? previousState[collection.ownerProperty] : null;
+            Object owner = state != null ? state[collection.ownerProperty] : null;
+            broadcastOwnerCollection(collection.persister, previousOwner, session);
+            if (owner != previousOwner) {
+                broadcastOwnerCollection(collection.persister, owner, session);
+            }
+        }
+    }
+
+    private void broadcastOwnerCollection(CollectionPersister persister, Object owner, SharedSessionContractImplementor session) {
+        if (owner != null) {
+            cacheInvalidationBus.invalidate(
+                CacheInvalidation.Kind.COLLECTION,
+                persister.getRole(),
+                toString(persister.getKeyType(), identifier(persister.getOwnerEntityPersister(), owner, session))
+            );
+        }
+    }
+
+    /**
+     * The cached inverse collections whose elements are of an entity, found as
+     * {@code hibernate.cache.auto_evict_collection_cache} does.
+     */
+    private List<InverseCollection> inverseCollections(String entityName) {
+        EntityPersister entityPersister = sessionFactory.getMetamodel().entityPersister(entityName);
+        List<InverseCollection> collections = new ArrayList<>();
+        for (CollectionPersister collectionPersister : sessionFactory.getMetamodel().collectionPersisters().values()) {
+            if (
+                !collectionPersister.hasCache() ||
+                !collectionPersister.isInverse() ||
+                !(collectionPersister.getElementType() instanceof EntityType) ||
+                !sessionFactory
+                    .getMetamodel()
+                    .entityPersister(((EntityType) collectionPersister.getElementType()).getAssociatedEntityName())
+                    .isSubclassEntityName(entityName)
+            ) {
+                continue;
+            }
+            String mappedBy = collectionPersister.getMappedByProperty();
+            Integer ownerProperty = mappedBy != null && !mappedBy.contains(".")
+                ? entityPersister.getEntityMetamodel().getPropertyIndexOrNull(mappedBy)
+                : null;
+            collections.add(new InverseCollection(collectionPersister, ownerProperty));
+        }
+        return collections;
+    }
+
+    private static Serializable identifier(EntityPersister persister, Object entity, SharedSessionContractImplementor session) {
+        if (entity instanceof HibernateProxy) {
+            return ((HibernateProxy) entity).getHibernateLazyInitializer().getIdentifier();
+        }
+        Serializable id = session.getContextEntityIdentifier(entity);
+        return id != null ? id : persister.getIdentifier(entity, session);
+    }
+
+    /**
+     * The key of an identifier, {@code null} to evict the whole region when it can't be written as a string.
+     */
+    @SuppressWarnings("unchecked")
+    private static String toString(Type type, Serializable id) {
+        if (id == null || !(type instanceof StringRepresentableType)) {
+            return null;
+        }
+        return ((StringRepresentableType<Object>) type).toString(id);
+    }
+
+    private static Serializable fromString(Type type, String key) {
+        return (Serializable) ((StringRepresentableType<?>) type).fromStringValue(key);
+    }
+
+    private static final class InverseCollection {
+
+        private final CollectionPersister persister;
+
+        /**
+         * The index of the property of the element referencing the owner, {@code -1} if it isn't known.
+         */
+        private final int ownerProperty;
+
+        InverseCollection(CollectionPersister persister, Integer ownerProperty) {
+            this.persister = persister;
+            this.ownerProperty = ownerProperty != null ? ownerProperty : -1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kruger.employees.config.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Transport delivering the batches to the subscribers of the same JVM, for a single node or for tests.
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationBatch batch) {
+        subscribers.forEach(subscriber -> subscriber.onBatch(batch));
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+}
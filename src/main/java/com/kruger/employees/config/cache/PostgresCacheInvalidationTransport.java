@@ -0,0 +1,175 @@
+package com.kruger.employees.config.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport sending the batches with PostgreSQL {@code NOTIFY}, as JSON, to every node {@code LISTEN}ing on the channel.
+ * <p>
+ * Each node holds one connection of the pool to listen, and publishes with a connection of its own, outside of the
+ * transaction of the caller, which has committed by then. PostgreSQL doesn't keep the notifications sent while a node
+ * isn't listening, so the subscribers are told they missed batches when the listening connection is opened again.
+ */
+public class PostgresCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    /**
+     * PostgreSQL rejects payloads of 8000 bytes or more.
+     */
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationTransport.class);
+
+    private final DataSource dataSource;
+
+    private final ObjectMapper objectMapper;
+
+    private final String channel;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = true;
+
+    private Thread listener;
+
+    public PostgresCacheInvalidationTransport(DataSource dataSource, ObjectMapper objectMapper, String channel) {
+        if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+            // LISTEN doesn't take parameters, the channel is written in the statement
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(CacheInvalidationBatch batch) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                for (String payload : encode(batch)) {
+                    statement.setString(1, channel);
+                    statement.setString(2, payload);
+                    statement.executeQuery().close();
+                }
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Couldn't publish the cache invalidations", e);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        if (listener == null) {
+            listener = new Thread(this::listen, "cache-invalidation-listener");
+            listener.setDaemon(true);
+            listener.start();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(RECONNECT_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    List<String> encode(CacheInvalidationBatch batch) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(batch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Couldn't serialize the cache invalidations", e);
+        }
+        List<CacheInvalidation> invalidations = batch.getInvalidations();
+        if (payload.getBytes(StandardCharsets.UTF_8).length < MAX_PAYLOAD_BYTES || invalidations.size() < 2) {
+            return List.of(payload);
+        }
+        int half = invalidations.size() / 2;
+        List<String> payloads = new ArrayList<>(encode(new CacheInvalidationBatch(batch.getOrigin(), invalidations.subList(0, half))));
+        payloads.addAll(encode(new CacheInvalidationBatch(batch.getOrigin(), invalidations.subList(half, invalidations.size()))));
+        return payloads;
+    }
+
+    private void listen() {
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                // LISTEN only takes effect once committed
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (listenedBefore) {
+                    subscribers.forEach(Subscriber::onMissedBatches);
+                }
+                listenedBefore = true;
+                log.debug("Listening to the cache invalidations on channel {}", channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the cache invalidation channel, listening again in {} ms: {}", RECONNECT_DELAY_MILLIS, e.getMessage());
+                    sleepBeforeReconnecting();
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        CacheInvalidationBatch batch;
+        try {
+            batch = objectMapper.readValue(payload, CacheInvalidationBatch.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignored an unreadable cache invalidation batch: {}", e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.onBatch(batch);
+        }
+    }
+
+    private void sleepBeforeReconnecting() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -7,12 +7,15 @@ import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A ApplicationUser.
  */
 @Entity
 @Table(name = "application_user")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class ApplicationUser implements Serializable {
 
@@ -39,15 +42,20 @@ public class ApplicationUser implements Serializable {
     @Column(name = "cellphone", length = 10)
     private String cellphone;
 
-    @OneToOne(optional = false)
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
     @NotNull
     @JoinColumn(unique = true)
     private User internalUser;
 
     @OneToMany(mappedBy = "applicationUser")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "applicationUser" }, allowSetters = true)
     private Set<Vaccine> vaccines = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -159,6 +167,19 @@ public class ApplicationUser implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public ApplicationUser version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -0,0 +1,105 @@
+package com.kruger.employees.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * The revocation of a JWT token, by its id, or of all the tokens of a login issued until {@code revokedAt}.
+ * <p>
+ * A revocation is kept until {@code expiresAt}, when the tokens it revokes have expired anyway.
+ */
+@Entity
+@Table(name = "jhi_token_revocation")
+public class TokenRevocation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    private Long id;
+
+    @Size(max = 36)
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Size(max = 50)
+    @Column(name = "login", length = 50)
+    private String login;
+
+    @NotNull
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public static TokenRevocation ofToken(String tokenId, Instant revokedAt, Instant expiresAt) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.tokenId = tokenId;
+        revocation.revokedAt = revokedAt;
+        revocation.expiresAt = expiresAt;
+        return revocation;
+    }
+
+    public static TokenRevocation ofLogin(String login, Instant revokedAt, Instant expiresAt) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.login = login;
+        revocation.revokedAt = revokedAt;
+        revocation.expiresAt = expiresAt;
+        return revocation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TokenRevocation)) {
+            return false;
+        }
+        return id != null && id.equals(((TokenRevocation) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TokenRevocation{" +
+            "id=" + id +
+            ", tokenId='" + tokenId + "'" +
+            ", login='" + login + "'" +
+            ", revokedAt=" + revokedAt +
+            ", expiresAt=" + expiresAt +
+            "}";
+    }
+}
@@ -0,0 +1,71 @@
+package com.kruger.employees.domain;
+
+import com.kruger.employees.domain.enumeration.StatisticDimension;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import javax.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The number of vaccines, and of doses, in a bucket of a {@link StatisticDimension}.
+ * <p>
+ * The rows are maintained by SQL when vaccines are written, this entity is read-only.
+ */
+@Entity
+@Immutable
+@IdClass(VaccineStatisticId.class)
+@Table(name = "vaccine_statistic")
+public class VaccineStatistic implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 20)
+    private StatisticDimension dimension;
+
+    @Id
+    @Column(name = "bucket", length = 20)
+    private String bucket;
+
+    @Column(name = "vaccine_count", nullable = false)
+    private long vaccineCount;
+
+    @Column(name = "dose_count", nullable = false)
+    private long doseCount;
+
+    /**
+     * @return the bucket of the month dimension containing {@code date}, as {@code yyyy-MM}.
+     */
+    public static String monthBucket(LocalDate date) {
+        return YearMonth.from(date).toString();
+    }
+
+    public StatisticDimension getDimension() {
+        return dimension;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public long getVaccineCount() {
+        return vaccineCount;
+    }
+
+    public long getDoseCount() {
+        return doseCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineStatistic{" +
+            "dimension=" + dimension +
+            ", bucket='" + bucket + "'" +
+            ", vaccineCount=" + vaccineCount +
+            ", doseCount=" + doseCount +
+            "}";
+    }
+}
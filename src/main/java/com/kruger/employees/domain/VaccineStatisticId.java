@@ -0,0 +1,58 @@
+package com.kruger.employees.domain;
+
+import com.kruger.employees.domain.enumeration.StatisticDimension;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The identifier of a {@link VaccineStatistic}: a bucket of a dimension.
+ */
+public class VaccineStatisticId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private StatisticDimension dimension;
+
+    private String bucket;
+
+    public VaccineStatisticId() {}
+
+    public VaccineStatisticId(StatisticDimension dimension, String bucket) {
+        this.dimension = dimension;
+        this.bucket = bucket;
+    }
+
+    public StatisticDimension getDimension() {
+        return dimension;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VaccineStatisticId)) {
+            return false;
+        }
+        VaccineStatisticId that = (VaccineStatisticId) o;
+        return dimension == that.dimension && Objects.equals(bucket, that.bucket);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, bucket);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineStatisticId{" +
+            "dimension=" + dimension +
+            ", bucket='" + bucket + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,10 @@
+package com.kruger.employees.domain.enumeration;
+
+/**
+ * The dimensions vaccines are counted by in the vaccine statistics.
+ */
+public enum StatisticDimension {
+    VACCINE_TYPE,
+    MONTH,
+    DOSES,
+}
@@ -0,0 +1,135 @@
+package com.kruger.employees.management;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.cache.Cache;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventFiring;
+import org.ehcache.event.EventOrdering;
+import org.ehcache.event.EventType;
+
+/**
+ * Metrics of a JCache cache stored by Ehcache.
+ * <p>
+ * The hits, misses, puts and evictions are read from the JSR-107 statistics of the cache, which must be enabled. JCache
+ * can't tell the size of a cache, so the entries are counted from the events Ehcache fires asynchronously, off the
+ * request path, and the byte footprint is estimated from the serialized size of one entry in {@link #SAMPLE_RATE}.
+ */
+public class EhcacheMetrics<K, V, C extends Cache<K, V>> extends JCacheMetrics<K, V, C> {
+
+    static final int SAMPLE_RATE = 64;
+
+    private final EntryCounter entryCounter = new EntryCounter();
+
+    @SuppressWarnings("unchecked")
+    public EhcacheMetrics(C cache, Iterable<Tag> tags) {
+        super(cache, tags);
+        org.ehcache.Cache<Object, Object> ehcache = cache.unwrap(org.ehcache.Cache.class);
+        ehcache
+            .getRuntimeConfiguration()
+            .registerCacheEventListener(
+                entryCounter,
+                EventOrdering.UNORDERED,
+                EventFiring.ASYNCHRONOUS,
+                EnumSet.of(EventType.CREATED, EventType.UPDATED, EventType.REMOVED, EventType.EXPIRED, EventType.EVICTED)
+            );
+    }
+
+    @Override
+    protected Long size() {
+        return Math.max(0, entryCounter.entries.sum());
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        super.bindImplementationSpecificMetrics(registry);
+        Gauge
+            .builder("cache.footprint", entryCounter, EntryCounter::footprint)
+            .tags(getTagsWithCacheName())
+            .description("The estimated size of the entries in the cache, serialized")
+            .baseUnit(BaseUnits.BYTES)
+            .register(registry);
+    }
+
+    static final class EntryCounter implements CacheEventListener<Object, Object> {
+
+        private final LongAdder entries = new LongAdder();
+
+        private final AtomicLong events = new AtomicLong();
+
+        private final AtomicLong sampledBytes = new AtomicLong();
+
+        private final AtomicLong samples = new AtomicLong();
+
+        @Override
+        public void onEvent(CacheEvent<?, ?> event) {
+            switch (event.getType()) {
+                case CREATED:
+                    entries.increment();
+                    sample(event);
+                    break;
+                case UPDATED:
+                    sample(event);
+                    break;
+                default:
+                    entries.decrement();
+            }
+        }
+
+        double footprint() {
+            long sampleCount = samples.get();
+            if (sampleCount == 0) {
+                return 0;
+            }
+            return Math.max(0, entries.sum()) * ((double) sampledBytes.get() / sampleCount);
+        }
+
+        private void sample(CacheEvent<?, ?> event) {
+            if (events.getAndIncrement() % SAMPLE_RATE != 0) {
+                return;
+            }
+            long size = serializedSize(event.getKey(), event.getNewValue());
+            if (size > 0) {
+                sampledBytes.addAndGet(size);
+                samples.incrementAndGet();
+            }
+        }
+
+        private static long serializedSize(Object key, Object value) {
+            ByteCounter counter = new ByteCounter();
+            try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+                out.writeObject(key);
+                out.writeObject(value);
+            } catch (IOException e) {
+                // Not serializable, the entry is left out of the estimate
+                return 0;
+            }
+            return counter.count;
+        }
+    }
+
+    private static final class ByteCounter extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
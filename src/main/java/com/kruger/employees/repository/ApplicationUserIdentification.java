@@ -0,0 +1,11 @@
+package com.kruger.employees.repository;
+
+/**
+ * Projection of an {@link com.kruger.employees.domain.ApplicationUser} on its id and identification,
+ * used to resolve identifications without loading the entities.
+ */
+public interface ApplicationUserIdentification {
+    Long getId();
+
+    String getIdentification();
+}
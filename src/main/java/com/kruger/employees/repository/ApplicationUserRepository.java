@@ -1,9 +1,16 @@
 package com.kruger.employees.repository;
 
 import com.kruger.employees.domain.ApplicationUser;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,5 +19,39 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface ApplicationUserRepository extends JpaRepository<ApplicationUser, Long> {
+    @EntityGraph(attributePaths = "internalUser")
     Optional<ApplicationUser> findOneByInternalUserLogin(String login);
+
+    @EntityGraph(attributePaths = "internalUser")
+    Optional<ApplicationUser> findOneWithInternalUserById(Long id);
+
+    @EntityGraph(attributePaths = "internalUser")
+    Slice<ApplicationUser> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    List<ApplicationUserIdentification> findAllByIdentificationIn(Collection<String> identifications);
+
+    @Query("select applicationUser.id from ApplicationUser applicationUser")
+    List<Long> findAllIds();
+
+    @Query("select applicationUser.id from ApplicationUser applicationUser where applicationUser.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select applicationUser.id from ApplicationUser applicationUser order by applicationUser.id desc")
+    List<Long> findLatestIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = "vaccines")
+    List<ApplicationUser> findAllWithVaccinesByIdIn(Collection<Long> ids);
+
+    @Query(
+        value = "select u.id as id, u.login as login, u.firstName as firstName, u.lastName as lastName, u.email as email," +
+        " u.imageUrl as imageUrl, u.activated as activated, u.createdBy as createdBy, u.createdDate as createdDate," +
+        " u.lastModifiedBy as lastModifiedBy, u.lastModifiedDate as lastModifiedDate," +
+        " applicationUser.identification as identification, applicationUser.birthday as birthday," +
+        " applicationUser.address as address, applicationUser.cellphone as cellphone," +
+        " count(v.id) as vaccineCount, coalesce(sum(v.doses), 0) as totalDoses, max(v.vaccinationDate) as lastVaccinationDate" +
+        " from ApplicationUser applicationUser left join applicationUser.internalUser u left join applicationUser.vaccines v" +
+        " group by applicationUser.id, u.id",
+        countQuery = "select count(applicationUser) from ApplicationUser applicationUser"
+    )
+    Page<ManagedUserSummary> findAllManagedUserSummaries(Pageable pageable);
 }
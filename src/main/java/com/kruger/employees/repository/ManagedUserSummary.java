@@ -0,0 +1,46 @@
+package com.kruger.employees.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of an {@link com.kruger.employees.domain.ApplicationUser}, its internal
+ * {@link com.kruger.employees.domain.User} and a summary of its vaccines, as listed by the user administration.
+ */
+public interface ManagedUserSummary {
+    Long getId();
+
+    String getLogin();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getImageUrl();
+
+    boolean isActivated();
+
+    String getCreatedBy();
+
+    Instant getCreatedDate();
+
+    String getLastModifiedBy();
+
+    Instant getLastModifiedDate();
+
+    String getIdentification();
+
+    LocalDate getBirthday();
+
+    String getAddress();
+
+    String getCellphone();
+
+    Long getVaccineCount();
+
+    Long getTotalDoses();
+
+    LocalDate getLastVaccinationDate();
+}
@@ -0,0 +1,33 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.RefreshToken;
+import java.time.Instant;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link RefreshToken} entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    /**
+     * Locks the token until the end of the transaction, so that it's rotated only once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshToken> findOneByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.family = :family")
+    int deleteAllByFamily(@Param("family") String family);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.login = :login")
+    int deleteAllByLogin(@Param("login") String login);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,31 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.TokenRevocation;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the {@link TokenRevocation} entity.
+ */
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    boolean existsByTokenId(String tokenId);
+
+    /**
+     * @return whether the tokens of {@code login} issued at {@code issuedAt} are revoked.
+     */
+    boolean existsByLoginAndRevokedAtGreaterThanEqual(String login, Instant issuedAt);
+
+    List<TokenRevocation> findAllByExpiresAtAfter(Instant now);
+
+    List<TokenRevocation> findAllByRevokedAtAfter(Instant since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation revocation where revocation.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
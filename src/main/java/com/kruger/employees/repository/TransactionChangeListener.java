@@ -0,0 +1,85 @@
+package com.kruger.employees.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Base of the Hibernate listeners collecting the entity writes of each transaction.
+ * <p>
+ * The writes are gathered in an accumulator per session, created on the first write of the transaction. It is
+ * passed to {@link #beforeCompletion(SessionImplementor, Object)} after the last flush, to {@link #afterCommit(Object)}
+ * once the transaction is committed, and dropped when the transaction completes.
+ *
+ * @param <A> the type of the accumulator.
+ */
+public abstract class TransactionChangeListener<A> implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Map<SharedSessionContractImplementor, A> pendingChanges = new ConcurrentHashMap<>();
+
+    /**
+     * @param session the session of the write.
+     * @return the accumulator of the current transaction of the session.
+     */
+    protected A pendingChanges(EventSource session) {
+        return pendingChanges.computeIfAbsent(
+            session,
+            key -> {
+                session
+                    .getActionQueue()
+                    .registerProcess(completingSession -> {
+                        A changes = pendingChanges.get(completingSession);
+                        if (changes != null) {
+                            beforeCompletion(completingSession, changes);
+                        }
+                    });
+                session
+                    .getActionQueue()
+                    .registerProcess((success, completedSession) -> {
+                        A changes = pendingChanges.remove(completedSession);
+                        if (success && changes != null) {
+                            afterCommit(changes);
+                        }
+                    });
+                return newChanges();
+            }
+        );
+    }
+
+    /**
+     * @return a new accumulator, for a transaction.
+     */
+    protected abstract A newChanges();
+
+    /**
+     * Called after the last flush of the transaction, in it.
+     */
+    protected void beforeCompletion(SessionImplementor session, A changes) {}
+
+    /**
+     * Called once the transaction is committed.
+     */
+    protected void afterCommit(A changes) {}
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * @deprecated still abstract in Hibernate 5, which calls {@link #requiresPostCommitHandling(EntityPersister)}.
+     */
+    @Deprecated
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+}
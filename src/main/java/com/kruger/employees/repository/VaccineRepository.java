@@ -1,6 +1,9 @@
 package com.kruger.employees.repository;
 
 import com.kruger.employees.domain.Vaccine;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,11 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface VaccineRepository extends JpaRepository<Vaccine, Long> {}
+public interface VaccineRepository
+    extends VaccineRepositoryWithKeyset, VaccineRepositoryWithCursor, JpaRepository<Vaccine, Long>, JpaSpecificationExecutor<Vaccine> {
+    @EntityGraph(attributePaths = "applicationUser")
+    Optional<Vaccine> findOneWithApplicationUserById(Long id);
+
+    @EntityGraph(attributePaths = "applicationUser")
+    List<Vaccine> findAllWithApplicationUserByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,26 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.Vaccine;
+import java.util.function.Consumer;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Forward-only reads of {@link Vaccine} entities, for exports that must not hold the whole table in memory.
+ */
+public interface VaccineRepositoryWithCursor {
+    /**
+     * Pass each vaccine matching the specification to {@code action}, in id order.
+     * <p>
+     * The rows are read from a forward-only database cursor, {@code fetchSize} rows per round trip, with their
+     * {@code applicationUser} fetched by the same query. Entities are read-only and the persistence context is
+     * cleared every {@code fetchSize} rows, so they must not be kept nor modified by {@code action}. They're neither
+     * read from nor put in the second-level cache.
+     * Must be called within a transaction.
+     *
+     * @param specification the filter to apply, or {@code null}.
+     * @param fetchSize the number of rows fetched per round trip.
+     * @param action the action to apply to each vaccine.
+     * @return the number of vaccines read.
+     */
+    long forEachMatching(Specification<Vaccine> specification, int fetchSize, Consumer<Vaccine> action);
+}
@@ -0,0 +1,57 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.Vaccine_;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+
+public class VaccineRepositoryWithCursorImpl implements VaccineRepositoryWithCursor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long forEachMatching(Specification<Vaccine> specification, int fetchSize, Consumer<Vaccine> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Vaccine> query = cb.createQuery(Vaccine.class);
+        Root<Vaccine> root = query.from(Vaccine.class);
+        root.fetch(Vaccine_.applicationUser);
+
+        Predicate filter = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.select(root).orderBy(cb.asc(root.get(Vaccine_.id)));
+
+        long count = 0;
+        // Hibernate backs the result stream with a forward-only ScrollableResults
+        try (
+            Stream<Vaccine> stream = entityManager
+                .createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                // A scan of the whole table would push the hot entries out of the second-level cache
+                .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()
+        ) {
+            Iterator<Vaccine> vaccines = stream.iterator();
+            while (vaccines.hasNext()) {
+                action.accept(vaccines.next());
+                if (++count % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
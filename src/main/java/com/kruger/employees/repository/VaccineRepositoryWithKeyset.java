@@ -0,0 +1,24 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.Vaccine;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Keyset (seek) reads of {@link Vaccine} entities matching a {@link Specification}.
+ */
+public interface VaccineRepositoryWithKeyset {
+    /**
+     * Read the vaccines matching the specification whose id is greater than {@code after}.
+     * <p>
+     * Only {@code pageable.getPageSize() + 1} rows are fetched, without offset nor count query, and the
+     * {@code applicationUser} of each vaccine is loaded by the same query.
+     *
+     * @param specification the filter to apply, or {@code null}.
+     * @param after the id to seek from.
+     * @param pageable the size and sort of the slice, the page number is ignored.
+     * @return the slice of vaccines.
+     */
+    Slice<Vaccine> findAllAfter(Specification<Vaccine> specification, long after, Pageable pageable);
+}
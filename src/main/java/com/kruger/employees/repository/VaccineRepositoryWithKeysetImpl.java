@@ -0,0 +1,50 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.Vaccine_;
+import java.util.List;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class VaccineRepositoryWithKeysetImpl implements VaccineRepositoryWithKeyset {
+
+    private static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Vaccine> findAllAfter(Specification<Vaccine> specification, long after, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Vaccine> query = cb.createQuery(Vaccine.class);
+        Root<Vaccine> root = query.from(Vaccine.class);
+
+        Predicate predicate = cb.greaterThan(root.get(Vaccine_.id), after);
+        Predicate filter = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicate = cb.and(predicate, filter);
+        }
+        query.select(root).where(predicate).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        EntityGraph<Vaccine> graph = entityManager.createEntityGraph(Vaccine.class);
+        graph.addAttributeNodes(Vaccine_.APPLICATION_USER);
+        List<Vaccine> content = entityManager
+            .createQuery(query)
+            .setHint(LOAD_GRAPH_HINT, graph)
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+}
@@ -0,0 +1,121 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.VaccineStatistic;
+import com.kruger.employees.domain.VaccineStatisticId;
+import com.kruger.employees.domain.enumeration.StatisticDimension;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate listener maintaining the {@link VaccineStatistic} rows when vaccines are inserted, updated or deleted.
+ * <p>
+ * The changes of a transaction are summed per bucket, then applied with one batch of upserts after the last flush,
+ * just before the commit, so a rolled back transaction leaves the statistics untouched. Buckets are upserted in
+ * a fixed order, so that concurrent transactions lock them in the same order.
+ */
+@Component
+public class VaccineStatisticEventListener extends TransactionChangeListener<Map<VaccineStatisticId, long[]>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String UPSERT_SQL =
+        "insert into vaccine_statistic (dimension, bucket, vaccine_count, dose_count) values (?, ?, ?, ?)" +
+        " on conflict (dimension, bucket) do update set" +
+        " vaccine_count = vaccine_statistic.vaccine_count + excluded.vaccine_count," +
+        " dose_count = vaccine_statistic.dose_count + excluded.dose_count";
+
+    private static final Comparator<VaccineStatisticId> BUCKET_ORDER = Comparator
+        .comparing(VaccineStatisticId::getDimension)
+        .thenComparing(VaccineStatisticId::getBucket);
+
+    private final Logger log = LoggerFactory.getLogger(VaccineStatisticEventListener.class);
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            Vaccine vaccine = (Vaccine) event.getEntity();
+            addDeltas(event.getSession(), vaccine.getVaccineType(), vaccine.getVaccinationDate(), vaccine.getDoses(), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Vaccine)) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            log.warn("Vaccine {} updated without its previous state, the vaccine statistics must be rebuilt", event.getId());
+            return;
+        }
+        Vaccine vaccine = (Vaccine) event.getEntity();
+        addDeltas(event.getSession(), event.getPersister(), oldState, -1);
+        addDeltas(event.getSession(), vaccine.getVaccineType(), vaccine.getVaccinationDate(), vaccine.getDoses(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            addDeltas(event.getSession(), event.getPersister(), event.getDeletedState(), -1);
+        }
+    }
+
+    @Override
+    protected Map<VaccineStatisticId, long[]> newChanges() {
+        return new TreeMap<>(BUCKET_ORDER);
+    }
+
+    private void addDeltas(EventSource session, EntityPersister persister, Object[] state, int sign) {
+        VaccineType vaccineType = (VaccineType) state[persister.getEntityMetamodel().getPropertyIndex("vaccineType")];
+        LocalDate vaccinationDate = (LocalDate) state[persister.getEntityMetamodel().getPropertyIndex("vaccinationDate")];
+        Integer doses = (Integer) state[persister.getEntityMetamodel().getPropertyIndex("doses")];
+        addDeltas(session, vaccineType, vaccinationDate, doses, sign);
+    }
+
+    private void addDeltas(EventSource session, VaccineType vaccineType, LocalDate vaccinationDate, Integer doses, int sign) {
+        Map<VaccineStatisticId, long[]> deltas = pendingChanges(session);
+        addDelta(deltas, new VaccineStatisticId(StatisticDimension.VACCINE_TYPE, vaccineType.name()), doses, sign);
+        addDelta(deltas, new VaccineStatisticId(StatisticDimension.MONTH, VaccineStatistic.monthBucket(vaccinationDate)), doses, sign);
+        addDelta(deltas, new VaccineStatisticId(StatisticDimension.DOSES, String.valueOf(doses)), doses, sign);
+    }
+
+    private static void addDelta(Map<VaccineStatisticId, long[]> deltas, VaccineStatisticId bucket, int doses, int sign) {
+        long[] delta = deltas.computeIfAbsent(bucket, key -> new long[2]);
+        delta[0] += sign;
+        delta[1] += (long) sign * doses;
+    }
+
+    @Override
+    protected void beforeCompletion(SessionImplementor session, Map<VaccineStatisticId, long[]> deltas) {
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (Map.Entry<VaccineStatisticId, long[]> entry : deltas.entrySet()) {
+                    long[] delta = entry.getValue();
+                    if (delta[0] == 0 && delta[1] == 0) {
+                        continue;
+                    }
+                    statement.setString(1, entry.getKey().getDimension().name());
+                    statement.setString(2, entry.getKey().getBucket());
+                    statement.setLong(3, delta[0]);
+                    statement.setLong(4, delta[1]);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.kruger.employees.repository;
+
+import com.kruger.employees.domain.VaccineStatistic;
+import com.kruger.employees.domain.VaccineStatisticId;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the VaccineStatistic entity.
+ * <p>
+ * The statistics are kept up to date by {@link VaccineStatisticEventListener}, the rebuild queries recompute them
+ * from the vaccine table.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface VaccineStatisticRepository extends JpaRepository<VaccineStatistic, VaccineStatisticId> {
+    @Query("select statistic from VaccineStatistic statistic where statistic.vaccineCount > 0")
+    List<VaccineStatistic> findAllNonEmpty();
+
+    /**
+     * Block the incremental updates until the end of the transaction, so that a rebuild doesn't miss
+     * the vaccines written while it runs.
+     */
+    @Modifying
+    @Query(value = "lock table vaccine_statistic in exclusive mode", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "delete from vaccine_statistic", nativeQuery = true)
+    void deleteAllStatistics();
+
+    @Modifying
+    @Query(
+        value = "insert into vaccine_statistic (dimension, bucket, vaccine_count, dose_count)" +
+        " select 'VACCINE_TYPE', vaccine_type, count(*), sum(doses) from vaccine group by vaccine_type" +
+        " union all" +
+        " select 'MONTH', to_char(vaccination_date, 'YYYY-MM'), count(*), sum(doses) from vaccine" +
+        " group by to_char(vaccination_date, 'YYYY-MM')" +
+        " union all" +
+        " select 'DOSES', cast(doses as varchar), count(*), sum(doses) from vaccine group by doses",
+        nativeQuery = true
+    )
+    int insertStatisticsFromVaccines();
+}
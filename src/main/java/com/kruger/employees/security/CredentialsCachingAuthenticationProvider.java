@@ -0,0 +1,144 @@
+package com.kruger.employees.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Authentication provider remembering the credentials it recently verified, so that the clients sending them with
+ * every request, as with HTTP Basic, don't pay a password hash each time.
+ * <p>
+ * The {@link #CREDENTIALS_CACHE} maps each username, lowercased, to an HMAC of the username, the password presented
+ * and the password hash of the user. The HMAC key is random and never leaves the JVM, so the cache can't be used to
+ * guess passwords, and a password change invalidates the entry even before it's evicted. The user is still loaded and
+ * checked on each request, from the user caches.
+ * <p>
+ * With a {@link #setPasswordUpgrade(UserDetailsPasswordService, Executor) password upgrade}, the passwords whose hash
+ * is outdated are hashed again after a successful login, on the executor, instead of delaying the login.
+ */
+public class CredentialsCachingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public static final String CREDENTIALS_CACHE = "verifiedCredentials";
+
+    private final Logger log = LoggerFactory.getLogger(CredentialsCachingAuthenticationProvider.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec hmacKey;
+
+    private final CacheManager cacheManager;
+
+    private final Set<String> upgradingUsernames = ConcurrentHashMap.newKeySet();
+
+    private UserDetailsPasswordService passwordUpgradeService;
+
+    private Executor passwordUpgradeExecutor;
+
+    public CredentialsCachingAuthenticationProvider(
+        UserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder,
+        CacheManager cacheManager
+    ) {
+        setUserDetailsService(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+        this.cacheManager = cacheManager;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    public void setPasswordUpgrade(UserDetailsPasswordService passwordUpgradeService, Executor passwordUpgradeExecutor) {
+        this.passwordUpgradeService = passwordUpgradeService;
+        this.passwordUpgradeExecutor = passwordUpgradeExecutor;
+    }
+
+    /**
+     * The key of the cached credentials of a username, a login or an email.
+     */
+    public static String cacheKey(String username) {
+        return username.toLowerCase(Locale.ENGLISH);
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication)
+        throws AuthenticationException {
+        Cache cache = cacheManager.getCache(CREDENTIALS_CACHE);
+        if (cache == null || authentication.getCredentials() == null) {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            return;
+        }
+        String key = cacheKey(authentication.getName());
+        byte[] verifiedCredentials = hmac(authentication.getName(), authentication.getCredentials().toString(), userDetails.getPassword());
+        String cachedCredentials = cache.get(key, String.class);
+        if (cachedCredentials != null && MessageDigest.isEqual(Base64.getDecoder().decode(cachedCredentials), verifiedCredentials)) {
+            return;
+        }
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        cache.put(key, Base64.getEncoder().encodeToString(verifiedCredentials));
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        if (
+            passwordUpgradeService != null &&
+            authentication.getCredentials() != null &&
+            getPasswordEncoder().upgradeEncoding(user.getPassword()) &&
+            upgradingUsernames.add(user.getUsername())
+        ) {
+            upgradePassword(user, authentication.getCredentials().toString());
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+
+    private void upgradePassword(UserDetails user, String presentedPassword) {
+        try {
+            passwordUpgradeExecutor.execute(() -> {
+                try {
+                    passwordUpgradeService.updatePassword(user, getPasswordEncoder().encode(presentedPassword));
+                } catch (RuntimeException e) {
+                    log.warn("Could not upgrade the password hash of {}: {}", user.getUsername(), e.toString());
+                } finally {
+                    upgradingUsernames.remove(user.getUsername());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            upgradingUsernames.remove(user.getUsername());
+            log.debug("Postponed the upgrade of the password hash of {}: {}", user.getUsername(), e.toString());
+        }
+    }
+
+    private byte[] hmac(String username, String presentedPassword, String passwordHash) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(presentedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(String.valueOf(passwordHash).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " isn't available", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.kruger.employees.security;
+
+import com.kruger.employees.domain.Authority;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Registry of the granted authorities, shared by the principals instead of being created for each of them.
+ * <p>
+ * There are only a few authorities, and fewer combinations of them: each authority has a single immutable instance, and
+ * each combination a single immutable list sorted by name. A combination is looked up by its claim or by its set of
+ * names as is, so that a known one is returned without allocating. Past {@link #MAX_ENTRIES} names or combinations,
+ * new ones are still returned but not kept.
+ */
+public final class GrantedAuthorities {
+
+    static final int MAX_ENTRIES = 256;
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private static final Map<String, List<GrantedAuthority>> COMBINATIONS = new ConcurrentHashMap<>();
+
+    private static final Map<Set<String>, List<GrantedAuthority>> COMBINATIONS_BY_NAMES = new ConcurrentHashMap<>();
+
+    static {
+        of(AuthoritiesConstants.ADMIN);
+        of(AuthoritiesConstants.USER);
+        of(AuthoritiesConstants.ANONYMOUS);
+        fromNames(Set.of(AuthoritiesConstants.USER));
+        fromNames(Set.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER));
+    }
+
+    private GrantedAuthorities() {}
+
+    public static GrantedAuthority of(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        authority = new SimpleGrantedAuthority(name);
+        if (AUTHORITIES.size() < MAX_ENTRIES) {
+            GrantedAuthority existing = AUTHORITIES.putIfAbsent(name, authority);
+            return existing != null ? existing : authority;
+        }
+        return authority;
+    }
+
+    /**
+     * The authorities of a comma-separated list of names, as in the {@code auth} claim of the JWT tokens.
+     */
+    public static List<GrantedAuthority> fromClaim(String claim) {
+        List<GrantedAuthority> authorities = COMBINATIONS.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+        return combination(claim, Arrays.asList(claim.split(",")));
+    }
+
+    /**
+     * The authorities of a user, looked up by the set of their names built without a stream.
+     */
+    public static List<GrantedAuthority> fromAuthorities(Collection<Authority> authorities) {
+        Set<String> names = new HashSet<>(authorities.size() * 2);
+        for (Authority authority : authorities) {
+            names.add(authority.getName());
+        }
+        return fromNames(names);
+    }
+
+    /**
+     * The authorities of a set of names, as in the authorities of a user.
+     */
+    public static List<GrantedAuthority> fromNames(Set<String> names) {
+        List<GrantedAuthority> authorities = COMBINATIONS_BY_NAMES.get(names);
+        if (authorities != null) {
+            return authorities;
+        }
+        String key = String.join(",", new TreeSet<>(names));
+        authorities = COMBINATIONS.get(key);
+        if (authorities == null) {
+            authorities = combination(key, names);
+        }
+        if (COMBINATIONS_BY_NAMES.size() < MAX_ENTRIES) {
+            COMBINATIONS_BY_NAMES.putIfAbsent(Set.copyOf(names), authorities);
+        }
+        return authorities;
+    }
+
+    private static List<GrantedAuthority> combination(String key, Collection<String> names) {
+        TreeSet<String> sortedNames = new TreeSet<>();
+        for (String name : names) {
+            String trimmedName = name.trim();
+            if (!trimmedName.isEmpty()) {
+                sortedNames.add(trimmedName);
+            }
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(sortedNames.size());
+        for (String name : sortedNames) {
+            authorities.add(of(name));
+        }
+        authorities = Collections.unmodifiableList(authorities);
+        if (COMBINATIONS.size() < MAX_ENTRIES) {
+            List<GrantedAuthority> existing = COMBINATIONS.putIfAbsent(key, authorities);
+            return existing != null ? existing : authorities;
+        }
+        return authorities;
+    }
+}
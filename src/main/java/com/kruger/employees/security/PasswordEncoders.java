@@ -0,0 +1,83 @@
+package com.kruger.employees.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Factory of the password encoders, storing the id of their algorithm with each hash, as in {@code {bcrypt}$2a$12$...}.
+ * <p>
+ * The bcrypt strength can be calibrated on the node at startup: the strongest one hashing within a latency budget. The
+ * hashes of an older algorithm or of a lower strength, including the ones stored without an id, still match, and are
+ * reported by {@link PasswordEncoder#upgradeEncoding(String)} to be hashed again.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoders.class);
+
+    private static final int CALIBRATION_RUNS = 3;
+
+    private PasswordEncoders() {}
+
+    public static PasswordEncoder delegating(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+
+    /**
+     * The strongest bcrypt strength, between {@code minStrength} and {@code maxStrength}, hashing a password within
+     * {@code budget} on this node.
+     */
+    public static int calibrateBCryptStrength(Duration budget, int minStrength, int maxStrength) {
+        return calibrateBCryptStrength(
+            budget,
+            minStrength,
+            maxStrength,
+            strength -> {
+                BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+                long start = System.nanoTime();
+                bcrypt.encode("calibration");
+                return System.nanoTime() - start;
+            }
+        );
+    }
+
+    /**
+     * Measures the hashes at {@code minStrength} only: each additional strength doubles the time of a bcrypt hash.
+     */
+    static int calibrateBCryptStrength(Duration budget, int minStrength, int maxStrength, IntToLongFunction hashNanos) {
+        if (minStrength > maxStrength) {
+            throw new IllegalArgumentException("The minimum bcrypt strength is above the maximum one");
+        }
+        hashNanos.applyAsLong(minStrength);
+        long nanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            nanos = Math.min(nanos, hashNanos.applyAsLong(minStrength));
+        }
+        int strength = minStrength;
+        while (strength < maxStrength && nanos * 2 <= budget.toNanos()) {
+            strength++;
+            nanos *= 2;
+        }
+        if (nanos > budget.toNanos()) {
+            log.warn(
+                "Hashing a password takes {} ms at the minimum bcrypt strength {}, above the {} ms budget",
+                nanos / 1_000_000,
+                strength,
+                budget.toMillis()
+            );
+        } else {
+            log.info("Hashing the passwords with the bcrypt strength {}, in about {} ms", strength, nanos / 1_000_000);
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,13 @@
+package com.kruger.employees.security;
+
+/**
+ * Thrown when too many passwords are already waiting to be hashed.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
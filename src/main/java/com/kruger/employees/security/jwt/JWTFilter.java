@@ -6,14 +6,13 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.GenericFilterBean;
 
 /**
  * Filters incoming requests and installs a Spring Security principal if a header corresponding to a valid user is
- * found.
+ * found, and its token isn't revoked.
  */
 public class JWTFilter extends GenericFilterBean {
 
@@ -21,8 +20,11 @@ public class JWTFilter extends GenericFilterBean {
 
     private final TokenProvider tokenProvider;
 
-    public JWTFilter(TokenProvider tokenProvider) {
+    private final TokenRevocationStore tokenRevocationStore;
+
+    public JWTFilter(TokenProvider tokenProvider, TokenRevocationStore tokenRevocationStore) {
         this.tokenProvider = tokenProvider;
+        this.tokenRevocationStore = tokenRevocationStore;
     }
 
     @Override
@@ -30,9 +32,14 @@ public class JWTFilter extends GenericFilterBean {
         throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String jwt = resolveToken(httpServletRequest);
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(jwt)) {
+            TokenValidation validation = this.tokenProvider.validate(jwt);
+            if (
+                validation.isValid() &&
+                !tokenRevocationStore.isRevoked(validation.getTokenId(), validation.getAuthentication().getName(), validation.getIssuedAt())
+            ) {
+                SecurityContextHolder.getContext().setAuthentication(validation.getAuthentication());
+            }
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
@@ -1,12 +1,16 @@
 package com.kruger.employees.security.jwt;
 
 import com.kruger.employees.management.SecurityMetersService;
+import com.kruger.employees.security.GrantedAuthorities;
+import com.kruger.employees.security.jwt.VerifiedTokenCache.VerifiedToken;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -14,7 +18,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
@@ -29,6 +32,8 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    private static final int VERIFIED_TOKENS_MAX_ENTRIES = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -39,6 +44,8 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(VERIFIED_TOKENS_MAX_ENTRIES, Clock.systemUTC());
+
     public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -75,52 +82,72 @@ public class TokenProvider {
 
         return Jwts
             .builder()
+            .setId(UUID.randomUUID().toString())
             .setSubject(authentication.getName())
+            .setIssuedAt(new Date(now))
             .claim(AUTHORITIES_KEY, authorities)
             .signWith(key, SignatureAlgorithm.HS512)
             .setExpiration(validity)
             .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Validate a token and build its authentication, parsing and verifying it only if it isn't one of the recently
+     * verified tokens.
+     */
+    public TokenValidation validate(String token) {
+        String digest = token != null ? VerifiedTokenCache.digest(token) : null;
+        VerifiedToken verifiedToken = digest != null ? verifiedTokens.get(digest) : null;
+        if (verifiedToken == null) {
+            Claims claims;
+            try {
+                claims = jwtParser.parseClaimsJws(token).getBody();
+            } catch (ExpiredJwtException e) {
+                this.securityMetersService.trackTokenExpired();
+                log.trace(INVALID_JWT_TOKEN, e);
+                return TokenValidation.failed(TokenValidation.Failure.EXPIRED);
+            } catch (UnsupportedJwtException e) {
+                this.securityMetersService.trackTokenUnsupported();
+                log.trace(INVALID_JWT_TOKEN, e);
+                return TokenValidation.failed(TokenValidation.Failure.UNSUPPORTED);
+            } catch (MalformedJwtException e) {
+                this.securityMetersService.trackTokenMalformed();
+                log.trace(INVALID_JWT_TOKEN, e);
+                return TokenValidation.failed(TokenValidation.Failure.MALFORMED);
+            } catch (SignatureException e) {
+                this.securityMetersService.trackTokenInvalidSignature();
+                log.trace(INVALID_JWT_TOKEN, e);
+                return TokenValidation.failed(TokenValidation.Failure.INVALID_SIGNATURE);
+            } catch (IllegalArgumentException e) { // TODO: should we let it bubble (no catch), to avoid defensive programming and follow the fail-fast principle?
+                log.error("Token validation error {}", e.getMessage());
+                return TokenValidation.failed(TokenValidation.Failure.INVALID);
+            }
+            verifiedToken = verifiedToken(claims);
+            // Tokens without expiration aren't cached, as they could never leave the cache
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, verifiedToken);
+            }
+        }
+        return TokenValidation.valid(
+            new UsernamePasswordAuthenticationToken(verifiedToken.getPrincipal(), token, verifiedToken.getAuthorities()),
+            verifiedToken.getTokenId(),
+            verifiedToken.getIssuedAt(),
+            verifiedToken.getExpiresAt() != Long.MAX_VALUE ? Instant.ofEpochMilli(verifiedToken.getExpiresAt()) : null
+        );
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
-
-            return true;
-        } catch (ExpiredJwtException e) {
-            this.securityMetersService.trackTokenExpired();
-
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (UnsupportedJwtException e) {
-            this.securityMetersService.trackTokenUnsupported();
-
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (MalformedJwtException e) {
-            this.securityMetersService.trackTokenMalformed();
-
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (SignatureException e) {
-            this.securityMetersService.trackTokenInvalidSignature();
-
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (IllegalArgumentException e) { // TODO: should we let it bubble (no catch), to avoid defensive programming and follow the fail-fast principle?
-            log.error("Token validation error {}", e.getMessage());
-        }
+        return validate(authToken).isValid();
+    }
 
-        return false;
+    private static VerifiedToken verifiedToken(Claims claims) {
+        Object authoritiesClaim = claims.get(AUTHORITIES_KEY);
+        List<GrantedAuthority> authorities = authoritiesClaim == null
+            ? Collections.emptyList()
+            : GrantedAuthorities.fromClaim(authoritiesClaim.toString());
+        User principal = new User(claims.getSubject(), "", authorities);
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        return new VerifiedToken(principal, authorities, claims.getId(), issuedAt, expiresAt);
     }
 }
@@ -0,0 +1,188 @@
+package com.kruger.employees.security.jwt;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.TokenRevocation;
+import com.kruger.employees.management.SecurityMetersService;
+import com.kruger.employees.repository.TokenRevocationRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Store of the revoked JWT tokens: the ones revoked by their {@code jti}, as on logout, and the ones of a login issued
+ * until its lockout.
+ * <p>
+ * The revocations are persisted, and a Bloom filter of their token ids and logins is kept in memory, so that the
+ * tokens not revoked are accepted without a lookup, except for a {@code falsePositiveProbability} of them. The filter
+ * is loaded from the database at startup, then every {@link #SYNC_INTERVAL_MILLIS} it adds the revocations of the
+ * other nodes, and every {@link #REBUILD_INTERVAL} it is built again without the expired ones. Until it's first
+ * loaded, all the tokens are looked up.
+ */
+@Component
+public class TokenRevocationStore {
+
+    static final long SYNC_INTERVAL_MILLIS = 10_000;
+
+    static final Duration REBUILD_INTERVAL = Duration.ofHours(1);
+
+    /**
+     * Margin of the synchronization, covering the transactions of the other nodes committed late and their clocks.
+     */
+    private static final Duration SYNC_MARGIN = Duration.ofMinutes(1);
+
+    private static final String TOKEN_ID_KEY = "jti:";
+
+    private static final String LOGIN_KEY = "sub:";
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    private final SecurityMetersService securityMetersService;
+
+    private final long expectedRevocations;
+
+    private final double falsePositiveProbability;
+
+    private final Duration maxTokenValidity;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    private volatile BloomFilter filter;
+
+    private volatile BloomFilter rebuiltFilter;
+
+    private volatile long capacity;
+
+    private volatile Instant lastSync;
+
+    private volatile Instant lastRebuild;
+
+    public TokenRevocationStore(
+        TokenRevocationRepository tokenRevocationRepository,
+        SecurityMetersService securityMetersService,
+        ApplicationProperties applicationProperties,
+        JHipsterProperties jHipsterProperties
+    ) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.securityMetersService = securityMetersService;
+        this.expectedRevocations = applicationProperties.getSecurity().getTokenRevocation().getExpectedRevocations();
+        this.falsePositiveProbability = applicationProperties.getSecurity().getTokenRevocation().getFalsePositiveProbability();
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        this.maxTokenValidity =
+            Duration.ofSeconds(Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe()));
+    }
+
+    /**
+     * @param tokenId the {@code jti} of the token, {@code null} if it has none.
+     * @param login the subject of the token.
+     * @param issuedAt the {@code iat} of the token, {@code null} if it has none.
+     * @return whether the token is revoked.
+     */
+    public boolean isRevoked(String tokenId, String login, Instant issuedAt) {
+        BloomFilter currentFilter = filter;
+        boolean revoked = false;
+        if (tokenId != null && mightContain(currentFilter, TOKEN_ID_KEY + tokenId)) {
+            revoked = tokenRevocationRepository.existsByTokenId(tokenId);
+        }
+        if (!revoked && mightContain(currentFilter, LOGIN_KEY + login)) {
+            // The tokens without iat predate the revocations, and are revoked with any of them
+            Instant tokenIssuedAt = issuedAt != null ? issuedAt : Instant.EPOCH;
+            revoked = tokenRevocationRepository.existsByLoginAndRevokedAtGreaterThanEqual(login, tokenIssuedAt);
+        }
+        if (revoked) {
+            securityMetersService.trackTokenRevoked();
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes a token, until it expires.
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        Instant now = Instant.now();
+        tokenRevocationRepository.save(TokenRevocation.ofToken(tokenId, now, expiresAt != null ? expiresAt : now.plus(maxTokenValidity)));
+        add(TOKEN_ID_KEY + tokenId);
+        log.debug("Revoked the token {}", tokenId);
+    }
+
+    /**
+     * Revokes all the tokens of a login issued until now.
+     */
+    public void revokeTokens(String login) {
+        Instant now = Instant.now();
+        tokenRevocationRepository.save(TokenRevocation.ofLogin(login, now, now.plus(maxTokenValidity)));
+        add(LOGIN_KEY + login);
+        log.debug("Revoked the tokens of {}", login);
+    }
+
+    /**
+     * Adds the revocations of the other nodes to the filter, or builds it again when it's due, has never been built or
+     * is past its capacity.
+     */
+    @Scheduled(fixedDelay = SYNC_INTERVAL_MILLIS)
+    public void synchronize() {
+        Instant now = Instant.now();
+        try {
+            if (filter == null || insertions.get() > capacity || !lastRebuild.plus(REBUILD_INTERVAL).isAfter(now)) {
+                rebuild(now);
+            } else {
+                BloomFilter currentFilter = filter;
+                for (TokenRevocation revocation : tokenRevocationRepository.findAllByRevokedAtAfter(lastSync.minus(SYNC_MARGIN))) {
+                    currentFilter.add(key(revocation));
+                    insertions.incrementAndGet();
+                }
+            }
+            lastSync = now;
+        } catch (RuntimeException e) {
+            log.warn("Could not synchronize the revoked tokens: {}", e.toString());
+        }
+    }
+
+    private void rebuild(Instant now) {
+        tokenRevocationRepository.deleteExpired(now);
+        List<TokenRevocation> revocations = tokenRevocationRepository.findAllByExpiresAtAfter(now);
+        long rebuiltCapacity = Math.max(expectedRevocations, 2L * revocations.size());
+        BloomFilter rebuilt = new BloomFilter(rebuiltCapacity, falsePositiveProbability);
+        // The revocations of this node made while the filter is rebuilt are added to both
+        rebuiltFilter = rebuilt;
+        try {
+            for (TokenRevocation revocation : revocations) {
+                rebuilt.add(key(revocation));
+            }
+            capacity = rebuiltCapacity;
+            insertions.set(revocations.size());
+            filter = rebuilt;
+            lastRebuild = now;
+        } finally {
+            rebuiltFilter = null;
+        }
+        log.debug("Loaded {} token revocations", revocations.size());
+    }
+
+    private void add(String key) {
+        BloomFilter currentFilter = filter;
+        if (currentFilter != null) {
+            currentFilter.add(key);
+            insertions.incrementAndGet();
+        }
+        BloomFilter currentRebuiltFilter = rebuiltFilter;
+        if (currentRebuiltFilter != null) {
+            currentRebuiltFilter.add(key);
+        }
+    }
+
+    private static boolean mightContain(BloomFilter filter, String key) {
+        return filter == null || filter.mightContain(key);
+    }
+
+    private static String key(TokenRevocation revocation) {
+        return revocation.getTokenId() != null ? TOKEN_ID_KEY + revocation.getTokenId() : LOGIN_KEY + revocation.getLogin();
+    }
+}
@@ -0,0 +1,83 @@
+package com.kruger.employees.security.jwt;
+
+import java.time.Instant;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Outcome of the validation of a JWT token: the authentication it carries, or the reason it was rejected.
+ */
+public final class TokenValidation {
+
+    public enum Failure {
+        EXPIRED,
+        UNSUPPORTED,
+        MALFORMED,
+        INVALID_SIGNATURE,
+        INVALID,
+    }
+
+    private final Authentication authentication;
+
+    private final String tokenId;
+
+    private final Instant issuedAt;
+
+    private final Instant expiresAt;
+
+    private final Failure failure;
+
+    private TokenValidation(Authentication authentication, String tokenId, Instant issuedAt, Instant expiresAt, Failure failure) {
+        this.authentication = authentication;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.failure = failure;
+    }
+
+    static TokenValidation valid(Authentication authentication, String tokenId, Instant issuedAt, Instant expiresAt) {
+        return new TokenValidation(authentication, tokenId, issuedAt, expiresAt, null);
+    }
+
+    static TokenValidation failed(Failure failure) {
+        return new TokenValidation(null, null, null, null, failure);
+    }
+
+    public boolean isValid() {
+        return authentication != null;
+    }
+
+    /**
+     * @return the authentication of a valid token, {@code null} otherwise.
+     */
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    /**
+     * @return the {@code jti} of a valid token, {@code null} if it has none.
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * @return the {@code iat} of a valid token, {@code null} if it has none.
+     */
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    /**
+     * @return the {@code exp} of a valid token, {@code null} if it has none.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return the reason an invalid token was rejected, {@code null} for a valid token.
+     */
+    public Failure getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,132 @@
+package com.kruger.employees.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Bounded map of the tokens whose signature was verified, keyed by their SHA-256 digest so that the tokens themselves
+ * aren't kept, each one until its expiration.
+ * <p>
+ * When full, the expired tokens are removed first, then arbitrary ones down to three quarters of the capacity: a token
+ * removed early is only verified again.
+ */
+final class VerifiedTokenCache {
+
+    private final int maxEntries;
+
+    private final Clock clock;
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    VerifiedTokenCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 isn't available", e);
+        }
+    }
+
+    /**
+     * @return the verified token, or {@code null} if it isn't cached or has expired.
+     */
+    VerifiedToken get(String digest) {
+        VerifiedToken token = tokens.get(digest);
+        if (token == null) {
+            return null;
+        }
+        if (token.expiresAt <= clock.millis()) {
+            tokens.remove(digest, token);
+            return null;
+        }
+        return token;
+    }
+
+    void put(String digest, VerifiedToken token) {
+        if (tokens.size() >= maxEntries) {
+            evict();
+        }
+        tokens.put(digest, token);
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private void evict() {
+        // A single thread evicts, the others may exceed the capacity meanwhile
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.millis();
+            tokens.values().removeIf(token -> token.expiresAt <= now);
+            Iterator<String> digests = tokens.keySet().iterator();
+            while (tokens.size() > maxEntries * 3 / 4 && digests.hasNext()) {
+                digests.next();
+                digests.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    static final class VerifiedToken {
+
+        private final User principal;
+
+        private final Collection<GrantedAuthority> authorities;
+
+        private final String tokenId;
+
+        private final Instant issuedAt;
+
+        private final long expiresAt;
+
+        VerifiedToken(User principal, Collection<GrantedAuthority> authorities, String tokenId, Instant issuedAt, long expiresAt) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.tokenId = tokenId;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        User getPrincipal() {
+            return principal;
+        }
+
+        Collection<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        String getTokenId() {
+            return tokenId;
+        }
+
+        Instant getIssuedAt() {
+            return issuedAt;
+        }
+
+        long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
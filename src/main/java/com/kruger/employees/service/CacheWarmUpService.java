@@ -0,0 +1,227 @@
+package com.kruger.employees.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.User;
+import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.repository.AuthorityRepository;
+import com.kruger.employees.repository.UserRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service loading the user and employee caches when the application starts, so that the first requests don't all
+ * go to the database.
+ * <p>
+ * The caches are loaded by an {@link ApplicationReadyEvent} listener, and Spring Boot only reports the application
+ * ready to accept traffic once the listeners return. The users and employees loaded are the ones the caches held
+ * when the application last stopped, if a snapshot file is configured, else the last modified users and the last
+ * created employees. The snapshot only lists their keys: their values are read again from the database, which may
+ * have changed while the application was stopped.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final UserRepository userRepository;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final ApplicationUserRepository applicationUserRepository;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Cache.WarmUp warmUp;
+
+    public CacheWarmUpService(
+        UserRepository userRepository,
+        AuthorityRepository authorityRepository,
+        ApplicationUserRepository applicationUserRepository,
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.userRepository = userRepository;
+        this.authorityRepository = authorityRepository;
+        this.applicationUserRepository = applicationUserRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.warmUp = applicationProperties.getCache().getWarmUp();
+    }
+
+    /**
+     * Load the authorities, users and employees in the caches, in batches.
+     * <p>
+     * A failure is logged and leaves the caches to fill on demand: the application is still usable, only slower.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUp.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Snapshot snapshot = readSnapshot();
+            transactionTemplate.executeWithoutResult(status -> authorityRepository.findAll());
+
+            List<String> logins = snapshot != null
+                ? truncate(snapshot.getLogins(), warmUp.getUsers())
+                : transactionTemplate.execute(
+                    status -> userRepository.findActivatedLoginsByLastModifiedDate(PageRequest.of(0, warmUp.getUsers()))
+                );
+            forEachBatch(logins, this::warmUpUsers);
+
+            List<Long> employeeIds = snapshot != null
+                ? truncate(snapshot.getEmployeeIds(), warmUp.getEmployees())
+                : transactionTemplate.execute(status -> applicationUserRepository.findLatestIds(PageRequest.of(0, warmUp.getEmployees())));
+            forEachBatch(
+                employeeIds,
+                batch -> transactionTemplate.executeWithoutResult(status -> applicationUserRepository.findAllWithVaccinesByIdIn(batch))
+            );
+
+            log.info(
+                "Warmed up the caches with {} users and {} employees in {} ms",
+                logins.size(),
+                employeeIds.size(),
+                System.currentTimeMillis() - start
+            );
+        } catch (RuntimeException e) {
+            log.warn("Couldn't warm up the caches, they will fill on demand", e);
+        }
+    }
+
+    /**
+     * Write the keys of the cached users and employees to the snapshot file, if one is configured.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void writeSnapshot() {
+        if (!warmUp.isEnabled() || warmUp.getSnapshotFile() == null) {
+            return;
+        }
+        Snapshot snapshot = new Snapshot();
+        snapshot.setLogins(cachedKeys(UserRepository.USERS_BY_LOGIN_CACHE, String.class::cast, warmUp.getUsers()));
+        snapshot.setEmployeeIds(
+            cachedKeys(ApplicationUser.class.getName(), key -> (Long) DefaultCacheKeysFactory.staticGetEntityId(key), warmUp.getEmployees())
+        );
+        Path file = Paths.get(warmUp.getSnapshotFile());
+        try {
+            Path temporaryFile = Files.createTempFile(file.toAbsolutePath().getParent(), "cache-snapshot-", ".tmp");
+            objectMapper.writeValue(temporaryFile.toFile(), snapshot);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info(
+                "Wrote the cache snapshot of {} users and {} employees",
+                snapshot.getLogins().size(),
+                snapshot.getEmployeeIds().size()
+            );
+        } catch (IOException e) {
+            log.warn("Couldn't write the cache snapshot to {}", file, e);
+        }
+    }
+
+    private Snapshot readSnapshot() {
+        if (warmUp.getSnapshotFile() == null) {
+            return null;
+        }
+        Path file = Paths.get(warmUp.getSnapshotFile());
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), Snapshot.class);
+        } catch (IOException e) {
+            log.warn("Couldn't read the cache snapshot from {}, warming up without it", file, e);
+            return null;
+        }
+    }
+
+    private void warmUpUsers(List<String> logins) {
+        Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        Cache usersByEmail = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Cached under the same keys as the @Cacheable repository methods
+            for (User user : userRepository.findAllWithAuthoritiesByLoginIn(logins)) {
+                usersByLogin.put(user.getLogin(), user);
+                if (user.getEmail() != null) {
+                    usersByEmail.put(user.getEmail(), user);
+                }
+            }
+        });
+    }
+
+    private <T> List<T> cachedKeys(String cacheName, Function<Object, T> keyMapper, int limit) {
+        List<T> keys = new ArrayList<>();
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || !(cache.getNativeCache() instanceof javax.cache.Cache)) {
+            return keys;
+        }
+        for (javax.cache.Cache.Entry<?, ?> entry : (javax.cache.Cache<?, ?>) cache.getNativeCache()) {
+            if (keys.size() == limit) {
+                break;
+            }
+            keys.add(keyMapper.apply(entry.getKey()));
+        }
+        return keys;
+    }
+
+    private <T> void forEachBatch(List<T> items, Consumer<List<T>> action) {
+        int batchSize = warmUp.getBatchSize();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            action.accept(items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+    }
+
+    private static <T> List<T> truncate(List<T> items, int limit) {
+        return items.size() > limit ? items.subList(0, limit) : items;
+    }
+
+    static final class Snapshot {
+
+        private List<String> logins = new ArrayList<>();
+
+        private List<Long> employeeIds = new ArrayList<>();
+
+        public List<String> getLogins() {
+            return logins;
+        }
+
+        public void setLogins(List<String> logins) {
+            this.logins = logins;
+        }
+
+        public List<Long> getEmployeeIds() {
+            return employeeIds;
+        }
+
+        public void setEmployeeIds(List<Long> employeeIds) {
+            this.employeeIds = employeeIds;
+        }
+    }
+}
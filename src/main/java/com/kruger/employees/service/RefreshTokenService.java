@@ -0,0 +1,205 @@
+package com.kruger.employees.service;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.RefreshToken;
+import com.kruger.employees.domain.User;
+import com.kruger.employees.repository.RefreshTokenRepository;
+import com.kruger.employees.repository.UserRepository;
+import com.kruger.employees.security.GrantedAuthorities;
+import com.kruger.employees.security.jwt.TokenProvider;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service issuing the access tokens with a refresh token, and exchanging the refresh tokens for new ones.
+ * <p>
+ * A refresh is checked against the user caches only, without hashing any password. Each refresh token is used once:
+ * it's rotated into a new token of the same family, and presenting it again revokes the whole family, unless it's
+ * within {@link #REUSE_GRACE_PERIOD} of its rotation, as with the concurrent requests of a client. The rotated tokens
+ * are kept until their family expires, so that the reuse of any of them is detected. A family expires at the end of the
+ * validity of its first token, whatever its rotations: the login has to be repeated then.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    static final Duration REUSE_GRACE_PERIOD = Duration.ofSeconds(30);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final String INVALID_REFRESH_TOKEN = "Invalid refresh token";
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final TokenProvider tokenProvider;
+
+    private final Duration validity;
+
+    private final Duration validityForRememberMe;
+
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        TokenProvider tokenProvider,
+        ApplicationProperties applicationProperties,
+        JHipsterProperties jHipsterProperties
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenProvider = tokenProvider;
+        this.validity = applicationProperties.getSecurity().getRefreshToken().getValidity();
+        this.validityForRememberMe =
+            Duration.ofSeconds(jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe());
+    }
+
+    /**
+     * Issue an access token and the first refresh token of a new family, after a login.
+     *
+     * @param authentication the authenticated user.
+     * @param rememberMe whether the refresh token is valid for the remember-me validity.
+     * @return the tokens.
+     */
+    public AuthenticationTokens issue(Authentication authentication, boolean rememberMe) {
+        Instant expiresAt = Instant.now().plus(rememberMe ? validityForRememberMe : validity);
+        String refreshToken = createRefreshToken(authentication.getName(), UUID.randomUUID().toString(), rememberMe, expiresAt);
+        return new AuthenticationTokens(tokenProvider.createToken(authentication, false), refreshToken);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token of its family.
+     *
+     * @param refreshToken the refresh token.
+     * @return the tokens.
+     * @throws BadCredentialsException if the refresh token is unknown, expired, already used, or its user is gone or
+     * deactivated.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthenticationTokens refresh(String refreshToken) {
+        RefreshToken token = refreshTokenRepository
+            .findOneByTokenHash(hash(refreshToken))
+            .orElseThrow(() -> new BadCredentialsException(INVALID_REFRESH_TOKEN));
+        Instant now = Instant.now();
+        if (token.getRotatedAt() != null) {
+            if (token.getRotatedAt().plus(REUSE_GRACE_PERIOD).isBefore(now)) {
+                log.warn("Reuse of a rotated refresh token of {}, revoking its family", token.getLogin());
+                refreshTokenRepository.deleteAllByFamily(token.getFamily());
+            }
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            refreshTokenRepository.deleteAllByFamily(token.getFamily());
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        User user = userRepository.findOneWithAuthoritiesByLogin(token.getLogin()).filter(User::isActivated).orElse(null);
+        if (user == null) {
+            refreshTokenRepository.deleteAllByFamily(token.getFamily());
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        token.setRotatedAt(now);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            user.getLogin(),
+            null,
+            GrantedAuthorities.fromAuthorities(user.getAuthorities())
+        );
+        String nextRefreshToken = createRefreshToken(user.getLogin(), token.getFamily(), token.isRememberMe(), token.getExpiresAt());
+        return new AuthenticationTokens(tokenProvider.createToken(authentication, false), nextRefreshToken);
+    }
+
+    /**
+     * Revoke the family of a refresh token, on logout.
+     *
+     * @param refreshToken the refresh token.
+     */
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findOneByTokenHash(hash(refreshToken)).ifPresent(token -> {
+            refreshTokenRepository.deleteAllByFamily(token.getFamily());
+            log.debug("Revoked the refresh tokens of a session of {}", token.getLogin());
+        });
+    }
+
+    /**
+     * Revoke all the refresh tokens of a user.
+     *
+     * @param login the login of the user.
+     */
+    public void revokeAll(String login) {
+        refreshTokenRepository.deleteAllByLogin(login);
+        log.debug("Revoked the refresh tokens of {}", login);
+    }
+
+    /**
+     * Expired refresh tokens, with the rotated tokens of their family, are deleted every day, at 02:00 (am).
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void removeExpiredTokens() {
+        int count = refreshTokenRepository.deleteExpired(Instant.now());
+        log.debug("Deleted {} expired refresh tokens", count);
+    }
+
+    private String createRefreshToken(String login, String family, boolean rememberMe, Instant expiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(refreshToken));
+        token.setFamily(family);
+        token.setLogin(login);
+        token.setRememberMe(rememberMe);
+        token.setExpiresAt(expiresAt);
+        refreshTokenRepository.save(token);
+        return refreshToken;
+    }
+
+    static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 isn't available", e);
+        }
+    }
+
+    /**
+     * An access token and its refresh token.
+     */
+    public static final class AuthenticationTokens {
+
+        private final String accessToken;
+
+        private final String refreshToken;
+
+        AuthenticationTokens(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
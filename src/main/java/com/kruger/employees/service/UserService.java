@@ -8,7 +8,9 @@ import com.kruger.employees.repository.ApplicationUserRepository;
 import com.kruger.employees.repository.AuthorityRepository;
 import com.kruger.employees.repository.UserRepository;
 import com.kruger.employees.security.AuthoritiesConstants;
+import com.kruger.employees.security.CredentialsCachingAuthenticationProvider;
 import com.kruger.employees.security.SecurityUtils;
+import com.kruger.employees.security.jwt.TokenRevocationStore;
 import com.kruger.employees.service.dto.AdminUserDTO;
 import com.kruger.employees.service.dto.UserDTO;
 import java.time.Instant;
@@ -18,10 +20,15 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,7 +39,7 @@ import tech.jhipster.security.RandomUtil;
  */
 @Service
 @Transactional
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
@@ -46,18 +53,26 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final TokenRevocationStore tokenRevocationStore;
+
+    private final RefreshTokenService refreshTokenService;
+
     public UserService(
         UserRepository userRepository,
         ApplicationUserRepository applicationUserRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        TokenRevocationStore tokenRevocationStore,
+        RefreshTokenService refreshTokenService
     ) {
         this.userRepository = userRepository;
         this.applicationUserRepository = applicationUserRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -84,6 +99,7 @@ public class UserService {
                 user.setResetKey(null);
                 user.setResetDate(null);
                 this.clearUserCaches(user);
+                this.revokeTokens(user.getLogin());
                 return user;
             });
     }
@@ -194,6 +210,10 @@ public class UserService {
             .map(Optional::get)
             .map(user -> {
                 this.clearUserCaches(user);
+                // The access and refresh tokens of a locked out or renamed user are revoked
+                if ((user.isActivated() && !userDTO.isActivated()) || !user.getLogin().equals(userDTO.getLogin().toLowerCase())) {
+                    this.revokeTokens(user.getLogin());
+                }
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -235,6 +255,7 @@ public class UserService {
                     });
                 userRepository.delete(user);
                 this.clearUserCaches(user);
+                this.revokeTokens(user.getLogin());
                 log.debug("Deleted User: {}", user);
             });
     }
@@ -291,13 +312,46 @@ public class UserService {
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
                 this.clearUserCaches(user);
+                this.revokeTokens(user.getLogin());
                 log.debug("Changed password for User: {}", user);
             });
     }
 
+    /**
+     * Stores a new hash of the password of a user, unless the password changed since {@code user} was loaded.
+     *
+     * @param user the user, with the password hash checked at login.
+     * @param newPassword the new password hash.
+     * @return the user with the new password hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository
+            .findOneByLogin(user.getUsername())
+            .filter(existingUser -> existingUser.getPassword().equals(user.getPassword()))
+            .ifPresent(existingUser -> {
+                existingUser.setPassword(newPassword);
+                this.clearUserCaches(existingUser);
+                log.debug("Upgraded the password hash of User: {}", existingUser);
+            });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    /**
+     * Get a page of the managed users with a summary of their vaccines.
+     * <p>
+     * The page is read with a single projection query, without loading any entity.
+     *
+     * @param pageable the pagination information, sorted on {@link User} properties.
+     * @return the page of users.
+     */
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
-        return applicationUserRepository.findAll(pageable).map(AdminUserDTO::new);
+        Sort sort = Sort.by(
+            pageable.getSort().stream().map(order -> order.withProperty("u." + order.getProperty())).collect(Collectors.toList())
+        );
+        Pageable internalUserPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        return applicationUserRepository.findAllManagedUserSummaries(internalUserPageable).map(AdminUserDTO::new);
     }
 
     @Transactional(readOnly = true)
@@ -346,10 +400,18 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).collect(Collectors.toList());
     }
 
+    private void revokeTokens(String login) {
+        tokenRevocationStore.revokeTokens(login);
+        refreshTokenService.revokeAll(login);
+    }
+
     private void clearUserCaches(User user) {
+        Cache credentialsCache = Objects.requireNonNull(cacheManager.getCache(CredentialsCachingAuthenticationProvider.CREDENTIALS_CACHE));
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        credentialsCache.evict(CredentialsCachingAuthenticationProvider.cacheKey(user.getLogin()));
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            credentialsCache.evict(CredentialsCachingAuthenticationProvider.cacheKey(user.getEmail()));
         }
     }
 }
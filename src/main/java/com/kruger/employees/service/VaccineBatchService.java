@@ -0,0 +1,190 @@
+package com.kruger.employees.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.service.dto.VaccineBatchOperationDTO;
+import com.kruger.employees.service.dto.VaccineBatchOperationDTO.Operation;
+import com.kruger.employees.service.dto.VaccineBatchResultDTO;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service applying batches of create, update and delete operations on {@link Vaccine} entities.
+ * <p>
+ * Operations are read from the request while they are applied, {@link #CHUNK_SIZE} at a time: the vaccines and
+ * application users referenced by a chunk are loaded with one query each, then the chunk is flushed so that its
+ * statements go to the database in JDBC batches. Invalid operations are reported and skipped, the valid ones are
+ * committed together.
+ */
+@Service
+@Transactional
+public class VaccineBatchService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(VaccineBatchService.class);
+
+    private final VaccineRepository vaccineRepository;
+
+    private final ApplicationUserRepository applicationUserRepository;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    public VaccineBatchService(
+        VaccineRepository vaccineRepository,
+        ApplicationUserRepository applicationUserRepository,
+        EntityManager entityManager,
+        Validator validator
+    ) {
+        this.vaccineRepository = vaccineRepository;
+        this.applicationUserRepository = applicationUserRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+    }
+
+    /**
+     * Apply the operations in one transaction.
+     *
+     * @param operations the operations, read from the request body.
+     * @return the result of each operation, in the order of the operations.
+     * @throws IOException if the operations couldn't be read, in which case nothing is applied.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public List<VaccineBatchResultDTO> apply(MappingIterator<VaccineBatchOperationDTO> operations) throws IOException {
+        List<VaccineBatchResultDTO> results = new ArrayList<>();
+        List<VaccineBatchOperationDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (operations.hasNextValue()) {
+            chunk.add(operations.nextValue());
+            if (chunk.size() == CHUNK_SIZE) {
+                applyChunk(chunk, results);
+            }
+        }
+        applyChunk(chunk, results);
+        log.debug("Applied {} vaccine batch operations", results.size());
+        return results;
+    }
+
+    private void applyChunk(List<VaccineBatchOperationDTO> chunk, List<VaccineBatchResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Long> vaccineIds = new HashSet<>();
+        Set<Long> applicationUserIds = new HashSet<>();
+        for (VaccineBatchOperationDTO operation : chunk) {
+            if (operation.getOperation() != Operation.CREATE && operation.getTargetId() != null) {
+                vaccineIds.add(operation.getTargetId());
+            }
+            Vaccine vaccine = operation.getVaccine();
+            if (vaccine != null && vaccine.getApplicationUser() != null && vaccine.getApplicationUser().getId() != null) {
+                applicationUserIds.add(vaccine.getApplicationUser().getId());
+            }
+        }
+        Map<Long, Vaccine> existingVaccines = vaccineIds.isEmpty()
+            ? new HashMap<>()
+            : vaccineRepository.findAllById(vaccineIds).stream().collect(Collectors.toMap(Vaccine::getId, vaccine -> vaccine));
+        Set<Long> existingApplicationUserIds = applicationUserIds.isEmpty()
+            ? new HashSet<>()
+            : applicationUserRepository.findExistingIds(applicationUserIds);
+
+        for (VaccineBatchOperationDTO operation : chunk) {
+            results.add(applyOperation(results.size(), operation, existingVaccines, existingApplicationUserIds));
+        }
+        vaccineRepository.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private VaccineBatchResultDTO applyOperation(
+        int index,
+        VaccineBatchOperationDTO operation,
+        Map<Long, Vaccine> existingVaccines,
+        Set<Long> existingApplicationUserIds
+    ) {
+        Operation type = operation.getOperation();
+        if (type == null) {
+            return rejected(index, operation, HttpStatus.BAD_REQUEST, "operationnull", "Missing operation");
+        }
+        Long id = operation.getTargetId();
+        if (type == Operation.CREATE) {
+            if (id != null) {
+                return rejected(index, operation, HttpStatus.BAD_REQUEST, "idexists", "A new vaccine cannot already have an ID");
+            }
+        } else {
+            if (id == null) {
+                return rejected(index, operation, HttpStatus.BAD_REQUEST, "idnull", "Invalid id");
+            }
+            Vaccine vaccine = operation.getVaccine();
+            if (vaccine != null && vaccine.getId() != null && !id.equals(vaccine.getId())) {
+                return rejected(index, operation, HttpStatus.BAD_REQUEST, "idinvalid", "Invalid ID");
+            }
+            if (!existingVaccines.containsKey(id)) {
+                return rejected(index, operation, HttpStatus.NOT_FOUND, "idnotfound", "Entity not found");
+            }
+            if (vaccine != null && vaccine.getVersion() != null && !vaccine.getVersion().equals(existingVaccines.get(id).getVersion())) {
+                return rejected(index, operation, HttpStatus.CONFLICT, "versionconflict", "The vaccine was updated since this version");
+            }
+        }
+        if (type == Operation.DELETE) {
+            vaccineRepository.delete(existingVaccines.remove(id));
+            return new VaccineBatchResultDTO(index, type, HttpStatus.NO_CONTENT.value(), id);
+        }
+
+        Vaccine vaccine = operation.getVaccine();
+        if (vaccine == null) {
+            return rejected(index, operation, HttpStatus.BAD_REQUEST, "vaccinenull", "Missing vaccine");
+        }
+        Set<ConstraintViolation<Vaccine>> violations = validator.validate(vaccine);
+        if (!violations.isEmpty()) {
+            String message = violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+            return rejected(index, operation, HttpStatus.BAD_REQUEST, "validation", message);
+        }
+        Long applicationUserId = vaccine.getApplicationUser().getId();
+        if (applicationUserId == null || !existingApplicationUserIds.contains(applicationUserId)) {
+            return rejected(index, operation, HttpStatus.BAD_REQUEST, "applicationusernotfound", "Application user not found");
+        }
+
+        Vaccine target = type == Operation.CREATE ? new Vaccine() : existingVaccines.get(id);
+        target
+            .vaccineType(vaccine.getVaccineType())
+            .vaccinationDate(vaccine.getVaccinationDate())
+            .doses(vaccine.getDoses())
+            .applicationUser(applicationUserRepository.getReferenceById(applicationUserId));
+        if (type == Operation.CREATE) {
+            vaccineRepository.save(target);
+            return new VaccineBatchResultDTO(index, type, HttpStatus.CREATED.value(), target.getId());
+        }
+        return new VaccineBatchResultDTO(index, type, HttpStatus.OK.value(), id);
+    }
+
+    private VaccineBatchResultDTO rejected(
+        int index,
+        VaccineBatchOperationDTO operation,
+        HttpStatus status,
+        String error,
+        String message
+    ) {
+        return new VaccineBatchResultDTO(index, operation.getOperation(), status.value(), operation.getTargetId(), error, message);
+    }
+}
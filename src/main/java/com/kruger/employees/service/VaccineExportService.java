@@ -0,0 +1,178 @@
+package com.kruger.employees.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.service.criteria.VaccineCriteria;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service writing exports of {@link Vaccine} entities straight to an {@link OutputStream}.
+ * <p>
+ * Rows are written as they are read from the database cursor, so the memory used does not depend on the number of
+ * exported vaccines.
+ */
+@Service
+public class VaccineExportService {
+
+    /**
+     * The supported export formats.
+     */
+    public enum Format {
+        /** One JSON vaccine per line. */
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON_VALUE),
+        /** A semicolon separated file, with a header line. */
+        CSV("csv", "text/csv");
+
+        private final String extension;
+
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Optional<Format> fromExtension(String extension) {
+            return Arrays.stream(values()).filter(format -> format.extension.equalsIgnoreCase(extension)).findFirst();
+        }
+    }
+
+    static final String CSV_HEADER = "id;applicationUserId;identification;vaccineType;vaccinationDate;doses";
+
+    private static final char CSV_SEPARATOR = ';';
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(VaccineExportService.class);
+
+    private final VaccineQueryService vaccineQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties applicationProperties;
+
+    public VaccineExportService(
+        VaccineQueryService vaccineQueryService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.vaccineQueryService = vaccineQueryService;
+        this.objectMapper = objectMapper;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Write the vaccines matching the criteria to {@code out}, in id order. The stream is flushed but not closed.
+     *
+     * @param criteria the criteria which the exported vaccines should match.
+     * @param format the format to write.
+     * @param out the stream to write to.
+     * @return the number of exported vaccines.
+     * @throws IOException if the vaccines couldn't be written.
+     */
+    public long export(VaccineCriteria criteria, Format format, OutputStream out) throws IOException {
+        log.debug("Request to export Vaccines by criteria : {} as {}", criteria, format);
+        long count = format == Format.CSV ? exportCsv(criteria, out) : exportNdjson(criteria, out);
+        log.debug("Exported {} Vaccines as {}", count, format);
+        return count;
+    }
+
+    private long exportNdjson(VaccineCriteria criteria, OutputStream out) throws IOException {
+        ObjectWriter vaccineWriter = objectMapper.writerFor(Vaccine.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return forEach(
+                criteria,
+                vaccine -> {
+                    vaccineWriter.writeValue(generator, vaccine);
+                    generator.writeRaw('\n');
+                }
+            );
+        }
+    }
+
+    private long exportCsv(VaccineCriteria criteria, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = forEach(
+            criteria,
+            vaccine -> {
+                writer.write(String.valueOf(vaccine.getId()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(String.valueOf(vaccine.getApplicationUser().getId()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(escapeCsv(vaccine.getApplicationUser().getIdentification()));
+                writer.write(CSV_SEPARATOR);
+                writer.write(vaccine.getVaccineType().name());
+                writer.write(CSV_SEPARATOR);
+                writer.write(vaccine.getVaccinationDate().toString());
+                writer.write(CSV_SEPARATOR);
+                writer.write(String.valueOf(vaccine.getDoses()));
+                writer.write('\n');
+            }
+        );
+        writer.flush();
+        return count;
+    }
+
+    private long forEach(VaccineCriteria criteria, RowWriter rowWriter) throws IOException {
+        try {
+            return vaccineQueryService.forEachByCriteria(
+                criteria,
+                applicationProperties.getExport().getFetchSize(),
+                vaccine -> {
+                    try {
+                        rowWriter.write(vaccine);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!StringUtils.containsAny(value, CSV_SEPARATOR, '"', '\n', '\r')) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Vaccine vaccine) throws IOException;
+    }
+}
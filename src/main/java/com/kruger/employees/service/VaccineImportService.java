@@ -0,0 +1,350 @@
+package com.kruger.employees.service;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.repository.ApplicationUserIdentification;
+import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.service.dto.VaccineImportJobDTO;
+import com.kruger.employees.service.dto.VaccineImportJobDTO.LineError;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for importing {@link Vaccine} entities from CSV files, in background jobs.
+ * <p>
+ * Each line of a file is {@code identification;vaccineType;date;doses}, with an optional header line. Files are read
+ * line by line and imported in batches: the identifications of a batch are resolved with one query, its vaccines are
+ * inserted with JDBC batching and committed together, then the progress of the job is published.
+ * <p>
+ * Jobs are kept in the memory of the node that started them, finished jobs are forgotten after one day. On a
+ * deployment of several nodes, the status of a job is only known to the node that received its file, so status polls
+ * must reach that node, with sticky sessions for instance; and a restart loses the jobs of the node.
+ */
+@Service
+public class VaccineImportService {
+
+    private static final String SEPARATOR = ";";
+
+    private static final String HEADER_FIRST_FIELD = "identification";
+
+    private final Logger log = LoggerFactory.getLogger(VaccineImportService.class);
+
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final VaccineRepository vaccineRepository;
+
+    private final ApplicationUserRepository applicationUserRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public VaccineImportService(
+        VaccineRepository vaccineRepository,
+        ApplicationUserRepository applicationUserRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.vaccineRepository = vaccineRepository;
+        this.applicationUserRepository = applicationUserRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Register a new import job for the given file. The content is copied to a temporary file, counting its lines on
+     * the way so that the job doesn't read the file twice, the job is started by {@link #runJob(UUID)}.
+     *
+     * @param fileName the name of the imported file.
+     * @param content the content of the imported file.
+     * @return the queued job.
+     * @throws IOException if the content couldn't be copied.
+     */
+    public VaccineImportJobDTO createJob(String fileName, InputStream content) throws IOException {
+        purgeFinishedJobs();
+        Path file = Files.createTempFile("vaccine-import-", ".csv");
+        long totalLines;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            totalLines = copyCountingLines(content, out);
+        }
+
+        VaccineImportJobDTO state = new VaccineImportJobDTO();
+        state.setId(UUID.randomUUID());
+        state.setFileName(fileName);
+        state.setStatus(VaccineImportJobDTO.Status.QUEUED);
+        state.setCreatedDate(Instant.now());
+        state.setTotalLines(totalLines);
+        jobs.put(state.getId(), new ImportJob(state, file));
+        log.debug("Created vaccine import job: {}", state);
+        return new VaccineImportJobDTO(state);
+    }
+
+    /**
+     * Get the current state of an import job.
+     *
+     * @param id the id of the job.
+     * @return the state of the job, or empty if it is unknown.
+     */
+    public Optional<VaccineImportJobDTO> getJob(UUID id) {
+        return Optional
+            .ofNullable(jobs.get(id))
+            .map(job -> {
+                synchronized (job.state) {
+                    return new VaccineImportJobDTO(job.state);
+                }
+            });
+    }
+
+    /**
+     * Run an import job created by {@link #createJob(String, InputStream)}.
+     *
+     * @param id the id of the job.
+     */
+    @Async
+    public void runJob(UUID id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            log.warn("Vaccine import job {} not found", id);
+            return;
+        }
+        int batchSize = applicationProperties.getBulkImport().getBatchSize();
+        try {
+            synchronized (job.state) {
+                job.state.setStatus(VaccineImportJobDTO.Status.RUNNING);
+                job.state.setStartedDate(Instant.now());
+            }
+
+            try (BufferedReader reader = Files.newBufferedReader(job.file, StandardCharsets.UTF_8)) {
+                List<VaccineLine> batch = new ArrayList<>(batchSize);
+                List<LineError> errors = new ArrayList<>();
+                long lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                        continue;
+                    }
+                    try {
+                        batch.add(parseLine(lineNumber, line));
+                    } catch (IllegalArgumentException e) {
+                        errors.add(new LineError(lineNumber, e.getMessage()));
+                    }
+                    if (batch.size() == batchSize) {
+                        importBatch(job, batch, errors, lineNumber);
+                    }
+                }
+                importBatch(job, batch, errors, lineNumber);
+            }
+
+            synchronized (job.state) {
+                job.state.setStatus(VaccineImportJobDTO.Status.COMPLETED);
+                job.state.setFinishedDate(Instant.now());
+            }
+            log.debug("Completed vaccine import job: {}", job.state);
+        } catch (Exception e) {
+            log.error("Vaccine import job {} failed", id, e);
+            synchronized (job.state) {
+                job.state.setStatus(VaccineImportJobDTO.Status.FAILED);
+                job.state.setFailure(e.getMessage());
+                job.state.setFinishedDate(Instant.now());
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(job.file);
+            } catch (IOException e) {
+                log.warn("Could not delete the file of vaccine import job {}", id, e);
+            }
+        }
+    }
+
+    private void importBatch(ImportJob job, List<VaccineLine> batch, List<LineError> errors, long lineNumber) {
+        int imported = batch.isEmpty() ? 0 : insertBatch(batch, errors);
+        int maxReportedErrors = applicationProperties.getBulkImport().getMaxReportedErrors();
+        errors.sort(Comparator.comparingLong(LineError::getLine));
+        synchronized (job.state) {
+            job.state.setProcessedLines(lineNumber);
+            job.state.setImportedCount(job.state.getImportedCount() + imported);
+            job.state.setRejectedCount(job.state.getRejectedCount() + errors.size());
+            List<LineError> reported = job.state.getErrors();
+            errors.stream().limit(Math.max(0, maxReportedErrors - reported.size())).forEach(reported::add);
+        }
+        batch.clear();
+        errors.clear();
+    }
+
+    /**
+     * Insert the vaccines of a batch in one transaction, rejecting the lines whose identification is unknown.
+     *
+     * @return the number of inserted vaccines.
+     */
+    private int insertBatch(List<VaccineLine> batch, List<LineError> errors) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            Set<String> identifications = batch.stream().map(line -> line.identification).collect(Collectors.toSet());
+            Map<String, Long> applicationUserIds = applicationUserRepository
+                .findAllByIdentificationIn(identifications)
+                .stream()
+                .collect(Collectors.toMap(ApplicationUserIdentification::getIdentification, ApplicationUserIdentification::getId));
+
+            List<Vaccine> vaccines = new ArrayList<>(batch.size());
+            for (VaccineLine line : batch) {
+                Long applicationUserId = applicationUserIds.get(line.identification);
+                if (applicationUserId == null) {
+                    errors.add(new LineError(line.number, "Unknown identification '" + line.identification + "'"));
+                    continue;
+                }
+                vaccines.add(
+                    new Vaccine()
+                        .vaccineType(line.vaccineType)
+                        .vaccinationDate(line.vaccinationDate)
+                        .doses(line.doses)
+                        .applicationUser(applicationUserRepository.getReferenceById(applicationUserId))
+                );
+            }
+            // Send the whole batch in as few JDBC batches as possible
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batch.size());
+            vaccineRepository.saveAll(vaccines);
+            vaccineRepository.flush();
+            return vaccines.size();
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private void purgeFinishedJobs() {
+        Instant limit = Instant.now().minus(1, ChronoUnit.DAYS);
+        jobs
+            .values()
+            .removeIf(job -> {
+                synchronized (job.state) {
+                    return job.state.getFinishedDate() != null && job.state.getFinishedDate().isBefore(limit);
+                }
+            });
+    }
+
+    /**
+     * Copy the content to the output, counting its lines as {@link BufferedReader#readLine()} reads them: terminated
+     * by {@code \n}, {@code \r} or {@code \r\n}, the last one may be unterminated.
+     *
+     * @return the number of lines of the content.
+     */
+    static long copyCountingLines(InputStream content, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long lines = 0;
+        int last = '\n';
+        int read;
+        while ((read = content.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b == '\r' || (b == '\n' && last != '\r')) {
+                    lines++;
+                }
+                last = b;
+            }
+            out.write(buffer, 0, read);
+        }
+        return last == '\n' || last == '\r' ? lines : lines + 1;
+    }
+
+    static boolean isHeader(String line) {
+        int end = line.indexOf(SEPARATOR);
+        return HEADER_FIRST_FIELD.equalsIgnoreCase((end < 0 ? line : line.substring(0, end)).trim());
+    }
+
+    /**
+     * Parse a {@code identification;vaccineType;date;doses} line.
+     *
+     * @throws IllegalArgumentException with a message for the user if the line is not valid.
+     */
+    static VaccineLine parseLine(long number, String line) {
+        String[] fields = line.split(SEPARATOR, -1);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Expected 4 fields separated by '" + SEPARATOR + "' but found " + fields.length);
+        }
+        String identification = fields[0].trim();
+        if (identification.isEmpty()) {
+            throw new IllegalArgumentException("Missing identification");
+        }
+        VaccineType vaccineType;
+        try {
+            vaccineType = VaccineType.valueOf(fields[1].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown vaccine type '" + fields[1].trim() + "'");
+        }
+        LocalDate vaccinationDate;
+        try {
+            vaccinationDate = LocalDate.parse(fields[2].trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + fields[2].trim() + "', expected yyyy-MM-dd");
+        }
+        int doses;
+        try {
+            doses = Integer.parseInt(fields[3].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid doses '" + fields[3].trim() + "'");
+        }
+        if (doses < 1) {
+            throw new IllegalArgumentException("Doses must be at least 1");
+        }
+        return new VaccineLine(number, identification, vaccineType, vaccinationDate, doses);
+    }
+
+    static final class VaccineLine {
+
+        final long number;
+        final String identification;
+        final VaccineType vaccineType;
+        final LocalDate vaccinationDate;
+        final int doses;
+
+        VaccineLine(long number, String identification, VaccineType vaccineType, LocalDate vaccinationDate, int doses) {
+            this.number = number;
+            this.identification = identification;
+            this.vaccineType = vaccineType;
+            this.vaccinationDate = vaccinationDate;
+            this.doses = doses;
+        }
+    }
+
+    private static final class ImportJob {
+
+        private final VaccineImportJobDTO state;
+        private final Path file;
+
+        private ImportJob(VaccineImportJobDTO state, Path file) {
+            this.state = state;
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.kruger.employees.service;
+
+import com.kruger.employees.domain.*; // for static metamodels
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.service.criteria.VaccineCriteria;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Vaccine} entities in the database.
+ * The main input is a {@link VaccineCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Slice} of {@link Vaccine} which fulfills the criteria, read with keyset pagination.
+ */
+@Service
+@Transactional(readOnly = true)
+public class VaccineQueryService extends QueryService<Vaccine> {
+
+    private final Logger log = LoggerFactory.getLogger(VaccineQueryService.class);
+
+    private final VaccineRepository vaccineRepository;
+
+    public VaccineQueryService(VaccineRepository vaccineRepository) {
+        this.vaccineRepository = vaccineRepository;
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Vaccine} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice.
+     * @param pageable The size and sort of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Vaccine> findByCriteria(VaccineCriteria criteria, long after, Pageable pageable) {
+        log.debug("find by criteria : {}, after : {}, page: {}", criteria, after, pageable);
+        final Specification<Vaccine> specification = createSpecification(criteria);
+        return vaccineRepository.findAllAfter(specification, after, pageable);
+    }
+
+    /**
+     * Pass each entity which matches the criteria to {@code action}, reading them with a forward-only cursor.
+     * The entities are detached as the cursor moves on, so {@code action} must not keep them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fetchSize The number of rows fetched from the database per round trip.
+     * @param action The action to apply to each matching entity.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long forEachByCriteria(VaccineCriteria criteria, int fetchSize, Consumer<Vaccine> action) {
+        log.debug("for each by criteria : {}, fetch size : {}", criteria, fetchSize);
+        final Specification<Vaccine> specification = createSpecification(criteria);
+        return vaccineRepository.forEachMatching(specification, fetchSize, action);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(VaccineCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Vaccine> specification = createSpecification(criteria);
+        return vaccineRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link VaccineCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Vaccine> createSpecification(VaccineCriteria criteria) {
+        Specification<Vaccine> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Vaccine_.id));
+            }
+            if (criteria.getVaccineType() != null) {
+                specification = specification.and(buildSpecification(criteria.getVaccineType(), Vaccine_.vaccineType));
+            }
+            if (criteria.getVaccinationDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getVaccinationDate(), Vaccine_.vaccinationDate));
+            }
+            if (criteria.getDoses() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDoses(), Vaccine_.doses));
+            }
+            if (criteria.getApplicationUserId() != null) {
+                // Compare the foreign key column directly instead of joining application_user
+                specification =
+                    specification.and(
+                        buildSpecification(
+                            criteria.getApplicationUserId(),
+                            root -> root.get(Vaccine_.applicationUser).get(ApplicationUser_.id)
+                        )
+                    );
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,80 @@
+package com.kruger.employees.service;
+
+import com.kruger.employees.domain.VaccineStatistic;
+import com.kruger.employees.repository.VaccineStatisticRepository;
+import com.kruger.employees.service.dto.VaccineStatisticsDTO;
+import com.kruger.employees.service.dto.VaccineStatisticsDTO.BucketDTO;
+import java.util.Comparator;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for reading and rebuilding the vaccine statistics.
+ * <p>
+ * The statistics are read from the {@link VaccineStatistic} aggregate, so reading them costs one row per bucket
+ * whatever the number of vaccines.
+ */
+@Service
+@Transactional
+public class VaccineStatisticsService {
+
+    private final Logger log = LoggerFactory.getLogger(VaccineStatisticsService.class);
+
+    private final VaccineStatisticRepository vaccineStatisticRepository;
+
+    public VaccineStatisticsService(VaccineStatisticRepository vaccineStatisticRepository) {
+        this.vaccineStatisticRepository = vaccineStatisticRepository;
+    }
+
+    /**
+     * Get the current statistics, each dimension sorted by bucket.
+     *
+     * @return the statistics.
+     */
+    @Transactional(readOnly = true)
+    public VaccineStatisticsDTO getStatistics() {
+        log.debug("Request to get the vaccine statistics");
+        return toDto(vaccineStatisticRepository.findAllNonEmpty());
+    }
+
+    /**
+     * Recompute the statistics from the vaccine table, to recover from statistics that went out of sync.
+     * Vaccine writes wait for the rebuild to commit.
+     *
+     * @return the rebuilt statistics.
+     */
+    public VaccineStatisticsDTO rebuildStatistics() {
+        vaccineStatisticRepository.lockForRebuild();
+        vaccineStatisticRepository.deleteAllStatistics();
+        int buckets = vaccineStatisticRepository.insertStatisticsFromVaccines();
+        log.info("Rebuilt the vaccine statistics, {} buckets", buckets);
+        return toDto(vaccineStatisticRepository.findAllNonEmpty());
+    }
+
+    private VaccineStatisticsDTO toDto(List<VaccineStatistic> statistics) {
+        VaccineStatisticsDTO dto = new VaccineStatisticsDTO();
+        for (VaccineStatistic statistic : statistics) {
+            BucketDTO bucket = new BucketDTO(statistic.getBucket(), statistic.getVaccineCount(), statistic.getDoseCount());
+            switch (statistic.getDimension()) {
+                case VACCINE_TYPE:
+                    dto.getByVaccineType().add(bucket);
+                    break;
+                case MONTH:
+                    dto.getByMonth().add(bucket);
+                    break;
+                case DOSES:
+                    dto.getByDoses().add(bucket);
+                    break;
+                default:
+                    break;
+            }
+        }
+        dto.getByVaccineType().sort(Comparator.comparing(BucketDTO::getBucket));
+        dto.getByMonth().sort(Comparator.comparing(BucketDTO::getBucket));
+        dto.getByDoses().sort(Comparator.comparing(bucket -> Integer.valueOf(bucket.getBucket())));
+        return dto;
+    }
+}
@@ -0,0 +1,15 @@
+package com.kruger.employees.service.analytics;
+
+/**
+ * The dimensions the vaccine analytics can group by.
+ */
+public enum AnalyticsDimension {
+    /** A single group with all the matching vaccines. */
+    NONE,
+    VACCINE_TYPE,
+    YEAR,
+    MONTH,
+    DOSES,
+    /** The application user, i.e. the employee, who got the vaccine. */
+    EMPLOYEE,
+}
@@ -0,0 +1,25 @@
+package com.kruger.employees.service.analytics;
+
+/**
+ * Allocation-free calendar arithmetic on epoch days, for the scans.
+ */
+final class EpochDays {
+
+    private EpochDays() {}
+
+    /**
+     * @return {@code year * 12 + month - 1} of the ISO date {@code epochDay} days after 1970-01-01.
+     */
+    static int monthIndex(int epochDay) {
+        // Civil from days, with years starting in March so that the leap day is the last day of the year
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097L);
+        long dayOfEra = z - era * 146097L;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return Math.toIntExact(year * 12 + month - 1);
+    }
+}
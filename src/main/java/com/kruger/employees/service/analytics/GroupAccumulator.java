@@ -0,0 +1,77 @@
+package com.kruger.employees.service.analytics;
+
+/**
+ * Vaccine and dose counts per group key, in an open addressing hash table of primitives so that scans don't
+ * allocate per row.
+ */
+final class GroupAccumulator {
+
+    interface GroupConsumer {
+        void accept(long key, long vaccineCount, long doseCount);
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] vaccineCounts = new long[INITIAL_CAPACITY];
+    private long[] doseCounts = new long[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long key, long vaccineCount, long doseCount) {
+        int slot = slotOf(key);
+        if (!used[slot]) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+                slot = slotOf(key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        vaccineCounts[slot] += vaccineCount;
+        doseCounts[slot] += doseCount;
+    }
+
+    void addAll(GroupAccumulator other) {
+        other.forEach(this::add);
+    }
+
+    void forEach(GroupConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                consumer.accept(keys[slot], vaccineCounts[slot], doseCounts[slot]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldVaccineCounts = vaccineCounts;
+        long[] oldDoseCounts = doseCounts;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        vaccineCounts = new long[oldKeys.length * 2];
+        doseCounts = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                add(oldKeys[slot], oldVaccineCounts[slot], oldDoseCounts[slot]);
+            }
+        }
+    }
+}
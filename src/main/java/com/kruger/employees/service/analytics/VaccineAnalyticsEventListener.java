@@ -0,0 +1,57 @@
+package com.kruger.employees.service.analytics;
+
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.repository.TransactionChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate listener turning the vaccines written by a transaction into the {@link VaccineRow}s of the
+ * {@link VaccineAnalyticsService}, appended to its columns after the commit.
+ */
+@Component
+public class VaccineAnalyticsEventListener extends TransactionChangeListener<List<VaccineRow>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient VaccineAnalyticsService vaccineAnalyticsService;
+
+    public VaccineAnalyticsEventListener(VaccineAnalyticsService vaccineAnalyticsService) {
+        this.vaccineAnalyticsService = vaccineAnalyticsService;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            pendingChanges(event.getSession()).add(VaccineAnalyticsService.toRow((Vaccine) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            pendingChanges(event.getSession()).add(VaccineAnalyticsService.toRow((Vaccine) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            pendingChanges(event.getSession()).add(VaccineRow.deletion((Long) event.getId()));
+        }
+    }
+
+    @Override
+    protected List<VaccineRow> newChanges() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    protected void afterCommit(List<VaccineRow> rows) {
+        vaccineAnalyticsService.apply(rows);
+    }
+}
@@ -0,0 +1,113 @@
+package com.kruger.employees.service.analytics;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A group-by query over the vaccines, with optional filters. Unset filters match every vaccine.
+ */
+public class VaccineAnalyticsQuery implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private AnalyticsDimension groupBy = AnalyticsDimension.NONE;
+
+    private Set<VaccineType> vaccineTypes = EnumSet.noneOf(VaccineType.class);
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private Integer minDoses;
+
+    private Integer maxDoses;
+
+    private Long applicationUserId;
+
+    public AnalyticsDimension getGroupBy() {
+        return groupBy;
+    }
+
+    public VaccineAnalyticsQuery groupBy(AnalyticsDimension groupBy) {
+        this.groupBy = groupBy;
+        return this;
+    }
+
+    public Set<VaccineType> getVaccineTypes() {
+        return vaccineTypes;
+    }
+
+    public VaccineAnalyticsQuery vaccineTypes(Collection<VaccineType> vaccineTypes) {
+        this.vaccineTypes = vaccineTypes.isEmpty() ? EnumSet.noneOf(VaccineType.class) : EnumSet.copyOf(vaccineTypes);
+        return this;
+    }
+
+    /**
+     * @return the first vaccination date matched, inclusive.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public VaccineAnalyticsQuery from(LocalDate from) {
+        this.from = from;
+        return this;
+    }
+
+    /**
+     * @return the last vaccination date matched, inclusive.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public VaccineAnalyticsQuery to(LocalDate to) {
+        this.to = to;
+        return this;
+    }
+
+    public Integer getMinDoses() {
+        return minDoses;
+    }
+
+    public VaccineAnalyticsQuery minDoses(Integer minDoses) {
+        this.minDoses = minDoses;
+        return this;
+    }
+
+    public Integer getMaxDoses() {
+        return maxDoses;
+    }
+
+    public VaccineAnalyticsQuery maxDoses(Integer maxDoses) {
+        this.maxDoses = maxDoses;
+        return this;
+    }
+
+    public Long getApplicationUserId() {
+        return applicationUserId;
+    }
+
+    public VaccineAnalyticsQuery applicationUserId(Long applicationUserId) {
+        this.applicationUserId = applicationUserId;
+        return this;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineAnalyticsQuery{" +
+            "groupBy=" + groupBy +
+            ", vaccineTypes=" + vaccineTypes +
+            ", from=" + from +
+            ", to=" + to +
+            ", minDoses=" + minDoses +
+            ", maxDoses=" + maxDoses +
+            ", applicationUserId=" + applicationUserId +
+            "}";
+    }
+}
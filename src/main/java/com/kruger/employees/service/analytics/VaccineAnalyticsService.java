@@ -0,0 +1,211 @@
+package com.kruger.employees.service.analytics;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.service.VaccineQueryService;
+import com.kruger.employees.service.dto.VaccineStatisticsDTO.BucketDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.hibernate.proxy.HibernateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service answering group-by queries over an in-memory, column-oriented copy of the vaccines.
+ * <p>
+ * The copy is loaded from the database once the application is ready, then kept current by
+ * {@link VaccineAnalyticsEventListener} with the vaccines written by committed transactions, so analytical queries
+ * never scan the vaccine table. A failed load is retried, with a delay doubling from {@link #FIRST_RETRY_DELAY} up to
+ * {@link #MAX_RETRY_DELAY}, and the store is unavailable until a load succeeds.
+ * <p>
+ * Only the transactions committed by this node are seen: with several nodes, the vaccines written by the other ones
+ * show up at the next load, when this node restarts.
+ */
+@Service
+public class VaccineAnalyticsService {
+
+    static final long RETRY_CHECK_INTERVAL_MILLIS = 5_000;
+
+    static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(10);
+
+    static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(10);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(VaccineAnalyticsService.class);
+
+    private final VaccineColumnStore store = new VaccineColumnStore(ForkJoinPool.commonPool());
+
+    private final VaccineQueryService vaccineQueryService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Executor taskExecutor;
+
+    private volatile boolean ready;
+
+    private volatile Instant nextRetry;
+
+    private Duration retryDelay = Duration.ZERO;
+
+    public VaccineAnalyticsService(
+        VaccineQueryService vaccineQueryService,
+        ApplicationProperties applicationProperties,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.vaccineQueryService = vaccineQueryService;
+        this.applicationProperties = applicationProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Load all the vaccines from the database, in the background.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        store.beginLoad();
+        try {
+            List<VaccineRow> rows = new ArrayList<>(LOAD_BATCH_SIZE);
+            vaccineQueryService.forEachByCriteria(
+                null,
+                applicationProperties.getExport().getFetchSize(),
+                vaccine -> {
+                    rows.add(toRow(vaccine));
+                    if (rows.size() == LOAD_BATCH_SIZE) {
+                        store.load(rows);
+                        rows.clear();
+                    }
+                }
+            );
+            store.load(rows);
+        } catch (RuntimeException e) {
+            retryDelay = retryDelay.isZero() ? FIRST_RETRY_DELAY : min(retryDelay.multipliedBy(2), MAX_RETRY_DELAY);
+            nextRetry = Instant.now().plus(retryDelay);
+            log.error("Couldn't load the vaccines in the analytics store, which stays unavailable, retrying in {}", retryDelay, e);
+            return;
+        } finally {
+            store.endLoad();
+        }
+        retryDelay = Duration.ZERO;
+        ready = true;
+        log.info("Loaded {} vaccines in the analytics store in {} ms", store.rowCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Load the vaccines again, in the background, once the retry of a failed load is due.
+     */
+    @Scheduled(fixedDelay = RETRY_CHECK_INTERVAL_MILLIS)
+    public void retryLoad() {
+        Instant retry = nextRetry;
+        if (retry != null && !retry.isAfter(Instant.now())) {
+            nextRetry = null;
+            taskExecutor.execute(this::load);
+        }
+    }
+
+    /**
+     * @return {@code true} once the vaccines are loaded.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the number of vaccines in the analytics store.
+     */
+    public int getVaccineCount() {
+        return store.rowCount();
+    }
+
+    /**
+     * Count the vaccines, and their doses, matching the query per group.
+     *
+     * @param query the filters and the grouping dimension.
+     * @return the groups sorted by key; types, months and years in chronological or declaration order.
+     */
+    public List<BucketDTO> query(VaccineAnalyticsQuery query) {
+        log.debug("Request to query the vaccine analytics : {}", query);
+        AnalyticsDimension groupBy = query.getGroupBy();
+        GroupAccumulator groups = store.scan(toFilter(query));
+        List<long[]> sorted = new ArrayList<>(groups.size());
+        groups.forEach((key, vaccineCount, doseCount) -> sorted.add(new long[] { key, vaccineCount, doseCount }));
+        sorted.sort((left, right) -> Long.compare(left[0], right[0]));
+        List<BucketDTO> result = new ArrayList<>(sorted.size());
+        for (long[] group : sorted) {
+            result.add(new BucketDTO(formatKey(groupBy, group[0]), group[1], group[2]));
+        }
+        return result;
+    }
+
+    void apply(List<VaccineRow> rows) {
+        store.apply(rows);
+    }
+
+    private static Duration min(Duration left, Duration right) {
+        return left.compareTo(right) <= 0 ? left : right;
+    }
+
+    static VaccineRow toRow(Vaccine vaccine) {
+        return VaccineRow.of(
+            vaccine.getId(),
+            vaccine.getVaccineType().ordinal(),
+            vaccine.getVaccinationDate().toEpochDay(),
+            vaccine.getDoses(),
+            applicationUserId(vaccine.getApplicationUser())
+        );
+    }
+
+    private static long applicationUserId(ApplicationUser applicationUser) {
+        if (applicationUser instanceof HibernateProxy) {
+            // Read the id without initializing the proxy
+            return (Long) ((HibernateProxy) applicationUser).getHibernateLazyInitializer().getIdentifier();
+        }
+        return applicationUser.getId();
+    }
+
+    private static VaccineColumnStore.ScanFilter toFilter(VaccineAnalyticsQuery query) {
+        int vaccineTypeMask = 0;
+        for (VaccineType vaccineType : query.getVaccineTypes().isEmpty() ? List.of(VaccineType.values()) : query.getVaccineTypes()) {
+            vaccineTypeMask |= 1 << vaccineType.ordinal();
+        }
+        return new VaccineColumnStore.ScanFilter(
+            query.getGroupBy(),
+            vaccineTypeMask,
+            query.getFrom() == null ? Integer.MIN_VALUE : Math.toIntExact(query.getFrom().toEpochDay()),
+            query.getTo() == null ? Integer.MAX_VALUE : Math.toIntExact(query.getTo().toEpochDay()),
+            query.getMinDoses() == null ? 0 : query.getMinDoses(),
+            query.getMaxDoses() == null ? Integer.MAX_VALUE : query.getMaxDoses(),
+            query.getApplicationUserId() != null,
+            query.getApplicationUserId() == null ? 0L : query.getApplicationUserId()
+        );
+    }
+
+    private static String formatKey(AnalyticsDimension groupBy, long key) {
+        switch (groupBy) {
+            case VACCINE_TYPE:
+                return VaccineType.values()[(int) key].name();
+            case MONTH:
+                return String.format("%04d-%02d", Math.floorDiv(key, 12), Math.floorMod(key, 12) + 1);
+            case NONE:
+                return "ALL";
+            default:
+                return String.valueOf(key);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.kruger.employees.service.analytics;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented storage of the vaccines: one primitive array per column, rows sorted by vaccine id.
+ * <p>
+ * Lookups by id are binary searches, deleted rows are tombstones which are compacted once they are a quarter of the
+ * rows. Scans hold the read lock and are split over the fork-join pool; writes hold the write lock.
+ * <p>
+ * While the store is being loaded, the ids written by committed transactions are remembered so that the loader
+ * doesn't overwrite them with the older values it read.
+ */
+final class VaccineColumnStore {
+
+    static final byte DELETED = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int SCAN_THRESHOLD = 1 << 15;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ForkJoinPool pool;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] vaccineTypes = new byte[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private byte[] doses = new byte[INITIAL_CAPACITY];
+    private long[] employeeIds = new long[INITIAL_CAPACITY];
+    private int size;
+    private int deleted;
+
+    private boolean loading;
+    private final Set<Long> writtenWhileLoading = new HashSet<>();
+
+    VaccineColumnStore(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Empty the store and start remembering the written ids until {@link #endLoad()}.
+     */
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            ids = new long[INITIAL_CAPACITY];
+            vaccineTypes = new byte[INITIAL_CAPACITY];
+            epochDays = new int[INITIAL_CAPACITY];
+            doses = new byte[INITIAL_CAPACITY];
+            employeeIds = new long[INITIAL_CAPACITY];
+            size = 0;
+            deleted = 0;
+            loading = true;
+            writtenWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add rows read by the loader, skipping the ones written since the load began.
+     */
+    void load(List<VaccineRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (VaccineRow row : rows) {
+                if (!writtenWhileLoading.contains(row.id)) {
+                    upsert(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            writtenWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply committed inserts, updates and deletions.
+     */
+    void apply(List<VaccineRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (VaccineRow row : rows) {
+                if (loading) {
+                    writtenWhileLoading.add(row.id);
+                }
+                if (row.deleted) {
+                    delete(row.id);
+                } else {
+                    upsert(row);
+                }
+            }
+            if (deleted > INITIAL_CAPACITY && deleted > size / 4) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of vaccines in the store.
+     */
+    int rowCount() {
+        lock.readLock().lock();
+        try {
+            return size - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the vaccines and doses matching the filter, per group key.
+     */
+    GroupAccumulator scan(ScanFilter filter) {
+        lock.readLock().lock();
+        try {
+            return pool.invoke(new ScanTask(filter, new Columns(vaccineTypes, epochDays, doses, employeeIds), 0, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(VaccineRow row) {
+        int index = size == 0 || ids[size - 1] < row.id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, row.id);
+        if (index < 0) {
+            index = -(index + 1);
+            ensureCapacity(size + 1);
+            if (index < size) {
+                int moved = size - index;
+                System.arraycopy(ids, index, ids, index + 1, moved);
+                System.arraycopy(vaccineTypes, index, vaccineTypes, index + 1, moved);
+                System.arraycopy(epochDays, index, epochDays, index + 1, moved);
+                System.arraycopy(doses, index, doses, index + 1, moved);
+                System.arraycopy(employeeIds, index, employeeIds, index + 1, moved);
+            }
+            size++;
+        } else if (vaccineTypes[index] == DELETED) {
+            deleted--;
+        }
+        ids[index] = row.id;
+        vaccineTypes[index] = row.vaccineType;
+        epochDays[index] = row.epochDay;
+        doses[index] = row.doses;
+        employeeIds[index] = row.employeeId;
+    }
+
+    private void delete(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0 && vaccineTypes[index] != DELETED) {
+            vaccineTypes[index] = DELETED;
+            deleted++;
+        }
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int i = 0; i < size; i++) {
+            if (vaccineTypes[i] != DELETED) {
+                ids[live] = ids[i];
+                vaccineTypes[live] = vaccineTypes[i];
+                epochDays[live] = epochDays[i];
+                doses[live] = doses[i];
+                employeeIds[live] = employeeIds[i];
+                live++;
+            }
+        }
+        size = live;
+        deleted = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, newCapacity);
+            vaccineTypes = Arrays.copyOf(vaccineTypes, newCapacity);
+            epochDays = Arrays.copyOf(epochDays, newCapacity);
+            doses = Arrays.copyOf(doses, newCapacity);
+            employeeIds = Arrays.copyOf(employeeIds, newCapacity);
+        }
+    }
+
+    /**
+     * The filter and the group key of a scan, as primitives.
+     */
+    static final class ScanFilter {
+
+        final AnalyticsDimension groupBy;
+        final int vaccineTypeMask;
+        final int fromEpochDay;
+        final int toEpochDay;
+        final int minDoses;
+        final int maxDoses;
+        final boolean filterEmployee;
+        final long employeeId;
+
+        ScanFilter(
+            AnalyticsDimension groupBy,
+            int vaccineTypeMask,
+            int fromEpochDay,
+            int toEpochDay,
+            int minDoses,
+            int maxDoses,
+            boolean filterEmployee,
+            long employeeId
+        ) {
+            this.groupBy = groupBy;
+            this.vaccineTypeMask = vaccineTypeMask;
+            this.fromEpochDay = fromEpochDay;
+            this.toEpochDay = toEpochDay;
+            this.minDoses = minDoses;
+            this.maxDoses = maxDoses;
+            this.filterEmployee = filterEmployee;
+            this.employeeId = employeeId;
+        }
+
+        long keyOf(int vaccineType, int epochDay, int doses, long employeeId) {
+            switch (groupBy) {
+                case VACCINE_TYPE:
+                    return vaccineType;
+                case YEAR:
+                    return Math.floorDiv(EpochDays.monthIndex(epochDay), 12);
+                case MONTH:
+                    return EpochDays.monthIndex(epochDay);
+                case DOSES:
+                    return doses;
+                case EMPLOYEE:
+                    return employeeId;
+                default:
+                    return 0L;
+            }
+        }
+    }
+
+    private static final class Columns {
+
+        final byte[] vaccineTypes;
+        final int[] epochDays;
+        final byte[] doses;
+        final long[] employeeIds;
+
+        Columns(byte[] vaccineTypes, int[] epochDays, byte[] doses, long[] employeeIds) {
+            this.vaccineTypes = vaccineTypes;
+            this.epochDays = epochDays;
+            this.doses = doses;
+            this.employeeIds = employeeIds;
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<GroupAccumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ScanFilter filter;
+        private final transient Columns columns;
+        private final int from;
+        private final int to;
+
+        ScanTask(ScanFilter filter, Columns columns, int from, int to) {
+            this.filter = filter;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupAccumulator compute() {
+            if (to - from > SCAN_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                ScanTask left = new ScanTask(filter, columns, from, middle);
+                left.fork();
+                GroupAccumulator result = new ScanTask(filter, columns, middle, to).compute();
+                GroupAccumulator leftResult = left.join();
+                if (leftResult.size() > result.size()) {
+                    leftResult.addAll(result);
+                    return leftResult;
+                }
+                result.addAll(leftResult);
+                return result;
+            }
+            GroupAccumulator result = new GroupAccumulator();
+            for (int i = from; i < to; i++) {
+                int vaccineType = columns.vaccineTypes[i];
+                if (vaccineType < 0 || (filter.vaccineTypeMask & (1 << vaccineType)) == 0) {
+                    continue;
+                }
+                int epochDay = columns.epochDays[i];
+                if (epochDay < filter.fromEpochDay || epochDay > filter.toEpochDay) {
+                    continue;
+                }
+                int doses = columns.doses[i] & 0xFF;
+                if (doses < filter.minDoses || doses > filter.maxDoses) {
+                    continue;
+                }
+                long employeeId = columns.employeeIds[i];
+                if (filter.filterEmployee && employeeId != filter.employeeId) {
+                    continue;
+                }
+                result.add(filter.keyOf(vaccineType, epochDay, doses, employeeId), 1, doses);
+            }
+            return result;
+        }
+    }
+}
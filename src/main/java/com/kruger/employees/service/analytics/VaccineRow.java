@@ -0,0 +1,35 @@
+package com.kruger.employees.service.analytics;
+
+/**
+ * The analytical columns of one vaccine, or the deletion of a vaccine.
+ */
+final class VaccineRow {
+
+    final long id;
+    final byte vaccineType;
+    final int epochDay;
+    final byte doses;
+    final long employeeId;
+    final boolean deleted;
+
+    private VaccineRow(long id, byte vaccineType, int epochDay, byte doses, long employeeId, boolean deleted) {
+        this.id = id;
+        this.vaccineType = vaccineType;
+        this.epochDay = epochDay;
+        this.doses = doses;
+        this.employeeId = employeeId;
+        this.deleted = deleted;
+    }
+
+    /**
+     * @param doses the number of doses, stored as an unsigned byte and capped at 255.
+     */
+    static VaccineRow of(long id, int vaccineTypeOrdinal, long epochDay, int doses, long employeeId) {
+        byte storedDoses = (byte) Math.min(Math.max(doses, 0), 255);
+        return new VaccineRow(id, (byte) vaccineTypeOrdinal, Math.toIntExact(epochDay), storedDoses, employeeId, false);
+    }
+
+    static VaccineRow deletion(long id) {
+        return new VaccineRow(id, VaccineColumnStore.DELETED, 0, (byte) 0, 0L, true);
+    }
+}
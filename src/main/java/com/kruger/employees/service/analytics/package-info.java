@@ -0,0 +1,4 @@
+/**
+ * In-memory, column-oriented read model of the vaccines, for analytical queries.
+ */
+package com.kruger.employees.service.analytics;
@@ -0,0 +1,63 @@
+package com.kruger.employees.service.compliance;
+
+/**
+ * A committed write which may change the compliance of an employee: a vaccine saved or deleted,
+ * an employee created or deleted.
+ * <p>
+ * The index holds the employee ids as ints: a write of an employee whose id doesn't fit is turned into an
+ * {@link Kind#EMPLOYEE_NOT_INDEXABLE} change instead.
+ */
+final class ComplianceChange {
+
+    enum Kind {
+        VACCINE_SAVED,
+        VACCINE_DELETED,
+        EMPLOYEE_SAVED,
+        EMPLOYEE_DELETED,
+        EMPLOYEE_NOT_INDEXABLE,
+    }
+
+    final Kind kind;
+    final long vaccineId;
+    final int employeeId;
+    final int vaccineType;
+    final int doses;
+
+    private ComplianceChange(Kind kind, long vaccineId, int employeeId, int vaccineType, int doses) {
+        this.kind = kind;
+        this.vaccineId = vaccineId;
+        this.employeeId = employeeId;
+        this.vaccineType = vaccineType;
+        this.doses = doses;
+    }
+
+    static ComplianceChange vaccineSaved(long vaccineId, long employeeId, int vaccineTypeOrdinal, int doses) {
+        if (!isIndexable(employeeId)) {
+            return new ComplianceChange(Kind.EMPLOYEE_NOT_INDEXABLE, vaccineId, 0, 0, 0);
+        }
+        return new ComplianceChange(Kind.VACCINE_SAVED, vaccineId, (int) employeeId, vaccineTypeOrdinal, Math.max(doses, 0));
+    }
+
+    static ComplianceChange vaccineDeleted(long vaccineId) {
+        return new ComplianceChange(Kind.VACCINE_DELETED, vaccineId, 0, 0, 0);
+    }
+
+    static ComplianceChange employeeSaved(long employeeId) {
+        return employeeChange(Kind.EMPLOYEE_SAVED, employeeId);
+    }
+
+    static ComplianceChange employeeDeleted(long employeeId) {
+        return employeeChange(Kind.EMPLOYEE_DELETED, employeeId);
+    }
+
+    static boolean isIndexable(long employeeId) {
+        return employeeId >= 0 && employeeId <= Integer.MAX_VALUE;
+    }
+
+    private static ComplianceChange employeeChange(Kind kind, long employeeId) {
+        if (!isIndexable(employeeId)) {
+            return new ComplianceChange(Kind.EMPLOYEE_NOT_INDEXABLE, 0L, 0, 0, 0);
+        }
+        return new ComplianceChange(kind, 0L, (int) employeeId, 0, 0);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kruger.employees.service.compliance;
+
+/**
+ * The vaccination status of an employee, overall or for one vaccine type.
+ */
+public enum ComplianceStatus {
+    /**
+     * No dose received.
+     */
+    UNVACCINATED,
+    /**
+     * Some doses received, fewer than required.
+     */
+    PARTIALLY_VACCINATED,
+    /**
+     * All the required doses received, of at least one vaccine type when considered overall.
+     */
+    FULLY_VACCINATED,
+}
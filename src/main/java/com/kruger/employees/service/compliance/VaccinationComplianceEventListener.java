@@ -0,0 +1,63 @@
+package com.kruger.employees.service.compliance;
+
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.repository.TransactionChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate listener turning the vaccines saved or deleted and the employees created or deleted by a transaction
+ * into {@link ComplianceChange}s, which update the bitmaps of the {@link VaccinationComplianceService} after the
+ * commit. Updating an employee can't change its compliance, so it isn't tracked.
+ */
+@Component
+public class VaccinationComplianceEventListener extends TransactionChangeListener<List<ComplianceChange>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient VaccinationComplianceService vaccinationComplianceService;
+
+    public VaccinationComplianceEventListener(VaccinationComplianceService vaccinationComplianceService) {
+        this.vaccinationComplianceService = vaccinationComplianceService;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            pendingChanges(event.getSession()).add(VaccinationComplianceService.toChange((Vaccine) event.getEntity()));
+        } else if (event.getEntity() instanceof ApplicationUser) {
+            pendingChanges(event.getSession()).add(ComplianceChange.employeeSaved((Long) event.getId()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            pendingChanges(event.getSession()).add(VaccinationComplianceService.toChange((Vaccine) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Vaccine) {
+            pendingChanges(event.getSession()).add(ComplianceChange.vaccineDeleted((Long) event.getId()));
+        } else if (event.getEntity() instanceof ApplicationUser) {
+            pendingChanges(event.getSession()).add(ComplianceChange.employeeDeleted((Long) event.getId()));
+        }
+    }
+
+    @Override
+    protected List<ComplianceChange> newChanges() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    protected void afterCommit(List<ComplianceChange> changes) {
+        vaccinationComplianceService.apply(changes);
+    }
+}
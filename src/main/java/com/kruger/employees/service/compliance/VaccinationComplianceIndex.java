@@ -0,0 +1,377 @@
+package com.kruger.employees.service.compliance;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmaps of employee ids per compliance status, overall and per vaccine type.
+ * <p>
+ * The doses received by each employee are summed per vaccine type from the vaccines, and compared to the doses the
+ * type requires. Only the partially and fully vaccinated bitmaps are stored: the unvaccinated employees are all the
+ * known employees but those two. A change only recomputes the statuses of the employees it touches.
+ * <p>
+ * The vaccines are kept by employee, in arrays of primitives, with the employee of each vaccine id in
+ * {@link VaccineOwners}: a vaccine costs a few bytes, and deleting an employee only touches its own vaccines.
+ * <p>
+ * The loader reads a snapshot older than the changes committed meanwhile: the ids of the vaccines written and of the
+ * employees deleted during the load are kept until {@link #endLoad()}, and the loader skips them.
+ */
+final class VaccinationComplianceIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final int[] requiredDoses;
+
+    private IdBitmap employees = new IdBitmap();
+    private IdBitmap partiallyVaccinated = new IdBitmap();
+    private IdBitmap fullyVaccinated = new IdBitmap();
+    private IdBitmap[] partiallyVaccinatedByType;
+    private IdBitmap[] fullyVaccinatedByType;
+
+    private final VaccineOwners vaccineOwners = new VaccineOwners();
+    private final Map<Integer, EmployeeVaccines> vaccinesByEmployee = new HashMap<>();
+
+    private boolean loading;
+    private boolean complete;
+    private final Set<Long> vaccinesWrittenWhileLoading = new HashSet<>();
+    private final Set<Integer> employeesDeletedWhileLoading = new HashSet<>();
+
+    /**
+     * @param requiredDoses the doses required to be fully vaccinated, by vaccine type ordinal.
+     */
+    VaccinationComplianceIndex(int[] requiredDoses) {
+        this.requiredDoses = requiredDoses.clone();
+        clear();
+    }
+
+    /**
+     * Empty the index and start remembering the written vaccines and deleted employees until {@link #endLoad()}.
+     */
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add employees read by the loader, skipping the ones deleted since the load began.
+     */
+    void loadEmployees(Collection<Long> employeeIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long employeeId : employeeIds) {
+                if (!ComplianceChange.isIndexable(employeeId)) {
+                    complete = false;
+                } else if (!employeesDeletedWhileLoading.contains(employeeId.intValue())) {
+                    employees.add(employeeId.intValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add vaccines read by the loader, skipping the ones written since the load began.
+     */
+    void loadVaccines(List<ComplianceChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (ComplianceChange change : changes) {
+                if (change.kind == ComplianceChange.Kind.EMPLOYEE_NOT_INDEXABLE) {
+                    complete = false;
+                } else if (!vaccinesWrittenWhileLoading.contains(change.vaccineId)) {
+                    saveVaccine(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            vaccinesWrittenWhileLoading.clear();
+            employeesDeletedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply the changes of a committed transaction, in order.
+     */
+    void apply(List<ComplianceChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (ComplianceChange change : changes) {
+                switch (change.kind) {
+                    case VACCINE_SAVED:
+                        remember(change);
+                        saveVaccine(change);
+                        break;
+                    case VACCINE_DELETED:
+                        remember(change);
+                        deleteVaccine(change.vaccineId);
+                        break;
+                    case EMPLOYEE_SAVED:
+                        employees.add(change.employeeId);
+                        break;
+                    case EMPLOYEE_DELETED:
+                        if (loading) {
+                            employeesDeletedWhileLoading.add(change.employeeId);
+                        }
+                        deleteEmployee(change.employeeId);
+                        break;
+                    case EMPLOYEE_NOT_INDEXABLE:
+                        complete = false;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown change: " + change.kind);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code false} once an employee whose id doesn't fit the bitmaps has been written or loaded, until the
+     * next load.
+     */
+    boolean isComplete() {
+        lock.readLock().lock();
+        try {
+            return complete;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersect the bitmaps selected by the filters.
+     *
+     * @param status the overall status of the employees, or {@code null} for any status.
+     * @param vaccineTypes the vaccine type ordinals for which the employees must have {@code vaccineTypeStatus}.
+     * @param vaccineTypeStatus the status the employees must have for each of {@code vaccineTypes}.
+     * @return a new bitmap of the matching employee ids.
+     */
+    IdBitmap select(ComplianceStatus status, Collection<Integer> vaccineTypes, ComplianceStatus vaccineTypeStatus) {
+        lock.readLock().lock();
+        try {
+            IdBitmap result = status == null ? employees.copy() : bitmap(status, partiallyVaccinated, fullyVaccinated);
+            for (Integer vaccineType : vaccineTypes) {
+                if (result.isEmpty()) {
+                    break;
+                }
+                result =
+                    result.and(bitmap(vaccineTypeStatus, partiallyVaccinatedByType[vaccineType], fullyVaccinatedByType[vaccineType]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees per overall status, by status ordinal.
+     */
+    int[] countByStatus() {
+        lock.readLock().lock();
+        try {
+            int partially = partiallyVaccinated.cardinality();
+            int fully = fullyVaccinated.cardinality();
+            return new int[] { employees.cardinality() - partially - fully, partially, fully };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees per status for the vaccine type, by status ordinal.
+     */
+    int[] countByStatus(int vaccineType) {
+        lock.readLock().lock();
+        try {
+            int partially = partiallyVaccinatedByType[vaccineType].cardinality();
+            int fully = fullyVaccinatedByType[vaccineType].cardinality();
+            return new int[] { employees.cardinality() - partially - fully, partially, fully };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        employees = new IdBitmap();
+        partiallyVaccinated = new IdBitmap();
+        fullyVaccinated = new IdBitmap();
+        partiallyVaccinatedByType = new IdBitmap[requiredDoses.length];
+        fullyVaccinatedByType = new IdBitmap[requiredDoses.length];
+        for (int i = 0; i < requiredDoses.length; i++) {
+            partiallyVaccinatedByType[i] = new IdBitmap();
+            fullyVaccinatedByType[i] = new IdBitmap();
+        }
+        vaccineOwners.clear();
+        vaccinesByEmployee.clear();
+        vaccinesWrittenWhileLoading.clear();
+        employeesDeletedWhileLoading.clear();
+        complete = true;
+    }
+
+    private void remember(ComplianceChange change) {
+        if (loading) {
+            vaccinesWrittenWhileLoading.add(change.vaccineId);
+        }
+    }
+
+    private void saveVaccine(ComplianceChange change) {
+        int previousEmployeeId = vaccineOwners.put(change.vaccineId, change.employeeId);
+        if (previousEmployeeId != VaccineOwners.NONE) {
+            removeVaccine(previousEmployeeId, change.vaccineId);
+        }
+        employees.add(change.employeeId);
+        EmployeeVaccines employeeVaccines = vaccinesByEmployee.computeIfAbsent(
+            change.employeeId,
+            key -> new EmployeeVaccines(requiredDoses.length)
+        );
+        employeeVaccines.add(change.vaccineId, change.vaccineType, change.doses);
+        addDoses(change.employeeId, employeeVaccines, change.vaccineType, change.doses);
+    }
+
+    private void deleteVaccine(long vaccineId) {
+        int employeeId = vaccineOwners.remove(vaccineId);
+        if (employeeId != VaccineOwners.NONE) {
+            removeVaccine(employeeId, vaccineId);
+        }
+    }
+
+    private void removeVaccine(int employeeId, long vaccineId) {
+        EmployeeVaccines employeeVaccines = vaccinesByEmployee.get(employeeId);
+        int index = employeeVaccines.indexOf(vaccineId);
+        int vaccineType = employeeVaccines.vaccineTypes[index];
+        int doses = employeeVaccines.doses[index];
+        employeeVaccines.remove(index);
+        addDoses(employeeId, employeeVaccines, vaccineType, -doses);
+        if (employeeVaccines.size == 0) {
+            vaccinesByEmployee.remove(employeeId);
+        }
+    }
+
+    private void deleteEmployee(int employeeId) {
+        EmployeeVaccines employeeVaccines = vaccinesByEmployee.remove(employeeId);
+        if (employeeVaccines != null) {
+            for (int i = 0; i < employeeVaccines.size; i++) {
+                vaccineOwners.remove(employeeVaccines.vaccineIds[i]);
+            }
+        }
+        employees.remove(employeeId);
+        partiallyVaccinated.remove(employeeId);
+        fullyVaccinated.remove(employeeId);
+        for (int i = 0; i < requiredDoses.length; i++) {
+            partiallyVaccinatedByType[i].remove(employeeId);
+            fullyVaccinatedByType[i].remove(employeeId);
+        }
+    }
+
+    private void addDoses(int employeeId, EmployeeVaccines employeeVaccines, int vaccineType, int doses) {
+        int[] doseCounts = employeeVaccines.doseCounts;
+        doseCounts[vaccineType] += doses;
+
+        ComplianceStatus typeStatus = status(doseCounts[vaccineType], requiredDoses[vaccineType]);
+        set(partiallyVaccinatedByType[vaccineType], employeeId, typeStatus == ComplianceStatus.PARTIALLY_VACCINATED);
+        set(fullyVaccinatedByType[vaccineType], employeeId, typeStatus == ComplianceStatus.FULLY_VACCINATED);
+
+        boolean vaccinated = false;
+        boolean fully = false;
+        for (int i = 0; i < doseCounts.length; i++) {
+            vaccinated |= doseCounts[i] > 0;
+            fully |= status(doseCounts[i], requiredDoses[i]) == ComplianceStatus.FULLY_VACCINATED;
+        }
+        set(partiallyVaccinated, employeeId, vaccinated && !fully);
+        set(fullyVaccinated, employeeId, fully);
+    }
+
+    private IdBitmap bitmap(ComplianceStatus status, IdBitmap partially, IdBitmap fully) {
+        switch (status) {
+            case UNVACCINATED:
+                return employees.andNot(partially).andNot(fully);
+            case PARTIALLY_VACCINATED:
+                return partially.copy();
+            case FULLY_VACCINATED:
+                return fully.copy();
+            default:
+                throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    static ComplianceStatus status(int doses, int requiredDoses) {
+        if (doses <= 0) {
+            return ComplianceStatus.UNVACCINATED;
+        }
+        return doses < requiredDoses ? ComplianceStatus.PARTIALLY_VACCINATED : ComplianceStatus.FULLY_VACCINATED;
+    }
+
+    private static void set(IdBitmap bitmap, int employeeId, boolean present) {
+        if (present) {
+            bitmap.add(employeeId);
+        } else {
+            bitmap.remove(employeeId);
+        }
+    }
+
+    /**
+     * The vaccines of an employee, in parallel arrays, and its doses summed per vaccine type.
+     */
+    private static final class EmployeeVaccines {
+
+        final int[] doseCounts;
+        long[] vaccineIds = new long[2];
+        byte[] vaccineTypes = new byte[2];
+        int[] doses = new int[2];
+        int size;
+
+        EmployeeVaccines(int vaccineTypeCount) {
+            this.doseCounts = new int[vaccineTypeCount];
+        }
+
+        void add(long vaccineId, int vaccineType, int vaccineDoses) {
+            if (size == vaccineIds.length) {
+                vaccineIds = Arrays.copyOf(vaccineIds, size * 2);
+                vaccineTypes = Arrays.copyOf(vaccineTypes, size * 2);
+                doses = Arrays.copyOf(doses, size * 2);
+            }
+            vaccineIds[size] = vaccineId;
+            vaccineTypes[size] = (byte) vaccineType;
+            doses[size] = vaccineDoses;
+            size++;
+        }
+
+        int indexOf(long vaccineId) {
+            for (int i = 0; i < size; i++) {
+                if (vaccineIds[i] == vaccineId) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Unknown vaccine " + vaccineId);
+        }
+
+        void remove(int index) {
+            size--;
+            vaccineIds[index] = vaccineIds[size];
+            vaccineTypes[index] = vaccineTypes[size];
+            doses[index] = doses[size];
+        }
+    }
+}
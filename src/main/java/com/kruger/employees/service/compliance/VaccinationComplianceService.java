@@ -0,0 +1,238 @@
+package com.kruger.employees.service.compliance;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.service.VaccineQueryService;
+import com.kruger.employees.service.dto.ComplianceSummaryDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.hibernate.proxy.HibernateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service answering which employees are unvaccinated, partially or fully vaccinated, overall or with given vaccine
+ * types, from bitmaps kept in memory.
+ * <p>
+ * The bitmaps are loaded from the database once the application is ready, then kept current by
+ * {@link VaccinationComplianceEventListener} with the writes of committed transactions. A failed load is retried, with
+ * a delay doubling from {@link #FIRST_RETRY_DELAY} up to {@link #MAX_RETRY_DELAY}, and the index is unavailable until
+ * a load succeeds.
+ * <p>
+ * Only the transactions committed by this node are seen: with several nodes, the employees and vaccines written by
+ * the other ones show up at the next load, when this node restarts.
+ */
+@Service
+public class VaccinationComplianceService {
+
+    static final long RETRY_CHECK_INTERVAL_MILLIS = 5_000;
+
+    static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(10);
+
+    static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(10);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(VaccinationComplianceService.class);
+
+    private final VaccinationComplianceIndex index;
+
+    private final VaccineQueryService vaccineQueryService;
+
+    private final ApplicationUserRepository applicationUserRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Executor taskExecutor;
+
+    private volatile boolean ready;
+
+    private volatile Instant nextRetry;
+
+    private Duration retryDelay = Duration.ZERO;
+
+    public VaccinationComplianceService(
+        VaccineQueryService vaccineQueryService,
+        ApplicationUserRepository applicationUserRepository,
+        ApplicationProperties applicationProperties,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.vaccineQueryService = vaccineQueryService;
+        this.applicationUserRepository = applicationUserRepository;
+        this.applicationProperties = applicationProperties;
+        this.taskExecutor = taskExecutor;
+        this.index = new VaccinationComplianceIndex(requiredDoses(applicationProperties.getCompliance().getRequiredDoses()));
+    }
+
+    /**
+     * Load all the employees and their vaccines from the database, in the background.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        index.beginLoad();
+        try {
+            index.loadEmployees(applicationUserRepository.findAllIds());
+            List<ComplianceChange> changes = new ArrayList<>(LOAD_BATCH_SIZE);
+            vaccineQueryService.forEachByCriteria(
+                null,
+                applicationProperties.getExport().getFetchSize(),
+                vaccine -> {
+                    changes.add(toChange(vaccine));
+                    if (changes.size() == LOAD_BATCH_SIZE) {
+                        index.loadVaccines(changes);
+                        changes.clear();
+                    }
+                }
+            );
+            index.loadVaccines(changes);
+        } catch (RuntimeException e) {
+            retryDelay = retryDelay.isZero() ? FIRST_RETRY_DELAY : min(retryDelay.multipliedBy(2), MAX_RETRY_DELAY);
+            nextRetry = Instant.now().plus(retryDelay);
+            log.error("Couldn't load the vaccination compliance index, which stays unavailable, retrying in {}", retryDelay, e);
+            return;
+        } finally {
+            index.endLoad();
+        }
+        retryDelay = Duration.ZERO;
+        ready = true;
+        log.info("Loaded the vaccination compliance index in {} ms", System.currentTimeMillis() - start);
+        if (!index.isComplete()) {
+            logNotIndexable();
+        }
+    }
+
+    /**
+     * Load the employees and their vaccines again, in the background, once the retry of a failed load is due.
+     */
+    @Scheduled(fixedDelay = RETRY_CHECK_INTERVAL_MILLIS)
+    public void retryLoad() {
+        Instant retry = nextRetry;
+        if (retry != null && !retry.isAfter(Instant.now())) {
+            nextRetry = null;
+            taskExecutor.execute(this::load);
+        }
+    }
+
+    /**
+     * @return {@code true} once the employees and their vaccines are loaded, unless an employee couldn't be indexed.
+     */
+    public boolean isReady() {
+        return ready && index.isComplete();
+    }
+
+    /**
+     * Get the ids of the employees matching the filters, in ascending order.
+     *
+     * @param status the overall status of the employees, or {@code null} for any status.
+     * @param vaccineTypes the vaccine types for which the employees must have {@code vaccineTypeStatus}.
+     * @param vaccineTypeStatus the status the employees must have for each of {@code vaccineTypes}.
+     * @param pageable the pagination information, the sort is ignored.
+     * @return the page of employee ids.
+     */
+    public Page<Long> findEmployeeIds(
+        ComplianceStatus status,
+        Collection<VaccineType> vaccineTypes,
+        ComplianceStatus vaccineTypeStatus,
+        Pageable pageable
+    ) {
+        log.debug("Request to get the employees with status {} and status {} for {}", status, vaccineTypeStatus, vaccineTypes);
+        List<Integer> vaccineTypeOrdinals = vaccineTypes.stream().map(VaccineType::ordinal).distinct().collect(Collectors.toList());
+        IdBitmap employees = index.select(status, vaccineTypeOrdinals, vaccineTypeStatus);
+        long[] ids = employees.toArray(pageable.getOffset(), pageable.getPageSize());
+        List<Long> content = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            content.add(id);
+        }
+        return new PageImpl<>(content, pageable, employees.cardinality());
+    }
+
+    /**
+     * @return the number of employees per status, overall and per vaccine type.
+     */
+    public ComplianceSummaryDTO getSummary() {
+        log.debug("Request to get the vaccination compliance summary");
+        ComplianceSummaryDTO summary = new ComplianceSummaryDTO();
+        summary.setByStatus(toMap(index.countByStatus()));
+        Map<VaccineType, Map<ComplianceStatus, Integer>> byVaccineType = new EnumMap<>(VaccineType.class);
+        for (VaccineType vaccineType : VaccineType.values()) {
+            byVaccineType.put(vaccineType, toMap(index.countByStatus(vaccineType.ordinal())));
+        }
+        summary.setByVaccineType(byVaccineType);
+        return summary;
+    }
+
+    void apply(List<ComplianceChange> changes) {
+        boolean complete = index.isComplete();
+        index.apply(changes);
+        if (complete && !index.isComplete()) {
+            logNotIndexable();
+        }
+    }
+
+    private void logNotIndexable() {
+        log.error("Employee ids above {} don't fit the vaccination compliance index, which stays unavailable", Integer.MAX_VALUE);
+    }
+
+    private static Duration min(Duration left, Duration right) {
+        return left.compareTo(right) <= 0 ? left : right;
+    }
+
+    static ComplianceChange toChange(Vaccine vaccine) {
+        return ComplianceChange.vaccineSaved(
+            vaccine.getId(),
+            applicationUserId(vaccine.getApplicationUser()),
+            vaccine.getVaccineType().ordinal(),
+            vaccine.getDoses()
+        );
+    }
+
+    private static long applicationUserId(ApplicationUser applicationUser) {
+        if (applicationUser instanceof HibernateProxy) {
+            // Read the id without initializing the proxy
+            return (Long) ((HibernateProxy) applicationUser).getHibernateLazyInitializer().getIdentifier();
+        }
+        return applicationUser.getId();
+    }
+
+    private static int[] requiredDoses(Map<VaccineType, Integer> requiredDoses) {
+        int[] result = new int[VaccineType.values().length];
+        for (VaccineType vaccineType : VaccineType.values()) {
+            Integer doses = requiredDoses.get(vaccineType);
+            if (doses == null || doses < 1) {
+                throw new IllegalStateException("application.compliance.required-doses." + vaccineType + " must be at least 1");
+            }
+            result[vaccineType.ordinal()] = doses;
+        }
+        return result;
+    }
+
+    private static Map<ComplianceStatus, Integer> toMap(int[] countByStatus) {
+        Map<ComplianceStatus, Integer> result = new EnumMap<>(ComplianceStatus.class);
+        for (ComplianceStatus status : ComplianceStatus.values()) {
+            result.put(status, countByStatus[status.ordinal()]);
+        }
+        return result;
+    }
+}
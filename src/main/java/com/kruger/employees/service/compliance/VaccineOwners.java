@@ -0,0 +1,109 @@
+package com.kruger.employees.service.compliance;
+
+/**
+ * The employee id of each vaccine id, in an open addressing hash table of primitives, so that an entry takes a few
+ * bytes instead of a boxed key, a value object and a map node.
+ */
+final class VaccineOwners {
+
+    static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] vaccineIds = new long[INITIAL_CAPACITY];
+    private int[] employeeIds = new int[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @return the employee id of the vaccine, or {@link #NONE}.
+     */
+    int get(long vaccineId) {
+        int slot = slotOf(vaccineId);
+        return used[slot] ? employeeIds[slot] : NONE;
+    }
+
+    /**
+     * @return the previous employee id of the vaccine, or {@link #NONE}.
+     */
+    int put(long vaccineId, int employeeId) {
+        int slot = slotOf(vaccineId);
+        if (used[slot]) {
+            int previous = employeeIds[slot];
+            employeeIds[slot] = employeeId;
+            return previous;
+        }
+        if ((size + 1) * 4 > vaccineIds.length * 3) {
+            resize();
+            slot = slotOf(vaccineId);
+        }
+        used[slot] = true;
+        vaccineIds[slot] = vaccineId;
+        employeeIds[slot] = employeeId;
+        size++;
+        return NONE;
+    }
+
+    /**
+     * @return the employee id the vaccine had, or {@link #NONE}.
+     */
+    int remove(long vaccineId) {
+        int gap = slotOf(vaccineId);
+        if (!used[gap]) {
+            return NONE;
+        }
+        int previous = employeeIds[gap];
+        int mask = vaccineIds.length - 1;
+        // Move back the next entries of the probe sequence that may fill the gap, so that lookups don't stop at it
+        for (int slot = (gap + 1) & mask; used[slot]; slot = (slot + 1) & mask) {
+            int home = hash(vaccineIds[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                vaccineIds[gap] = vaccineIds[slot];
+                employeeIds[gap] = employeeIds[slot];
+                gap = slot;
+            }
+        }
+        used[gap] = false;
+        size--;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        vaccineIds = new long[INITIAL_CAPACITY];
+        employeeIds = new int[INITIAL_CAPACITY];
+        used = new boolean[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private int slotOf(long vaccineId) {
+        int mask = vaccineIds.length - 1;
+        int slot = hash(vaccineId) & mask;
+        while (used[slot] && vaccineIds[slot] != vaccineId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long vaccineId) {
+        return Long.hashCode(vaccineId * 0x9E3779B97F4A7C15L);
+    }
+
+    private void resize() {
+        long[] oldVaccineIds = vaccineIds;
+        int[] oldEmployeeIds = employeeIds;
+        boolean[] oldUsed = used;
+        vaccineIds = new long[oldVaccineIds.length * 2];
+        employeeIds = new int[oldVaccineIds.length * 2];
+        used = new boolean[oldVaccineIds.length * 2];
+        size = 0;
+        for (int slot = 0; slot < oldVaccineIds.length; slot++) {
+            if (oldUsed[slot]) {
+                put(oldVaccineIds[slot], oldEmployeeIds[slot]);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Vaccination compliance of the employees, indexed in memory with compressed bitmaps.
+ */
+package com.kruger.employees.service.compliance;
@@ -0,0 +1,189 @@
+package com.kruger.employees.service.criteria;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.kruger.employees.domain.Vaccine} entity. This class is used
+ * in {@link com.kruger.employees.web.rest.VaccineResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /vaccines?vaccineType.equals=PFIZER&vaccinationDate.greaterThanOrEqual=2022-03-01&vaccinationDate.lessThan=2022-04-01}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class VaccineCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering VaccineType
+     */
+    public static class VaccineTypeFilter extends Filter<VaccineType> {
+
+        public VaccineTypeFilter() {}
+
+        public VaccineTypeFilter(VaccineTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public VaccineTypeFilter copy() {
+            return new VaccineTypeFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private VaccineTypeFilter vaccineType;
+
+    private LocalDateFilter vaccinationDate;
+
+    private IntegerFilter doses;
+
+    private LongFilter applicationUserId;
+
+    private Boolean distinct;
+
+    public VaccineCriteria() {}
+
+    public VaccineCriteria(VaccineCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.vaccineType = other.vaccineType == null ? null : other.vaccineType.copy();
+        this.vaccinationDate = other.vaccinationDate == null ? null : other.vaccinationDate.copy();
+        this.doses = other.doses == null ? null : other.doses.copy();
+        this.applicationUserId = other.applicationUserId == null ? null : other.applicationUserId.copy();
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public VaccineCriteria copy() {
+        return new VaccineCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public VaccineTypeFilter getVaccineType() {
+        return vaccineType;
+    }
+
+    public VaccineTypeFilter vaccineType() {
+        if (vaccineType == null) {
+            vaccineType = new VaccineTypeFilter();
+        }
+        return vaccineType;
+    }
+
+    public void setVaccineType(VaccineTypeFilter vaccineType) {
+        this.vaccineType = vaccineType;
+    }
+
+    public LocalDateFilter getVaccinationDate() {
+        return vaccinationDate;
+    }
+
+    public LocalDateFilter vaccinationDate() {
+        if (vaccinationDate == null) {
+            vaccinationDate = new LocalDateFilter();
+        }
+        return vaccinationDate;
+    }
+
+    public void setVaccinationDate(LocalDateFilter vaccinationDate) {
+        this.vaccinationDate = vaccinationDate;
+    }
+
+    public IntegerFilter getDoses() {
+        return doses;
+    }
+
+    public IntegerFilter doses() {
+        if (doses == null) {
+            doses = new IntegerFilter();
+        }
+        return doses;
+    }
+
+    public void setDoses(IntegerFilter doses) {
+        this.doses = doses;
+    }
+
+    public LongFilter getApplicationUserId() {
+        return applicationUserId;
+    }
+
+    public LongFilter applicationUserId() {
+        if (applicationUserId == null) {
+            applicationUserId = new LongFilter();
+        }
+        return applicationUserId;
+    }
+
+    public void setApplicationUserId(LongFilter applicationUserId) {
+        this.applicationUserId = applicationUserId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final VaccineCriteria that = (VaccineCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(vaccineType, that.vaccineType) &&
+            Objects.equals(vaccinationDate, that.vaccinationDate) &&
+            Objects.equals(doses, that.doses) &&
+            Objects.equals(applicationUserId, that.applicationUserId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, vaccineType, vaccinationDate, doses, applicationUserId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (vaccineType != null ? "vaccineType=" + vaccineType + ", " : "") +
+            (vaccinationDate != null ? "vaccinationDate=" + vaccinationDate + ", " : "") +
+            (doses != null ? "doses=" + doses + ", " : "") +
+            (applicationUserId != null ? "applicationUserId=" + applicationUserId + ", " : "") +
+            (distinct != null ? "distinct=" + distinct + ", " : "") +
+            "}";
+    }
+}
@@ -5,9 +5,11 @@ import com.kruger.employees.domain.ApplicationUser;
 import com.kruger.employees.domain.Authority;
 import com.kruger.employees.domain.User;
 import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.repository.ManagedUserSummary;
 import java.io.Serializable;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -49,6 +51,12 @@ public class AdminUserDTO implements Serializable {
 
     private Set<Vaccine> vaccines;
 
+    private Long vaccineCount;
+
+    private Long totalDoses;
+
+    private LocalDate lastVaccinationDate;
+
     @Size(max = 256)
     private String imageUrl;
 
@@ -106,6 +114,28 @@ public class AdminUserDTO implements Serializable {
         this.authorities = userAuthorities;
     }
 
+    public AdminUserDTO(ManagedUserSummary summary) {
+        this.id = summary.getId();
+        this.login = summary.getLogin();
+        this.identification = summary.getIdentification();
+        this.firstName = summary.getFirstName();
+        this.lastName = summary.getLastName();
+        this.email = summary.getEmail();
+        this.dayOfBirth = summary.getBirthday();
+        this.address = summary.getAddress();
+        this.mobile = summary.getCellphone();
+        this.vaccineCount = summary.getVaccineCount();
+        this.totalDoses = summary.getTotalDoses();
+        this.lastVaccinationDate = summary.getLastVaccinationDate();
+        this.activated = summary.isActivated();
+        this.imageUrl = summary.getImageUrl();
+        this.createdBy = summary.getCreatedBy();
+        this.createdDate = summary.getCreatedDate();
+        this.lastModifiedBy = summary.getLastModifiedBy();
+        this.lastModifiedDate = summary.getLastModifiedDate();
+        this.authorities = Collections.singleton(Constants.ROLE_USER);
+    }
+
     public Long getId() {
         return id;
     }
@@ -186,6 +216,30 @@ public class AdminUserDTO implements Serializable {
         this.vaccines = vaccines;
     }
 
+    public Long getVaccineCount() {
+        return vaccineCount;
+    }
+
+    public void setVaccineCount(Long vaccineCount) {
+        this.vaccineCount = vaccineCount;
+    }
+
+    public Long getTotalDoses() {
+        return totalDoses;
+    }
+
+    public void setTotalDoses(Long totalDoses) {
+        this.totalDoses = totalDoses;
+    }
+
+    public LocalDate getLastVaccinationDate() {
+        return lastVaccinationDate;
+    }
+
+    public void setLastVaccinationDate(LocalDate lastVaccinationDate) {
+        this.lastVaccinationDate = lastVaccinationDate;
+    }
+
     public String getImageUrl() {
         return imageUrl;
     }
@@ -254,6 +308,9 @@ public class AdminUserDTO implements Serializable {
             ", dayOfBirth='" + dayOfBirth + '\'' +
             ", address='" + address + '\'' +
             ", mobile='" + mobile + '\'' +
+            ", vaccineCount=" + vaccineCount +
+            ", totalDoses=" + totalDoses +
+            ", lastVaccinationDate='" + lastVaccinationDate + '\'' +
             ", imageUrl='" + imageUrl + '\'' +
             ", activated=" + activated +
             ", createdBy=" + createdBy +
@@ -0,0 +1,44 @@
+package com.kruger.employees.service.dto;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.service.compliance.ComplianceStatus;
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A DTO representing the number of employees per vaccination compliance status, overall and per vaccine type.
+ */
+public class ComplianceSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<ComplianceStatus, Integer> byStatus = new EnumMap<>(ComplianceStatus.class);
+
+    private Map<VaccineType, Map<ComplianceStatus, Integer>> byVaccineType = new EnumMap<>(VaccineType.class);
+
+    public Map<ComplianceStatus, Integer> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<ComplianceStatus, Integer> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<VaccineType, Map<ComplianceStatus, Integer>> getByVaccineType() {
+        return byVaccineType;
+    }
+
+    public void setByVaccineType(Map<VaccineType, Map<ComplianceStatus, Integer>> byVaccineType) {
+        this.byVaccineType = byVaccineType;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ComplianceSummaryDTO{" +
+            "byStatus=" + byStatus +
+            ", byVaccineType=" + byVaccineType +
+            "}";
+    }
+}
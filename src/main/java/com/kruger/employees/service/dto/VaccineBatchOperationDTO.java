@@ -0,0 +1,84 @@
+package com.kruger.employees.service.dto;
+
+import com.kruger.employees.domain.Vaccine;
+import java.io.Serializable;
+
+/**
+ * A DTO representing one operation of a vaccine batch request.
+ * <p>
+ * {@code CREATE} and {@code UPDATE} carry the full {@code vaccine}, the id of the updated vaccine being the one of
+ * {@code vaccine}; {@code DELETE} only needs the {@code id}.
+ */
+public class VaccineBatchOperationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The kinds of batch operations.
+     */
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE,
+    }
+
+    private Operation operation;
+
+    private Long id;
+
+    private Vaccine vaccine;
+
+    public VaccineBatchOperationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public VaccineBatchOperationDTO(Operation operation, Long id, Vaccine vaccine) {
+        this.operation = operation;
+        this.id = id;
+        this.vaccine = vaccine;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Vaccine getVaccine() {
+        return vaccine;
+    }
+
+    public void setVaccine(Vaccine vaccine) {
+        this.vaccine = vaccine;
+    }
+
+    /**
+     * @return the id of the vaccine targeted by an update or a delete.
+     */
+    public Long getTargetId() {
+        if (id != null || vaccine == null) {
+            return id;
+        }
+        return vaccine.getId();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineBatchOperationDTO{" +
+            "operation=" + operation +
+            ", id=" + id +
+            ", vaccine=" + vaccine +
+            "}";
+    }
+}
@@ -0,0 +1,110 @@
+package com.kruger.employees.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of one operation of a vaccine batch request.
+ * <p>
+ * {@code status} is the HTTP status the matching single-vaccine request would have returned, and {@code error} the
+ * error key of a rejected operation.
+ */
+public class VaccineBatchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int index;
+
+    private VaccineBatchOperationDTO.Operation operation;
+
+    private int status;
+
+    private Long id;
+
+    private String error;
+
+    private String message;
+
+    public VaccineBatchResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public VaccineBatchResultDTO(int index, VaccineBatchOperationDTO.Operation operation, int status, Long id) {
+        this.index = index;
+        this.operation = operation;
+        this.status = status;
+        this.id = id;
+    }
+
+    public VaccineBatchResultDTO(
+        int index,
+        VaccineBatchOperationDTO.Operation operation,
+        int status,
+        Long id,
+        String error,
+        String message
+    ) {
+        this(index, operation, status, id);
+        this.error = error;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public VaccineBatchOperationDTO.Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(VaccineBatchOperationDTO.Operation operation) {
+        this.operation = operation;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineBatchResultDTO{" +
+            "index=" + index +
+            ", operation=" + operation +
+            ", status=" + status +
+            ", id=" + id +
+            ", error='" + error + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,227 @@
+package com.kruger.employees.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A DTO representing the state of a vaccine CSV import job.
+ */
+public class VaccineImportJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The lifecycle of an import job.
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private UUID id;
+
+    private String fileName;
+
+    private Status status;
+
+    private long totalLines;
+
+    private long processedLines;
+
+    private long importedCount;
+
+    private long rejectedCount;
+
+    private List<LineError> errors = new ArrayList<>();
+
+    private String failure;
+
+    private Instant createdDate;
+
+    private Instant startedDate;
+
+    private Instant finishedDate;
+
+    public VaccineImportJobDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public VaccineImportJobDTO(VaccineImportJobDTO job) {
+        this.id = job.id;
+        this.fileName = job.fileName;
+        this.status = job.status;
+        this.totalLines = job.totalLines;
+        this.processedLines = job.processedLines;
+        this.importedCount = job.importedCount;
+        this.rejectedCount = job.rejectedCount;
+        this.errors = new ArrayList<>(job.errors);
+        this.failure = job.failure;
+        this.createdDate = job.createdDate;
+        this.startedDate = job.startedDate;
+        this.finishedDate = job.finishedDate;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getTotalLines() {
+        return totalLines;
+    }
+
+    public void setTotalLines(long totalLines) {
+        this.totalLines = totalLines;
+    }
+
+    public long getProcessedLines() {
+        return processedLines;
+    }
+
+    public void setProcessedLines(long processedLines) {
+        this.processedLines = processedLines;
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(long importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<LineError> errors) {
+        this.errors = errors;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineImportJobDTO{" +
+            "id=" + id +
+            ", fileName='" + fileName + "'" +
+            ", status=" + status +
+            ", totalLines=" + totalLines +
+            ", processedLines=" + processedLines +
+            ", importedCount=" + importedCount +
+            ", rejectedCount=" + rejectedCount +
+            ", createdDate=" + createdDate +
+            ", startedDate=" + startedDate +
+            ", finishedDate=" + finishedDate +
+            "}";
+    }
+
+    /**
+     * A rejected line of the imported file.
+     */
+    public static class LineError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private long line;
+
+        private String message;
+
+        public LineError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "LineError{" +
+                "line=" + line +
+                ", message='" + message + "'" +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.kruger.employees.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the vaccine counts by vaccine type, by month of vaccination and by number of doses.
+ */
+public class VaccineStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<BucketDTO> byVaccineType = new ArrayList<>();
+
+    private List<BucketDTO> byMonth = new ArrayList<>();
+
+    private List<BucketDTO> byDoses = new ArrayList<>();
+
+    public List<BucketDTO> getByVaccineType() {
+        return byVaccineType;
+    }
+
+    public void setByVaccineType(List<BucketDTO> byVaccineType) {
+        this.byVaccineType = byVaccineType;
+    }
+
+    public List<BucketDTO> getByMonth() {
+        return byMonth;
+    }
+
+    public void setByMonth(List<BucketDTO> byMonth) {
+        this.byMonth = byMonth;
+    }
+
+    public List<BucketDTO> getByDoses() {
+        return byDoses;
+    }
+
+    public void setByDoses(List<BucketDTO> byDoses) {
+        this.byDoses = byDoses;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VaccineStatisticsDTO{" +
+            "byVaccineType=" + byVaccineType +
+            ", byMonth=" + byMonth +
+            ", byDoses=" + byDoses +
+            "}";
+    }
+
+    /**
+     * The number of vaccines, and of doses, of a bucket.
+     */
+    public static class BucketDTO implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String bucket;
+
+        private long vaccineCount;
+
+        private long doseCount;
+
+        public BucketDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public BucketDTO(String bucket, long vaccineCount, long doseCount) {
+            this.bucket = bucket;
+            this.vaccineCount = vaccineCount;
+            this.doseCount = doseCount;
+        }
+
+        public String getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(String bucket) {
+            this.bucket = bucket;
+        }
+
+        public long getVaccineCount() {
+            return vaccineCount;
+        }
+
+        public void setVaccineCount(long vaccineCount) {
+            this.vaccineCount = vaccineCount;
+        }
+
+        public long getDoseCount() {
+            return doseCount;
+        }
+
+        public void setDoseCount(long doseCount) {
+            this.doseCount = doseCount;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "BucketDTO{" +
+                "bucket='" + bucket + "'" +
+                ", vaccineCount=" + vaccineCount +
+                ", doseCount=" + doseCount +
+                "}";
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.kruger.employees.service.UserService;
 import com.kruger.employees.service.dto.AdminUserDTO;
 import com.kruger.employees.service.dto.PasswordChangeDTO;
 import com.kruger.employees.web.rest.errors.*;
+import com.kruger.employees.web.rest.util.ETagUtil;
 import com.kruger.employees.web.rest.vm.KeyAndPasswordVM;
 import com.kruger.employees.web.rest.vm.ManagedUserVM;
 import java.util.*;
@@ -17,6 +18,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -93,16 +95,25 @@ public class AccountResource {
 
     /**
      * {@code GET  /account} : get the current user.
+     * <p>
+     * The response carries an entity tag built from the last modification and the authorities of the user, and is
+     * {@code 304 (Not Modified)} if it matches {@code If-None-Match}.
      *
      * @return the current user.
      * @throws RuntimeException {@code 500 (Internal Server Error)} if the user couldn't be returned.
      */
     @GetMapping("/account")
-    public AdminUserDTO getAccount() {
-        return userService
+    public ResponseEntity<AdminUserDTO> getAccount() {
+        AdminUserDTO account = userService
             .getUserWithAuthorities()
             .map(AdminUserDTO::new)
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
+        String entityTag = ETagUtil.entityTag(
+            account.getId(),
+            account.getLastModifiedDate(),
+            Integer.toHexString(account.getAuthorities().hashCode())
+        );
+        return ResponseEntity.ok().eTag(entityTag).body(account);
     }
 
     /**
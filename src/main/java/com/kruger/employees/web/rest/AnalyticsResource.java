@@ -0,0 +1,70 @@
+package com.kruger.employees.web.rest;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.service.analytics.AnalyticsDimension;
+import com.kruger.employees.service.analytics.VaccineAnalyticsQuery;
+import com.kruger.employees.service.analytics.VaccineAnalyticsService;
+import com.kruger.employees.service.dto.VaccineStatisticsDTO.BucketDTO;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for ad-hoc analytical queries over the vaccines, answered from memory.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(AnalyticsResource.class);
+
+    private final VaccineAnalyticsService vaccineAnalyticsService;
+
+    public AnalyticsResource(VaccineAnalyticsService vaccineAnalyticsService) {
+        this.vaccineAnalyticsService = vaccineAnalyticsService;
+    }
+
+    /**
+     * {@code GET  /analytics/vaccines} : count the vaccines and their doses, grouped by a dimension.
+     *
+     * @param groupBy the dimension to group by, {@code NONE} for a single group.
+     * @param vaccineTypes the vaccine types to count, all of them if empty.
+     * @param from the first vaccination date to count, inclusive.
+     * @param to the last vaccination date to count, inclusive.
+     * @param minDoses the minimum number of doses of the counted vaccines.
+     * @param maxDoses the maximum number of doses of the counted vaccines.
+     * @param applicationUserId the employee whose vaccines are counted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the groups in body,
+     * or with status {@code 503 (Service Unavailable)} while the vaccines are being loaded.
+     */
+    @GetMapping("/vaccines")
+    public ResponseEntity<List<BucketDTO>> queryVaccines(
+        @RequestParam(value = "groupBy", defaultValue = "NONE") AnalyticsDimension groupBy,
+        @RequestParam(value = "vaccineType", required = false) List<VaccineType> vaccineTypes,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(value = "minDoses", required = false) Integer minDoses,
+        @RequestParam(value = "maxDoses", required = false) Integer maxDoses,
+        @RequestParam(value = "applicationUserId", required = false) Long applicationUserId
+    ) {
+        VaccineAnalyticsQuery query = new VaccineAnalyticsQuery()
+            .groupBy(groupBy)
+            .vaccineTypes(vaccineTypes == null ? List.of() : vaccineTypes)
+            .from(from)
+            .to(to)
+            .minDoses(minDoses)
+            .maxDoses(maxDoses)
+            .applicationUserId(applicationUserId);
+        log.debug("REST request to query the Vaccine analytics : {}", query);
+        if (!vaccineAnalyticsService.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The vaccine analytics are still loading");
+        }
+        return ResponseEntity.ok().body(vaccineAnalyticsService.query(query));
+    }
+}
@@ -2,7 +2,11 @@ package com.kruger.employees.web.rest;
 
 import com.kruger.employees.domain.ApplicationUser;
 import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.repository.UserRepository;
 import com.kruger.employees.web.rest.errors.BadRequestAlertException;
+import com.kruger.employees.web.rest.util.ETagUtil;
+import com.kruger.employees.web.rest.util.KeysetPaginationUtil;
+import com.kruger.employees.web.rest.util.OptimisticLockingUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -13,9 +17,12 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -36,8 +43,11 @@ public class ApplicationUserResource {
 
     private final ApplicationUserRepository applicationUserRepository;
 
-    public ApplicationUserResource(ApplicationUserRepository applicationUserRepository) {
+    private final UserRepository userRepository;
+
+    public ApplicationUserResource(ApplicationUserRepository applicationUserRepository, UserRepository userRepository) {
         this.applicationUserRepository = applicationUserRepository;
+        this.userRepository = userRepository;
     }
 
     /**
@@ -63,18 +73,25 @@ public class ApplicationUserResource {
 
     /**
      * {@code PUT  /application-users/:id} : Updates an existing applicationUser.
+     * <p>
+     * The applicationUser is read once, with its internalUser, and updated in place. If the body carries a version, it
+     * must be the current version of the applicationUser, and if the request has an {@code If-Match} header, it must
+     * match the current entity tag of the applicationUser.
      *
      * @param id the id of the applicationUser to save.
      * @param applicationUser the applicationUser to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated applicationUser,
      * or with status {@code 400 (Bad Request)} if the applicationUser is not valid,
+     * or with status {@code 409 (Conflict)} if the applicationUser was updated since the given version,
+     * or with status {@code 412 (Precondition Failed)} if the applicationUser doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the applicationUser couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/application-users/{id}")
     public ResponseEntity<ApplicationUser> updateApplicationUser(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody ApplicationUser applicationUser
+        @Valid @RequestBody ApplicationUser applicationUser,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update ApplicationUser : {}, {}", id, applicationUser);
         if (applicationUser.getId() == null) {
@@ -84,11 +101,28 @@ public class ApplicationUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!applicationUserRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        ApplicationUser existingApplicationUser = applicationUserRepository
+            .findOneWithInternalUserById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, entityTag(existingApplicationUser));
+        OptimisticLockingUtil.checkVersion(ApplicationUser.class, id, applicationUser.getVersion(), existingApplicationUser.getVersion());
+
+        existingApplicationUser.setIdentification(applicationUser.getIdentification());
+        existingApplicationUser.setBirthday(applicationUser.getBirthday());
+        existingApplicationUser.setAddress(applicationUser.getAddress());
+        existingApplicationUser.setCellphone(applicationUser.getCellphone());
+        Long internalUserId = applicationUser.getInternalUser().getId();
+        if (!Objects.equals(internalUserId, existingApplicationUser.getInternalUser().getId())) {
+            existingApplicationUser.setInternalUser(
+                Optional
+                    .ofNullable(internalUserId)
+                    .flatMap(userRepository::findById)
+                    .orElseThrow(() -> new BadRequestAlertException("Internal user not found", ENTITY_NAME, "internalusernotfound"))
+            );
         }
 
-        ApplicationUser result = applicationUserRepository.save(applicationUser);
+        // Flush now, so that the returned version is the new one and a concurrent update is reported as a conflict
+        ApplicationUser result = applicationUserRepository.saveAndFlush(existingApplicationUser);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, applicationUser.getId().toString()))
@@ -97,19 +131,25 @@ public class ApplicationUserResource {
 
     /**
      * {@code PATCH  /application-users/:id} : Partial updates given fields of an existing applicationUser, field will ignore if it is null
+     * <p>
+     * If the body carries a version, it must be the current version of the applicationUser, and if the request has an
+     * {@code If-Match} header, it must match the current entity tag of the applicationUser.
      *
      * @param id the id of the applicationUser to save.
      * @param applicationUser the applicationUser to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated applicationUser,
      * or with status {@code 400 (Bad Request)} if the applicationUser is not valid,
      * or with status {@code 404 (Not Found)} if the applicationUser is not found,
+     * or with status {@code 409 (Conflict)} if the applicationUser was updated since the given version,
+     * or with status {@code 412 (Precondition Failed)} if the applicationUser doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the applicationUser couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/application-users/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<ApplicationUser> partialUpdateApplicationUser(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody ApplicationUser applicationUser
+        @NotNull @RequestBody ApplicationUser applicationUser,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update ApplicationUser partially : {}, {}", id, applicationUser);
         if (applicationUser.getId() == null) {
@@ -119,49 +159,66 @@ public class ApplicationUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!applicationUserRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        ApplicationUser existingApplicationUser = applicationUserRepository
+            .findOneWithInternalUserById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, entityTag(existingApplicationUser));
+        OptimisticLockingUtil.checkVersion(ApplicationUser.class, id, applicationUser.getVersion(), existingApplicationUser.getVersion());
+
+        if (applicationUser.getIdentification() != null) {
+            existingApplicationUser.setIdentification(applicationUser.getIdentification());
+        }
+        if (applicationUser.getBirthday() != null) {
+            existingApplicationUser.setBirthday(applicationUser.getBirthday());
+        }
+        if (applicationUser.getAddress() != null) {
+            existingApplicationUser.setAddress(applicationUser.getAddress());
+        }
+        if (applicationUser.getCellphone() != null) {
+            existingApplicationUser.setCellphone(applicationUser.getCellphone());
         }
 
-        Optional<ApplicationUser> result = applicationUserRepository
-            .findById(applicationUser.getId())
-            .map(existingApplicationUser -> {
-                if (applicationUser.getIdentification() != null) {
-                    existingApplicationUser.setIdentification(applicationUser.getIdentification());
-                }
-                if (applicationUser.getBirthday() != null) {
-                    existingApplicationUser.setBirthday(applicationUser.getBirthday());
-                }
-                if (applicationUser.getAddress() != null) {
-                    existingApplicationUser.setAddress(applicationUser.getAddress());
-                }
-                if (applicationUser.getCellphone() != null) {
-                    existingApplicationUser.setCellphone(applicationUser.getCellphone());
-                }
-
-                return existingApplicationUser;
-            })
-            .map(applicationUserRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, applicationUser.getId().toString())
-        );
+        ApplicationUser result = applicationUserRepository.saveAndFlush(existingApplicationUser);
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, applicationUser.getId().toString()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /application-users} : get all the applicationUsers.
+     * {@code GET  /application-users} : get a page of the applicationUsers, using keyset pagination on the id.
      *
+     * @param after the id of the last applicationUser of the previous page, or {@code null} for the first page.
+     * @param size the maximum number of applicationUsers to return.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of applicationUsers in body.
      */
     @GetMapping("/application-users")
-    public List<ApplicationUser> getAllApplicationUsers() {
-        log.debug("REST request to get all ApplicationUsers");
-        return applicationUserRepository.findAll();
+    public ResponseEntity<List<ApplicationUser>> getAllApplicationUsers(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAM, defaultValue = "" + KeysetPaginationUtil.DEFAULT_PAGE_SIZE) int size
+    ) {
+        log.debug("REST request to get a page of ApplicationUsers after : {}", after);
+        Slice<ApplicationUser> slice = applicationUserRepository.findAllByIdGreaterThan(
+            KeysetPaginationUtil.cursorOrStart(after),
+            KeysetPaginationUtil.seekPageable(size)
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            ApplicationUser::getId
+        );
+        return ResponseEntity
+            .ok()
+            .headers(headers)
+            .eTag(ETagUtil.collectionTag(slice.getContent(), ApplicationUserResource::entityTag))
+            .body(slice.getContent());
     }
 
     /**
      * {@code GET  /application-users/:id} : get the "id" applicationUser.
+     * <p>
+     * The response carries the entity tag of the applicationUser, and is {@code 304 (Not Modified)} if it matches
+     * {@code If-None-Match}.
      *
      * @param id the id of the applicationUser to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the applicationUser, or with status {@code 404 (Not Found)}.
@@ -169,8 +226,10 @@ public class ApplicationUserResource {
     @GetMapping("/application-users/{id}")
     public ResponseEntity<ApplicationUser> getApplicationUser(@PathVariable Long id) {
         log.debug("REST request to get ApplicationUser : {}", id);
-        Optional<ApplicationUser> applicationUser = applicationUserRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(applicationUser);
+        Optional<ApplicationUser> applicationUser = applicationUserRepository.findOneWithInternalUserById(id);
+        HttpHeaders headers = new HttpHeaders();
+        applicationUser.map(ApplicationUserResource::entityTag).ifPresent(headers::setETag);
+        return ResponseUtil.wrapOrNotFound(applicationUser, headers);
     }
 
     /**
@@ -188,4 +247,15 @@ public class ApplicationUserResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * The entity tag of an applicationUser: it is serialized with its internalUser, whose last modification is part of it.
+     */
+    private static String entityTag(ApplicationUser applicationUser) {
+        return ETagUtil.entityTag(
+            applicationUser.getId(),
+            applicationUser.getVersion(),
+            applicationUser.getInternalUser().getLastModifiedDate()
+        );
+    }
 }
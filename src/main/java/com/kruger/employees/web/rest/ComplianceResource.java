@@ -0,0 +1,85 @@
+package com.kruger.employees.web.rest;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.service.compliance.ComplianceStatus;
+import com.kruger.employees.service.compliance.VaccinationComplianceService;
+import com.kruger.employees.service.dto.ComplianceSummaryDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for the vaccination compliance of the employees, answered from memory.
+ */
+@RestController
+@RequestMapping("/api/compliance")
+public class ComplianceResource {
+
+    private final Logger log = LoggerFactory.getLogger(ComplianceResource.class);
+
+    private final VaccinationComplianceService vaccinationComplianceService;
+
+    public ComplianceResource(VaccinationComplianceService vaccinationComplianceService) {
+        this.vaccinationComplianceService = vaccinationComplianceService;
+    }
+
+    /**
+     * {@code GET  /compliance/employees} : get the ids of the employees matching the compliance filters.
+     * <p>
+     * For example {@code ?status=PARTIALLY_VACCINATED} or {@code ?vaccineType=PFIZER&vaccineTypeStatus=FULLY_VACCINATED}.
+     *
+     * @param status the overall status of the employees: fully vaccinated with at least one vaccine type, partially
+     * vaccinated with some and fully with none, or unvaccinated.
+     * @param vaccineTypes the vaccine types for which the employees must have {@code vaccineTypeStatus}.
+     * @param vaccineTypeStatus the status the employees must have for each of {@code vaccineTypes}.
+     * @param pageable the pagination information, the ids are sorted in ascending order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the employee ids in body,
+     * or with status {@code 503 (Service Unavailable)} while the employees are being loaded or if they can't all be indexed.
+     */
+    @GetMapping("/employees")
+    public ResponseEntity<List<Long>> getEmployeeIds(
+        @RequestParam(value = "status", required = false) ComplianceStatus status,
+        @RequestParam(value = "vaccineType", required = false) List<VaccineType> vaccineTypes,
+        @RequestParam(value = "vaccineTypeStatus", defaultValue = "FULLY_VACCINATED") ComplianceStatus vaccineTypeStatus,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get the employees with status {} and status {} for {}", status, vaccineTypeStatus, vaccineTypes);
+        checkReady();
+        Page<Long> page = vaccinationComplianceService.findEmployeeIds(
+            status,
+            vaccineTypes == null ? List.of() : vaccineTypes,
+            vaccineTypeStatus,
+            pageable
+        );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /compliance/summary} : get the number of employees per compliance status, overall and per vaccine type.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the summary in body,
+     * or with status {@code 503 (Service Unavailable)} while the employees are being loaded or if they can't all be indexed.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ComplianceSummaryDTO> getSummary() {
+        log.debug("REST request to get the vaccination compliance summary");
+        checkReady();
+        return ResponseEntity.ok().body(vaccinationComplianceService.getSummary());
+    }
+
+    private void checkReady() {
+        if (!vaccinationComplianceService.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The vaccination compliance index isn't available");
+        }
+    }
+}
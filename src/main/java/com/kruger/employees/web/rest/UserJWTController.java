@@ -3,7 +3,11 @@ package com.kruger.employees.web.rest;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.kruger.employees.security.jwt.JWTFilter;
 import com.kruger.employees.security.jwt.TokenProvider;
+import com.kruger.employees.security.jwt.TokenRevocationStore;
+import com.kruger.employees.security.jwt.TokenValidation;
+import com.kruger.employees.service.RefreshTokenService;
 import com.kruger.employees.web.rest.vm.LoginVM;
+import com.kruger.employees.web.rest.vm.RefreshTokenVM;
 import javax.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -25,9 +29,20 @@ public class UserJWTController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final TokenRevocationStore tokenRevocationStore;
+
+    private final RefreshTokenService refreshTokenService;
+
+    public UserJWTController(
+        TokenProvider tokenProvider,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        TokenRevocationStore tokenRevocationStore,
+        RefreshTokenService refreshTokenService
+    ) {
         this.tokenProvider = tokenProvider;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/authenticate")
@@ -39,10 +54,47 @@ public class UserJWTController {
 
         Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.createToken(authentication, loginVM.isRememberMe());
+        return tokenResponse(refreshTokenService.issue(authentication, loginVM.isRememberMe()));
+    }
+
+    /**
+     * {@code POST  /authenticate/refresh} : exchange a refresh token for a new access token and a new refresh token,
+     * without the password of the user.
+     *
+     * @param refreshTokenVM the refresh token, used once.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the tokens in body, or with status
+     * {@code 401 (Unauthorized)} if the refresh token isn't valid.
+     */
+    @PostMapping("/authenticate/refresh")
+    public ResponseEntity<JWTToken> refresh(@Valid @RequestBody RefreshTokenVM refreshTokenVM) {
+        return tokenResponse(refreshTokenService.refresh(refreshTokenVM.getRefreshToken()));
+    }
+
+    /**
+     * {@code POST  /logout} : revoke the JWT token of the request, and the refresh tokens of its session.
+     *
+     * @param refreshTokenVM the refresh token of the session, if any.
+     * @return the {@link ResponseEntity} with status {@code 204 (No Content)}.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody(required = false) RefreshTokenVM refreshTokenVM) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof String) {
+            TokenValidation validation = tokenProvider.validate((String) authentication.getCredentials());
+            if (validation.isValid() && validation.getTokenId() != null) {
+                tokenRevocationStore.revokeToken(validation.getTokenId(), validation.getExpiresAt());
+            }
+        }
+        if (refreshTokenVM != null) {
+            refreshTokenService.revoke(refreshTokenVM.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<JWTToken> tokenResponse(RefreshTokenService.AuthenticationTokens tokens) {
         HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + tokens.getAccessToken());
+        return new ResponseEntity<>(new JWTToken(tokens.getAccessToken(), tokens.getRefreshToken()), httpHeaders, HttpStatus.OK);
     }
 
     /**
@@ -52,8 +104,11 @@ public class UserJWTController {
 
         private String idToken;
 
-        JWTToken(String idToken) {
+        private String refreshToken;
+
+        JWTToken(String idToken, String refreshToken) {
             this.idToken = idToken;
+            this.refreshToken = refreshToken;
         }
 
         @JsonProperty("id_token")
@@ -64,5 +119,14 @@ public class UserJWTController {
         void setIdToken(String idToken) {
             this.idToken = idToken;
         }
+
+        @JsonProperty("refresh_token")
+        String getRefreshToken() {
+            return refreshToken;
+        }
+
+        void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
 }
@@ -0,0 +1,61 @@
+package com.kruger.employees.web.rest;
+
+import com.kruger.employees.service.VaccineExportService;
+import com.kruger.employees.service.criteria.VaccineCriteria;
+import com.kruger.employees.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for exporting {@link com.kruger.employees.domain.Vaccine} entities.
+ */
+@RestController
+@RequestMapping("/api")
+public class VaccineExportResource {
+
+    private final Logger log = LoggerFactory.getLogger(VaccineExportResource.class);
+
+    private static final String ENTITY_NAME = "vaccine";
+
+    private final VaccineExportService vaccineExportService;
+
+    public VaccineExportResource(VaccineExportService vaccineExportService) {
+        this.vaccineExportService = vaccineExportService;
+    }
+
+    /**
+     * {@code GET  /vaccines/export} : stream the vaccines as NDJSON or CSV.
+     * <p>
+     * The vaccines are written to the response while they are read from the database, so the export of the whole
+     * registry uses constant memory.
+     *
+     * @param criteria the criteria which the exported vaccines should match.
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @param response the response to write the export to.
+     * @throws IOException if the export couldn't be written.
+     */
+    @GetMapping("/vaccines/export")
+    public void exportVaccines(
+        VaccineCriteria criteria,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export Vaccines by criteria: {} as {}", criteria, format);
+        VaccineExportService.Format exportFormat = VaccineExportService.Format
+            .fromExtension(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid"));
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("vaccines." + exportFormat.getExtension()).build().toString()
+        );
+        vaccineExportService.export(criteria, exportFormat, response.getOutputStream());
+    }
+}
@@ -0,0 +1,73 @@
+package com.kruger.employees.web.rest;
+
+import com.kruger.employees.service.VaccineImportService;
+import com.kruger.employees.service.dto.VaccineImportJobDTO;
+import com.kruger.employees.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for importing {@link com.kruger.employees.domain.Vaccine} entities from CSV files.
+ */
+@RestController
+@RequestMapping("/api")
+public class VaccineImportResource {
+
+    private final Logger log = LoggerFactory.getLogger(VaccineImportResource.class);
+
+    private static final String ENTITY_NAME = "vaccine";
+
+    private final VaccineImportService vaccineImportService;
+
+    public VaccineImportResource(VaccineImportService vaccineImportService) {
+        this.vaccineImportService = vaccineImportService;
+    }
+
+    /**
+     * {@code POST  /vaccines/import} : start the import of a CSV file of {@code identification;vaccineType;date;doses} lines.
+     *
+     * @param file the CSV file to import.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the import job,
+     * or with status {@code 400 (Bad Request)} if the file is empty.
+     * @throws IOException if the file couldn't be read.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping(value = "/vaccines/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<VaccineImportJobDTO> importVaccines(@RequestParam("file") MultipartFile file)
+        throws IOException, URISyntaxException {
+        log.debug("REST request to import Vaccines from : {}", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("The imported file is empty", ENTITY_NAME, "fileempty");
+        }
+        VaccineImportJobDTO job;
+        try (InputStream content = file.getInputStream()) {
+            job = vaccineImportService.createJob(file.getOriginalFilename(), content);
+        }
+        vaccineImportService.runJob(job.getId());
+        return ResponseEntity.accepted().location(new URI("/api/vaccines/import/" + job.getId())).body(job);
+    }
+
+    /**
+     * {@code GET  /vaccines/import/:id} : get the progress and the rejected lines of the "id" import job.
+     * <p>
+     * Jobs are only known to the node that started them, the request must reach that node.
+     *
+     * @param id the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/vaccines/import/{id}")
+    public ResponseEntity<VaccineImportJobDTO> getImportJob(@PathVariable UUID id) {
+        log.debug("REST request to get Vaccine import job : {}", id);
+        return ResponseUtil.wrapOrNotFound(vaccineImportService.getJob(id));
+    }
+}
@@ -1,11 +1,29 @@
 package com.kruger.employees.web.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.repository.ApplicationUserRepository;
 import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.service.VaccineBatchService;
+import com.kruger.employees.service.VaccineQueryService;
+import com.kruger.employees.service.criteria.VaccineCriteria;
+import com.kruger.employees.service.dto.VaccineBatchOperationDTO;
+import com.kruger.employees.service.dto.VaccineBatchResultDTO;
 import com.kruger.employees.web.rest.errors.BadRequestAlertException;
+import com.kruger.employees.web.rest.util.ETagUtil;
+import com.kruger.employees.web.rest.util.KeysetPaginationUtil;
+import com.kruger.employees.web.rest.util.OptimisticLockingUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -13,9 +31,13 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -36,8 +58,26 @@ public class VaccineResource {
 
     private final VaccineRepository vaccineRepository;
 
-    public VaccineResource(VaccineRepository vaccineRepository) {
+    private final VaccineQueryService vaccineQueryService;
+
+    private final VaccineBatchService vaccineBatchService;
+
+    private final ApplicationUserRepository applicationUserRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public VaccineResource(
+        VaccineRepository vaccineRepository,
+        VaccineQueryService vaccineQueryService,
+        VaccineBatchService vaccineBatchService,
+        ApplicationUserRepository applicationUserRepository,
+        ObjectMapper objectMapper
+    ) {
         this.vaccineRepository = vaccineRepository;
+        this.applicationUserRepository = applicationUserRepository;
+        this.vaccineQueryService = vaccineQueryService;
+        this.vaccineBatchService = vaccineBatchService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -62,18 +102,25 @@ public class VaccineResource {
 
     /**
      * {@code PUT  /vaccines/:id} : Updates an existing vaccine.
+     * <p>
+     * The vaccine is read once, with its applicationUser, and updated in place. If the body carries a version, it
+     * must be the current version of the vaccine, and if the request has an {@code If-Match} header, it must match
+     * the current entity tag of the vaccine.
      *
      * @param id the id of the vaccine to save.
      * @param vaccine the vaccine to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated vaccine,
      * or with status {@code 400 (Bad Request)} if the vaccine is not valid,
+     * or with status {@code 409 (Conflict)} if the vaccine was updated since the given version,
+     * or with status {@code 412 (Precondition Failed)} if the vaccine doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the vaccine couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/vaccines/{id}")
     public ResponseEntity<Vaccine> updateVaccine(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Vaccine vaccine
+        @Valid @RequestBody Vaccine vaccine,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Vaccine : {}, {}", id, vaccine);
         if (vaccine.getId() == null) {
@@ -83,11 +130,27 @@ public class VaccineResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!vaccineRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Vaccine existingVaccine = vaccineRepository
+            .findOneWithApplicationUserById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, entityTag(existingVaccine));
+        OptimisticLockingUtil.checkVersion(Vaccine.class, id, vaccine.getVersion(), existingVaccine.getVersion());
+
+        existingVaccine.setVaccineType(vaccine.getVaccineType());
+        existingVaccine.setVaccinationDate(vaccine.getVaccinationDate());
+        existingVaccine.setDoses(vaccine.getDoses());
+        Long applicationUserId = vaccine.getApplicationUser().getId();
+        if (!Objects.equals(applicationUserId, existingVaccine.getApplicationUser().getId())) {
+            existingVaccine.setApplicationUser(
+                Optional
+                    .ofNullable(applicationUserId)
+                    .flatMap(applicationUserRepository::findById)
+                    .orElseThrow(() -> new BadRequestAlertException("Application user not found", ENTITY_NAME, "applicationusernotfound"))
+            );
         }
 
-        Vaccine result = vaccineRepository.save(vaccine);
+        // Flush now, so that the returned version is the new one and a concurrent update is reported as a conflict
+        Vaccine result = vaccineRepository.saveAndFlush(existingVaccine);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, vaccine.getId().toString()))
@@ -96,19 +159,25 @@ public class VaccineResource {
 
     /**
      * {@code PATCH  /vaccines/:id} : Partial updates given fields of an existing vaccine, field will ignore if it is null
+     * <p>
+     * If the body carries a version, it must be the current version of the vaccine, and if the request has an
+     * {@code If-Match} header, it must match the current entity tag of the vaccine.
      *
      * @param id the id of the vaccine to save.
      * @param vaccine the vaccine to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated vaccine,
      * or with status {@code 400 (Bad Request)} if the vaccine is not valid,
      * or with status {@code 404 (Not Found)} if the vaccine is not found,
+     * or with status {@code 409 (Conflict)} if the vaccine was updated since the given version,
+     * or with status {@code 412 (Precondition Failed)} if the vaccine doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the vaccine couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/vaccines/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Vaccine> partialUpdateVaccine(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Vaccine vaccine
+        @NotNull @RequestBody Vaccine vaccine,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Vaccine partially : {}, {}", id, vaccine);
         if (vaccine.getId() == null) {
@@ -118,46 +187,128 @@ public class VaccineResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!vaccineRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Vaccine existingVaccine = vaccineRepository
+            .findOneWithApplicationUserById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, entityTag(existingVaccine));
+        OptimisticLockingUtil.checkVersion(Vaccine.class, id, vaccine.getVersion(), existingVaccine.getVersion());
+
+        if (vaccine.getVaccineType() != null) {
+            existingVaccine.setVaccineType(vaccine.getVaccineType());
+        }
+        if (vaccine.getVaccinationDate() != null) {
+            existingVaccine.setVaccinationDate(vaccine.getVaccinationDate());
+        }
+        if (vaccine.getDoses() != null) {
+            existingVaccine.setDoses(vaccine.getDoses());
         }
 
-        Optional<Vaccine> result = vaccineRepository
-            .findById(vaccine.getId())
-            .map(existingVaccine -> {
-                if (vaccine.getVaccineType() != null) {
-                    existingVaccine.setVaccineType(vaccine.getVaccineType());
-                }
-                if (vaccine.getVaccinationDate() != null) {
-                    existingVaccine.setVaccinationDate(vaccine.getVaccinationDate());
-                }
-                if (vaccine.getDoses() != null) {
-                    existingVaccine.setDoses(vaccine.getDoses());
-                }
-
-                return existingVaccine;
-            })
-            .map(vaccineRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, vaccine.getId().toString())
-        );
+        Vaccine result = vaccineRepository.saveAndFlush(existingVaccine);
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, vaccine.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /vaccines/batch} : Create, update and delete vaccines in one request.
+     * <p>
+     * The body is a JSON array of operations, which is read while the operations are applied. Invalid operations
+     * are skipped and reported in their result, the other ones are applied in one transaction.
+     *
+     * @param body the JSON array of {@link VaccineBatchOperationDTO}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each operation,
+     * or with status {@code 400 (Bad Request)} if the body is not a valid array of operations.
+     * @throws IOException if the body couldn't be read.
+     */
+    @PostMapping(value = "/vaccines/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<VaccineBatchResultDTO>> batchVaccines(InputStream body) throws IOException {
+        log.debug("REST request to apply a batch of Vaccine operations");
+        try (
+            MappingIterator<VaccineBatchOperationDTO> operations = objectMapper.readerFor(VaccineBatchOperationDTO.class).readValues(body)
+        ) {
+            return ResponseEntity.ok().body(vaccineBatchService.apply(operations));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Invalid batch operations: " + e.getOriginalMessage(), ENTITY_NAME, "batchinvalid");
+        }
     }
 
     /**
-     * {@code GET  /vaccines} : get all the vaccines.
+     * {@code GET  /vaccines?ids=} : get the vaccines with the given ids, in one query.
      *
+     * @param ids the ids of the vaccines to retrieve, at most {@link KeysetPaginationUtil#MAX_PAGE_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the found vaccines in body, in the order of
+     * {@code ids}, or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "/vaccines", params = "ids")
+    public ResponseEntity<List<Vaccine>> getVaccinesByIds(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to get Vaccines : {}", ids);
+        if (ids.size() > KeysetPaginationUtil.MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoomany");
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (Long id : ids) {
+            if (id != null) {
+                positions.putIfAbsent(id, positions.size());
+            }
+        }
+        // An empty IN list isn't valid SQL on every database
+        List<Vaccine> vaccines = positions.isEmpty()
+            ? new ArrayList<>()
+            : vaccineRepository.findAllWithApplicationUserByIdIn(positions.keySet());
+        vaccines.sort(Comparator.comparing(vaccine -> positions.get(vaccine.getId())));
+        return ResponseEntity.ok().eTag(ETagUtil.collectionTag(vaccines, VaccineResource::entityTag)).body(vaccines);
+    }
+
+    /**
+     * {@code GET  /vaccines} : get a page of the vaccines, using keyset pagination on the id.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last vaccine of the previous page, or {@code null} for the first page.
+     * @param size the maximum number of vaccines to return.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vaccines in body.
      */
     @GetMapping("/vaccines")
-    public List<Vaccine> getAllVaccines() {
-        log.debug("REST request to get all Vaccines");
-        return vaccineRepository.findAll();
+    public ResponseEntity<List<Vaccine>> getAllVaccines(
+        VaccineCriteria criteria,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAM, defaultValue = "" + KeysetPaginationUtil.DEFAULT_PAGE_SIZE) int size
+    ) {
+        log.debug("REST request to get Vaccines by criteria: {}, after : {}", criteria, after);
+        Slice<Vaccine> slice = vaccineQueryService.findByCriteria(
+            criteria,
+            KeysetPaginationUtil.cursorOrStart(after),
+            KeysetPaginationUtil.seekPageable(size)
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            Vaccine::getId
+        );
+        return ResponseEntity
+            .ok()
+            .headers(headers)
+            .eTag(ETagUtil.collectionTag(slice.getContent(), VaccineResource::entityTag))
+            .body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /vaccines/count} : count all the vaccines.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/vaccines/count")
+    public ResponseEntity<Long> countVaccines(VaccineCriteria criteria) {
+        log.debug("REST request to count Vaccines by criteria: {}", criteria);
+        return ResponseEntity.ok().body(vaccineQueryService.countByCriteria(criteria));
     }
 
     /**
      * {@code GET  /vaccines/:id} : get the "id" vaccine.
+     * <p>
+     * The response carries the entity tag of the vaccine, and is {@code 304 (Not Modified)} if it matches
+     * {@code If-None-Match}.
      *
      * @param id the id of the vaccine to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the vaccine, or with status {@code 404 (Not Found)}.
@@ -165,8 +316,10 @@ public class VaccineResource {
     @GetMapping("/vaccines/{id}")
     public ResponseEntity<Vaccine> getVaccine(@PathVariable Long id) {
         log.debug("REST request to get Vaccine : {}", id);
-        Optional<Vaccine> vaccine = vaccineRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(vaccine);
+        Optional<Vaccine> vaccine = vaccineRepository.findOneWithApplicationUserById(id);
+        HttpHeaders headers = new HttpHeaders();
+        vaccine.map(VaccineResource::entityTag).ifPresent(headers::setETag);
+        return ResponseUtil.wrapOrNotFound(vaccine, headers);
     }
 
     /**
@@ -184,4 +337,11 @@ public class VaccineResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * The entity tag of a vaccine: the vaccine is serialized with its applicationUser, so both versions are part of it.
+     */
+    private static String entityTag(Vaccine vaccine) {
+        return ETagUtil.entityTag(vaccine.getId(), vaccine.getVersion(), vaccine.getApplicationUser().getVersion());
+    }
 }
@@ -0,0 +1,49 @@
+package com.kruger.employees.web.rest;
+
+import com.kruger.employees.security.AuthoritiesConstants;
+import com.kruger.employees.service.VaccineStatisticsService;
+import com.kruger.employees.service.dto.VaccineStatisticsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the statistics of {@link com.kruger.employees.domain.Vaccine} entities.
+ */
+@RestController
+@RequestMapping("/api")
+public class VaccineStatisticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(VaccineStatisticsResource.class);
+
+    private final VaccineStatisticsService vaccineStatisticsService;
+
+    public VaccineStatisticsResource(VaccineStatisticsService vaccineStatisticsService) {
+        this.vaccineStatisticsService = vaccineStatisticsService;
+    }
+
+    /**
+     * {@code GET  /vaccines/statistics} : get the vaccine counts by vaccine type, by month and by number of doses.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the statistics.
+     */
+    @GetMapping("/vaccines/statistics")
+    public ResponseEntity<VaccineStatisticsDTO> getVaccineStatistics() {
+        log.debug("REST request to get the Vaccine statistics");
+        return ResponseEntity.ok().body(vaccineStatisticsService.getStatistics());
+    }
+
+    /**
+     * {@code POST  /vaccines/statistics/rebuild} : recompute the vaccine statistics from all the vaccines.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the rebuilt statistics.
+     */
+    @PostMapping("/vaccines/statistics/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<VaccineStatisticsDTO> rebuildVaccineStatistics() {
+        log.debug("REST request to rebuild the Vaccine statistics");
+        return ResponseEntity.ok().body(vaccineStatisticsService.rebuildStatistics());
+    }
+}
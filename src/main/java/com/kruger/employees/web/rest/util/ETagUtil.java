@@ -0,0 +1,80 @@
+package com.kruger.employees.web.rest.util;
+
+import java.util.Collection;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Utility class for building strong entity tags and checking {@code If-Match} preconditions.
+ * <p>
+ * An entity tag is built from the versions, or last modification dates, of everything the representation contains,
+ * so it changes whenever the representation does. Returned with {@link org.springframework.http.ResponseEntity.BodyBuilder#eTag},
+ * it lets Spring answer a matching {@code If-None-Match} with {@code 304 (Not Modified)} before the body is serialized.
+ * <p>
+ * A collection gets one tag, derived from the tags of its entities and their number, so that a repeated read of an
+ * unchanged page costs the query but neither the serialization nor the bandwidth.
+ */
+public final class ETagUtil {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtil() {}
+
+    /**
+     * Build a strong entity tag from the parts identifying the state of a representation.
+     *
+     * @param parts the versions or dates of the entities in the representation, {@code null} parts are allowed.
+     * @return the quoted entity tag.
+     */
+    public static String entityTag(Object... parts) {
+        StringBuilder tag = new StringBuilder().append('"');
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(parts[i]);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Build a strong entity tag for a collection of entities, in order.
+     *
+     * @param entities the entities of the representation.
+     * @param entityTag the function building the tag of one entity, which must include its id.
+     * @param <T> the type of the entities.
+     * @return the quoted entity tag.
+     */
+    public static <T> String collectionTag(Collection<T> entities, Function<T, String> entityTag) {
+        long hash = 1125899906842597L;
+        for (T entity : entities) {
+            hash = 31 * hash + entityTag.apply(entity).hashCode();
+            // Spread the bits so that the 64 bits of the hash are used, not only the low ones
+            hash ^= hash >>> 29;
+        }
+        return entityTag(entities.size(), Long.toHexString(hash));
+    }
+
+    /**
+     * Check the {@code If-Match} precondition of a request modifying a resource.
+     *
+     * @param ifMatch the value of the {@code If-Match} header, or {@code null} if the request has none.
+     * @param currentTag the current entity tag of the resource.
+     * @throws ResponseStatusException with status {@code 412 (Precondition Failed)} if no listed tag strongly matches.
+     */
+    public static void checkIfMatch(String ifMatch, String currentTag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (ANY.equals(trimmed) || (!trimmed.startsWith(WEAK_PREFIX) && trimmed.equals(currentTag))) {
+                return;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The resource doesn't match the If-Match header");
+    }
+}
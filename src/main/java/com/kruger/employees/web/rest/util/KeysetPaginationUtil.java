@@ -0,0 +1,87 @@
+package com.kruger.employees.web.rest.util;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * Instead of an {@code OFFSET}, the client sends back the id of the last row it received as the {@code after}
+ * cursor, so every page is read with an index range scan and no count query is ever issued.
+ * <p>
+ * The next page is advertised with a {@code Link} header using {@code rel="next"} and with the raw cursor in
+ * the {@code X-Next-Cursor} header. Both are omitted on the last page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAM = "after";
+
+    public static final String SIZE_PARAM = "size";
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Build the {@link Pageable} used to read one keyset page: always the first page, ordered by id.
+     *
+     * @param size the requested page size, clamped between 1 and {@link #MAX_PAGE_SIZE}.
+     * @return the {@link Pageable}.
+     */
+    public static Pageable seekPageable(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)), Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    /**
+     * The cursor to start from when the client did not send one.
+     *
+     * @param after the cursor sent by the client, or {@code null}.
+     * @return the cursor to seek from.
+     */
+    public static long cursorOrStart(Long after) {
+        return after == null ? Long.MIN_VALUE : after;
+    }
+
+    /**
+     * Generate pagination headers for a keyset {@link Slice}.
+     *
+     * @param uriBuilder the {@link UriComponentsBuilder} of the current request.
+     * @param slice      the {@link Slice} that was read.
+     * @param idOf       function extracting the cursor value from an element.
+     * @param <T>        the type of elements in the slice.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, Long> idOf
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            String nextCursor = String.valueOf(idOf.apply(content.get(content.size() - 1)));
+            String nextLink = uriBuilder
+                .replaceQueryParam(CURSOR_PARAM, nextCursor)
+                .replaceQueryParam(SIZE_PARAM, slice.getSize())
+                .toUriString()
+                .replace(",", "%2C")
+                .replace(";", "%3B");
+            headers.add(NEXT_CURSOR_HEADER, nextCursor);
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, nextLink, "next"));
+        }
+        return headers;
+    }
+}
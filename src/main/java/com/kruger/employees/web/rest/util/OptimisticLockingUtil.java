@@ -0,0 +1,31 @@
+package com.kruger.employees.web.rest.util;
+
+import java.util.Objects;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Utility class for checking the version sent by a client against the version of the entity it updates.
+ * <p>
+ * Hibernate only checks the version it loaded when it flushes, so a client which read the entity before another
+ * client updated it must be rejected explicitly. The exception is a {@code ConcurrencyFailureException}, which the
+ * {@code ExceptionTranslator} turns into a {@code 409 (Conflict)}.
+ */
+public final class OptimisticLockingUtil {
+
+    private OptimisticLockingUtil() {}
+
+    /**
+     * Check the version sent by the client, if any, is the current version of the entity.
+     *
+     * @param entityClass the class of the updated entity.
+     * @param id the id of the updated entity.
+     * @param expectedVersion the version sent by the client, or {@code null} to skip the check.
+     * @param currentVersion the current version of the entity.
+     * @throws ObjectOptimisticLockingFailureException if the versions differ.
+     */
+    public static void checkVersion(Class<?> entityClass, Object id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !Objects.equals(expectedVersion, currentVersion)) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+}
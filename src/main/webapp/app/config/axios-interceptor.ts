@@ -5,9 +5,35 @@ const TIMEOUT = 1 * 60 * 1000;
 axios.defaults.timeout = TIMEOUT;
 axios.defaults.baseURL = SERVER_API_URL;
 
+const AUTH_TOKEN_KEY = 'jhi-authenticationToken';
+const REFRESH_TOKEN_KEY = 'jhi-refreshToken';
+
+let refreshing: Promise<void> | null = null;
+
+// exchanges the refresh token once for all the requests rejected meanwhile
+const refreshTokens = (): Promise<void> => {
+  if (!refreshing) {
+    const storage = Storage.local.get(REFRESH_TOKEN_KEY) ? Storage.local : Storage.session;
+    refreshing = axios
+      .post('api/authenticate/refresh', { refresh_token: storage.get(REFRESH_TOKEN_KEY) })
+      .then(response => {
+        storage.set(AUTH_TOKEN_KEY, response.data.id_token);
+        storage.set(REFRESH_TOKEN_KEY, response.data.refresh_token);
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
+const isAuthenticationRequest = config => /api\/(authenticate|logout)/.test(config.url || '');
+
+const isRefreshRequest = config => /api\/authenticate\/refresh/.test(config.url || '');
+
 const setupAxiosInterceptors = onUnauthenticated => {
   const onRequestSuccess = config => {
-    const token = Storage.local.get('jhi-authenticationToken') || Storage.session.get('jhi-authenticationToken');
+    const token = Storage.local.get(AUTH_TOKEN_KEY) || Storage.session.get(AUTH_TOKEN_KEY);
     if (token) {
       config.headers.Authorization = `Bearer ${token}`;
     }
@@ -16,6 +42,27 @@ const setupAxiosInterceptors = onUnauthenticated => {
   const onResponseSuccess = response => response;
   const onResponseError = err => {
     const status = err.status || (err.response ? err.response.status : 0);
+    const config = err.config;
+    if (config && isRefreshRequest(config)) {
+      // the request refreshing the tokens handles its own failure
+      return Promise.reject(err);
+    }
+    const refreshToken = Storage.local.get(REFRESH_TOKEN_KEY) || Storage.session.get(REFRESH_TOKEN_KEY);
+    if (status === 401 && config && !config.retried && !isAuthenticationRequest(config) && refreshToken) {
+      config.retried = true;
+      return refreshTokens().then(
+        () => axios(config),
+        () => {
+          // another tab may have refreshed the tokens first
+          const currentRefreshToken = Storage.local.get(REFRESH_TOKEN_KEY) || Storage.session.get(REFRESH_TOKEN_KEY);
+          if (currentRefreshToken && currentRefreshToken !== refreshToken) {
+            return axios(config);
+          }
+          onUnauthenticated();
+          return Promise.reject(err);
+        }
+      );
+    }
     if (status === 403 || status === 401) {
       onUnauthenticated();
     }
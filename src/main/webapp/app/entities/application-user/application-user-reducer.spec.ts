@@ -8,6 +8,7 @@ import reducer, {
   createEntity,
   deleteEntity,
   getEntities,
+  getAllEntities,
   getEntity,
   updateEntity,
   partialUpdateEntity,
@@ -117,7 +118,7 @@ describe('Entities reducer tests', () => {
 
   describe('Successes', () => {
     it('should fetch all entities', () => {
-      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }] };
+      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { 'x-next-cursor': '2' } };
       expect(
         reducer(undefined, {
           type: getEntities.fulfilled.type,
@@ -126,6 +127,7 @@ describe('Entities reducer tests', () => {
       ).toEqual({
         ...initialState,
         loading: false,
+        links: { next: 2 },
         entities: payload.data,
       });
     });
@@ -201,6 +203,20 @@ describe('Entities reducer tests', () => {
       expect(store.getActions()[1]).toMatchObject(expectedActions[1]);
     });
 
+    it('dispatches FETCH_ALL_APPLICATIONUSERS actions, following every page', async () => {
+      const get = sinon
+        .stub()
+        .onFirstCall()
+        .returns(Promise.resolve({ data: [{ id: 1 }], headers: { 'x-next-cursor': '1' } }))
+        .onSecondCall()
+        .returns(Promise.resolve({ data: [{ id: 2 }], headers: {} }));
+      axios.get = get;
+      await store.dispatch(getAllEntities());
+      expect(store.getActions()[0]).toMatchObject({ type: getAllEntities.pending.type });
+      expect(store.getActions()[1]).toMatchObject({ type: getAllEntities.fulfilled.type, payload: [{ id: 1 }, { id: 2 }] });
+      expect(get.secondCall.args[0]).toContain('after=1&');
+    });
+
     it('dispatches FETCH_APPLICATIONUSER actions', async () => {
       const expectedActions = [
         {
@@ -16,13 +16,30 @@ const initialState: EntityState<IApplicationUser> = {
 
 const apiUrl = 'api/application-users';
 
+// the largest page size the server accepts
+const ALL_ENTITIES_PAGE_SIZE = 1000;
+
 // Actions
 
-export const getEntities = createAsyncThunk('applicationUser/fetch_entity_list', async ({ page, size, sort }: IQueryParams) => {
-  const requestUrl = `${apiUrl}?cacheBuster=${new Date().getTime()}`;
+export const getEntities = createAsyncThunk('applicationUser/fetch_entity_list', async ({ size, after }: IQueryParams) => {
+  const requestUrl = `${apiUrl}?${after ? `after=${after}&` : ''}${size ? `size=${size}&` : ''}cacheBuster=${new Date().getTime()}`;
   return axios.get<IApplicationUser[]>(requestUrl);
 });
 
+// every keyset page, for the selects that list all the applicationUsers
+export const getAllEntities = createAsyncThunk('applicationUser/fetch_all_entities', async () => {
+  const entities: IApplicationUser[] = [];
+  let after: string = null;
+  do {
+    const response = await axios.get<IApplicationUser[]>(
+      `${apiUrl}?${after ? `after=${after}&` : ''}size=${ALL_ENTITIES_PAGE_SIZE}&cacheBuster=${new Date().getTime()}`
+    );
+    entities.push(...response.data);
+    after = response.headers && response.headers['x-next-cursor'];
+  } while (after);
+  return entities;
+});
+
 export const getEntity = createAsyncThunk(
   'applicationUser/fetch_entity',
   async (id: string | number) => {
@@ -90,21 +107,28 @@ export const ApplicationUserSlice = createEntitySlice({
         state.entity = {};
       })
       .addMatcher(isFulfilled(getEntities), (state, action) => {
-        const { data } = action.payload;
+        const { data, headers } = action.payload;
+        const nextCursor = headers && headers['x-next-cursor'];
 
         return {
           ...state,
           loading: false,
-          entities: data,
+          links: { next: nextCursor ? parseInt(nextCursor, 10) : null },
+          entities: action.meta?.arg?.after ? [...state.entities, ...data] : data,
         };
       })
+      .addCase(getAllEntities.fulfilled, (state, action) => {
+        state.loading = false;
+        state.links = { next: null };
+        state.entities = action.payload;
+      })
       .addMatcher(isFulfilled(createEntity, updateEntity, partialUpdateEntity), (state, action) => {
         state.updating = false;
         state.loading = false;
         state.updateSuccess = true;
         state.entity = action.payload.data;
       })
-      .addMatcher(isPending(getEntities, getEntity), state => {
+      .addMatcher(isPending(getEntities, getAllEntities, getEntity), state => {
         state.errorMessage = null;
         state.updateSuccess = false;
         state.loading = true;
@@ -3,6 +3,7 @@ import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
 import { Translate, TextFormat } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
+import InfiniteScroll from 'react-infinite-scroll-component';
 
 import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
@@ -18,6 +19,7 @@ export const ApplicationUser = () => {
 
   const applicationUserList = useAppSelector(state => state.applicationUser.entities);
   const loading = useAppSelector(state => state.applicationUser.loading);
+  const links = useAppSelector(state => state.applicationUser.links);
 
   useEffect(() => {
     dispatch(getEntities({}));
@@ -27,6 +29,12 @@ export const ApplicationUser = () => {
     dispatch(getEntities({}));
   };
 
+  const handleLoadMore = () => {
+    if (links && links.next) {
+      dispatch(getEntities({ after: links.next }));
+    }
+  };
+
   return (
     <div>
       <h2 id="application-user-heading" data-cy="ApplicationUserHeading">
@@ -43,101 +51,108 @@ export const ApplicationUser = () => {
           </Link>
         </div>
       </h2>
-      <div className="table-responsive">
-        {applicationUserList && applicationUserList.length > 0 ? (
-          <Table responsive>
-            <thead>
-              <tr>
-                <th>
-                  <Translate contentKey="employeeVaccineInventoryApp.applicationUser.id">ID</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="employeeVaccineInventoryApp.applicationUser.identification">Identification</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="employeeVaccineInventoryApp.applicationUser.birthday">Birthday</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="employeeVaccineInventoryApp.applicationUser.address">Address</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="employeeVaccineInventoryApp.applicationUser.cellphone">Cellphone</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="employeeVaccineInventoryApp.applicationUser.internalUser">Internal User</Translate>
-                </th>
-                <th />
-              </tr>
-            </thead>
-            <tbody>
-              {applicationUserList.map((applicationUser, i) => (
-                <tr key={`entity-${i}`} data-cy="entityTable">
-                  <td>
-                    <Button tag={Link} to={`/application-user/${applicationUser.id}`} color="link" size="sm">
-                      {applicationUser.id}
-                    </Button>
-                  </td>
-                  <td>{applicationUser.identification}</td>
-                  <td>
-                    {applicationUser.birthday ? (
-                      <TextFormat type="date" value={applicationUser.birthday} format={APP_LOCAL_DATE_FORMAT} />
-                    ) : null}
-                  </td>
-                  <td>{applicationUser.address}</td>
-                  <td>{applicationUser.cellphone}</td>
-                  <td>{applicationUser.internalUser ? applicationUser.internalUser.id : ''}</td>
-                  <td className="text-end">
-                    <div className="btn-group flex-btn-group-container">
-                      <Button
-                        tag={Link}
-                        to={`/application-user/${applicationUser.id}`}
-                        color="info"
-                        size="sm"
-                        data-cy="entityDetailsButton"
-                      >
-                        <FontAwesomeIcon icon="eye" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.view">View</Translate>
-                        </span>
-                      </Button>
-                      <Button
-                        tag={Link}
-                        to={`/application-user/${applicationUser.id}/edit`}
-                        color="primary"
-                        size="sm"
-                        data-cy="entityEditButton"
-                      >
-                        <FontAwesomeIcon icon="pencil-alt" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.edit">Edit</Translate>
-                        </span>
-                      </Button>
-                      <Button
-                        tag={Link}
-                        to={`/application-user/${applicationUser.id}/delete`}
-                        color="danger"
-                        size="sm"
-                        data-cy="entityDeleteButton"
-                      >
-                        <FontAwesomeIcon icon="trash" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.delete">Delete</Translate>
-                        </span>
-                      </Button>
-                    </div>
-                  </td>
+      <InfiniteScroll
+        dataLength={applicationUserList ? applicationUserList.length : 0}
+        next={handleLoadMore}
+        hasMore={!!(links && links.next)}
+        loader={<div className="loader">Loading ...</div>}
+      >
+        <div className="table-responsive">
+          {applicationUserList && applicationUserList.length > 0 ? (
+            <Table responsive>
+              <thead>
+                <tr>
+                  <th>
+                    <Translate contentKey="employeeVaccineInventoryApp.applicationUser.id">ID</Translate>
+                  </th>
+                  <th>
+                    <Translate contentKey="employeeVaccineInventoryApp.applicationUser.identification">Identification</Translate>
+                  </th>
+                  <th>
+                    <Translate contentKey="employeeVaccineInventoryApp.applicationUser.birthday">Birthday</Translate>
+                  </th>
+                  <th>
+                    <Translate contentKey="employeeVaccineInventoryApp.applicationUser.address">Address</Translate>
+                  </th>
+                  <th>
+                    <Translate contentKey="employeeVaccineInventoryApp.applicationUser.cellphone">Cellphone</Translate>
+                  </th>
+                  <th>
+                    <Translate contentKey="employeeVaccineInventoryApp.applicationUser.internalUser">Internal User</Translate>
+                  </th>
+                  <th />
                 </tr>
-              ))}
-            </tbody>
-          </Table>
-        ) : (
-          !loading && (
-            <div className="alert alert-warning">
-              <Translate contentKey="employeeVaccineInventoryApp.applicationUser.home.notFound">No Application Users found</Translate>
-            </div>
-          )
-        )}
-      </div>
+              </thead>
+              <tbody>
+                {applicationUserList.map((applicationUser, i) => (
+                  <tr key={`entity-${i}`} data-cy="entityTable">
+                    <td>
+                      <Button tag={Link} to={`/application-user/${applicationUser.id}`} color="link" size="sm">
+                        {applicationUser.id}
+                      </Button>
+                    </td>
+                    <td>{applicationUser.identification}</td>
+                    <td>
+                      {applicationUser.birthday ? (
+                        <TextFormat type="date" value={applicationUser.birthday} format={APP_LOCAL_DATE_FORMAT} />
+                      ) : null}
+                    </td>
+                    <td>{applicationUser.address}</td>
+                    <td>{applicationUser.cellphone}</td>
+                    <td>{applicationUser.internalUser ? applicationUser.internalUser.id : ''}</td>
+                    <td className="text-end">
+                      <div className="btn-group flex-btn-group-container">
+                        <Button
+                          tag={Link}
+                          to={`/application-user/${applicationUser.id}`}
+                          color="info"
+                          size="sm"
+                          data-cy="entityDetailsButton"
+                        >
+                          <FontAwesomeIcon icon="eye" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.view">View</Translate>
+                          </span>
+                        </Button>
+                        <Button
+                          tag={Link}
+                          to={`/application-user/${applicationUser.id}/edit`}
+                          color="primary"
+                          size="sm"
+                          data-cy="entityEditButton"
+                        >
+                          <FontAwesomeIcon icon="pencil-alt" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.edit">Edit</Translate>
+                          </span>
+                        </Button>
+                        <Button
+                          tag={Link}
+                          to={`/application-user/${applicationUser.id}/delete`}
+                          color="danger"
+                          size="sm"
+                          data-cy="entityDeleteButton"
+                        >
+                          <FontAwesomeIcon icon="trash" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.delete">Delete</Translate>
+                          </span>
+                        </Button>
+                      </div>
+                    </td>
+                  </tr>
+                ))}
+              </tbody>
+            </Table>
+          ) : (
+            !loading && (
+              <div className="alert alert-warning">
+                <Translate contentKey="employeeVaccineInventoryApp.applicationUser.home.notFound">No Application Users found</Translate>
+              </div>
+            )
+          )}
+        </div>
+      </InfiniteScroll>
     </div>
   );
 };
@@ -109,7 +109,7 @@ describe('Entities reducer tests', () => {
 
   describe('Successes', () => {
     it('should fetch all entities', () => {
-      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }] };
+      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { 'x-next-cursor': '2' } };
       expect(
         reducer(undefined, {
           type: getEntities.fulfilled.type,
@@ -118,6 +118,7 @@ describe('Entities reducer tests', () => {
       ).toEqual({
         ...initialState,
         loading: false,
+        links: { next: 2 },
         entities: payload.data,
       });
     });
@@ -9,7 +9,7 @@ import { mapIdList } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
 import { IApplicationUser } from 'app/shared/model/application-user.model';
-import { getEntities as getApplicationUsers } from 'app/entities/application-user/application-user.reducer';
+import { getAllEntities as getApplicationUsers } from 'app/entities/application-user/application-user.reducer';
 import { IVaccine } from 'app/shared/model/vaccine.model';
 import { VaccineType } from 'app/shared/model/enumerations/vaccine-type.model';
 import { getEntity, updateEntity, createEntity, reset } from './vaccine.reducer';
@@ -40,7 +40,7 @@ export const VaccineUpdate = () => {
       dispatch(getEntity(id));
     }
 
-    dispatch(getApplicationUsers({}));
+    dispatch(getApplicationUsers());
   }, []);
 
   useEffect(() => {
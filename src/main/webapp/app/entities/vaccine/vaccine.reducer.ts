@@ -18,8 +18,10 @@ const apiUrl = 'api/vaccines';
 
 // Actions
 
-export const getEntities = createAsyncThunk('vaccine/fetch_entity_list', async ({ page, size, sort }: IQueryParams) => {
-  const requestUrl = `${apiUrl}?cacheBuster=${new Date().getTime()}`;
+export const getEntities = createAsyncThunk('vaccine/fetch_entity_list', async ({ query, size, after }: IQueryParams) => {
+  const requestUrl = `${apiUrl}?${query ? `${query}&` : ''}${after ? `after=${after}&` : ''}${
+    size ? `size=${size}&` : ''
+  }cacheBuster=${new Date().getTime()}`;
   return axios.get<IVaccine[]>(requestUrl);
 });
 
@@ -90,12 +92,14 @@ export const VaccineSlice = createEntitySlice({
         state.entity = {};
       })
       .addMatcher(isFulfilled(getEntities), (state, action) => {
-        const { data } = action.payload;
+        const { data, headers } = action.payload;
+        const nextCursor = headers && headers['x-next-cursor'];
 
         return {
           ...state,
           loading: false,
-          entities: data,
+          links: { next: nextCursor ? parseInt(nextCursor, 10) : null },
+          entities: action.meta?.arg?.after ? [...state.entities, ...data] : data,
         };
       })
       .addMatcher(isFulfilled(createEntity, updateEntity, partialUpdateEntity), (state, action) => {
@@ -10,6 +10,7 @@ export interface IApplicationUser {
   cellphone?: string | null;
   internalUser?: IUser;
   vaccines?: IVaccine[] | null;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IApplicationUser> = {};
@@ -8,6 +8,7 @@ export interface IVaccine {
   vaccinationDate?: string;
   doses?: number;
   applicationUser?: IApplicationUser;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IVaccine> = {};
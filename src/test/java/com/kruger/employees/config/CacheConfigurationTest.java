@@ -0,0 +1,137 @@
+package com.kruger.employees.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+class CacheConfigurationTest {
+
+    @TempDir
+    Path diskPath;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(10);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(60);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        cacheManager =
+            cachingProvider.getCacheManager(
+                URI.create("urn:cache-configuration-test"),
+                new DefaultConfiguration(getClass().getClassLoader(), new DefaultPersistenceConfiguration(diskPath.toFile()))
+            );
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldUseJHipsterDefaultsForUnlistedCache() {
+        ResourcePools resourcePools = createCache("unlisted");
+
+        assertThat(resourcePools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+    }
+
+    @Test
+    void shouldCreateTieredCacheSizedInBytes() {
+        ApplicationProperties.Cache.Region region = region("tiered");
+        region.setHeapSize(DataSize.ofKilobytes(512));
+        region.setOffHeapSize(DataSize.ofMegabytes(2));
+        region.setDiskSize(DataSize.ofMegabytes(4));
+        region.setTimeToIdle(Duration.ofMinutes(5));
+
+        ResourcePools resourcePools = createCache("tiered");
+
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(512 * 1024);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(2 * 1024 * 1024);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(4 * 1024 * 1024);
+
+        Cache<Object, Object> cache = cacheManager.getCache("tiered");
+        cache.put("key", "value");
+        assertThat(cache.get("key")).isEqualTo("value");
+    }
+
+    @Test
+    void shouldRejectHeapEntriesAndBytes() {
+        ApplicationProperties.Cache.Region region = region("both");
+        region.setMaxEntries(100L);
+        region.setHeapSize(DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> cacheConfiguration().jcacheConfiguration("both")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRejectTimeToLiveAndTimeToIdle() {
+        ApplicationProperties.Cache.Region region = region("both");
+        region.setTimeToLive(Duration.ofMinutes(5));
+        region.setTimeToIdle(Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> cacheConfiguration().jcacheConfiguration("both")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRequireDiskPathForDiskTier() {
+        region("disk").setDiskSize(DataSize.ofMegabytes(4));
+        applicationProperties.getCache().setDiskPath(null);
+
+        assertThatThrownBy(() -> cacheConfiguration().jcacheConfiguration("disk")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRejectRefreshAfterTimeToLive() {
+        ApplicationProperties.Cache.Region region = region("refreshed");
+        region.setTimeToLive(Duration.ofMinutes(5));
+        region.setRefreshAfter(Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> cacheConfiguration().jcacheConfiguration("refreshed")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ApplicationProperties.Cache.Region region(String cacheName) {
+        return applicationProperties.getCache().getRegions().computeIfAbsent(cacheName, name -> new ApplicationProperties.Cache.Region());
+    }
+
+    private CacheConfiguration cacheConfiguration() {
+        return new CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourcePools createCache(String cacheName) {
+        Cache<Object, Object> cache = cacheManager.createCache(cacheName, cacheConfiguration().jcacheConfiguration(cacheName));
+        return cache.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration().getResourcePools();
+    }
+}
@@ -0,0 +1,129 @@
+package com.kruger.employees.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Authority;
+import com.kruger.employees.domain.User;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.repository.UserRepository;
+import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.security.AuthoritiesConstants;
+import java.time.LocalDate;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the Hibernate second-level cache, stored in the caches of the JCache manager.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+    }
+)
+class HibernateSecondLevelCacheIT {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private javax.cache.CacheManager jCacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationUserRepository applicationUserRepository;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Test
+    void assertThatTheSecondReadIsServedFromTheCache() {
+        entityManagerFactory.getCache().evict(Authority.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(find(AuthoritiesConstants.USER)).isNotNull();
+        assertThat(find(AuthoritiesConstants.USER)).isNotNull();
+
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(Authority.class.getName());
+        assertThat(regionStatistics.getMissCount()).isEqualTo(1);
+        assertThat(regionStatistics.getPutCount()).isEqualTo(1);
+        assertThat(regionStatistics.getHitCount()).isEqualTo(1);
+        assertThat(jCacheManager.getCache(Authority.class.getName()).iterator().hasNext()).isTrue();
+    }
+
+    @Test
+    void assertThatScansLeaveTheCacheUnchanged() {
+        Vaccine saved = transactionTemplate.execute(status -> vaccineRepository.saveAndFlush(createVaccine()));
+        try {
+            entityManagerFactory.getCache().evictAll();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            Long count = transactionTemplate.execute(status -> vaccineRepository.forEachMatching(null, 10, vaccine -> {}));
+
+            assertThat(count).isPositive();
+            for (Class<?> entityClass : List.of(Vaccine.class, ApplicationUser.class)) {
+                assertThat(statistics.getDomainDataRegionStatistics(entityClass.getName()).getPutCount()).isZero();
+                assertThat(jCacheManager.getCache(entityClass.getName()).iterator().hasNext()).isFalse();
+            }
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> {
+                vaccineRepository.deleteById(saved.getId());
+                ApplicationUser applicationUser = applicationUserRepository.getReferenceById(saved.getApplicationUser().getId());
+                User user = applicationUser.getInternalUser();
+                applicationUserRepository.delete(applicationUser);
+                userRepository.delete(user);
+            });
+        }
+    }
+
+    private Vaccine createVaccine() {
+        User user = new User();
+        user.setLogin("scan-" + RandomStringUtils.randomAlphabetic(10).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(user.getLogin() + "@localhost");
+        userRepository.save(user);
+        ApplicationUser applicationUser = new ApplicationUser()
+            .identification(RandomStringUtils.randomNumeric(10))
+            .birthday(LocalDate.ofEpochDay(0L))
+            .address("AAAAAAAAAA")
+            .cellphone("AAAAAAAAAA")
+            .internalUser(user);
+        applicationUserRepository.save(applicationUser);
+        return new Vaccine()
+            .vaccineType(VaccineType.SPUTNIK)
+            .vaccinationDate(LocalDate.ofEpochDay(0L))
+            .doses(1)
+            .applicationUser(applicationUser);
+    }
+
+    private Authority find(String name) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(Authority.class, name);
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.kruger.employees.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class RefreshAheadCacheTest {
+
+    private static final Duration REFRESH_AFTER = Duration.ofMinutes(50);
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private Instant now;
+
+    private RefreshAheadCache cache;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setup() {
+        now = Instant.parse("2022-01-01T00:00:00Z");
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        cache = new RefreshAheadCache(new ConcurrentMapCache("users"), REFRESH_AFTER, refreshes::add, clock);
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void teardown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldLoadConcurrentMissesOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(
+                callers.submit(() ->
+                    cache.get(
+                        "admin",
+                        () -> {
+                            loads.incrementAndGet();
+                            loading.countDown();
+                            release.await();
+                            return "loaded";
+                        }
+                    )
+                )
+            );
+        }
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("admin", String.class)).isEqualTo("loaded");
+    }
+
+    @Test
+    void shouldServeStaleValueWhileRefreshing() {
+        assertThat(cache.get("admin", () -> "first")).isEqualTo("first");
+
+        now = now.plus(REFRESH_AFTER).minusSeconds(1);
+        assertThat(cache.get("admin", () -> "second")).isEqualTo("first");
+        assertThat(refreshes).isEmpty();
+
+        now = now.plusSeconds(1);
+        assertThat(cache.get("admin", () -> "second")).isEqualTo("first");
+        assertThat(cache.get("admin", () -> "third")).isEqualTo("first");
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.get(0).run();
+        assertThat(cache.get("admin", () -> "third")).isEqualTo("second");
+        assertThat(refreshes).hasSize(1);
+    }
+
+    @Test
+    void shouldKeepStaleValueWhenRefreshFails() {
+        cache.get("admin", () -> "first");
+        now = now.plus(REFRESH_AFTER);
+
+        cache.get(
+            "admin",
+            () -> {
+                throw new IllegalStateException("database down");
+            }
+        );
+        refreshes.get(0).run();
+
+        assertThat(cache.get("admin", String.class)).isEqualTo("first");
+    }
+
+    @Test
+    void shouldNotStoreValueLoadedDuringEviction() {
+        String value = cache.get(
+            "admin",
+            () -> {
+                cache.evict("admin");
+                return "outdated";
+            }
+        );
+
+        assertThat(value).isEqualTo("outdated");
+        assertThat(cache.get("admin")).isNull();
+    }
+
+    @Test
+    void shouldRemoveValueLoadedBeforeEvictionWhileStoring() throws Exception {
+        CountDownLatch storing = new CountDownLatch(1);
+        Cache delegate = new ConcurrentMapCache("users") {
+            @Override
+            public void put(Object key, Object value) {
+                storing.countDown();
+                try {
+                    // Give the eviction the time to land before the value is stored
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.put(key, value);
+            }
+        };
+        RefreshAheadCache evictedCache = new RefreshAheadCache(delegate, REFRESH_AFTER, refreshes::add, Clock.systemUTC());
+        Future<?> eviction = callers.submit(() -> {
+            storing.await();
+            evictedCache.evict("admin");
+            return null;
+        });
+
+        assertThat(evictedCache.get("admin", () -> "outdated")).isEqualTo("outdated");
+        eviction.get(1, TimeUnit.SECONDS);
+        assertThat(evictedCache.get("admin")).isNull();
+    }
+
+    @Test
+    void shouldCacheMissingValues() {
+        Object value = cache.get("unknown", () -> null);
+        assertThat(value).isNull();
+
+        Cache.ValueWrapper cached = cache.get("unknown");
+        assertThat(cached).isNotNull();
+        assertThat(cached.get()).isNull();
+    }
+
+    @Test
+    void shouldWrapLoaderFailure() {
+        assertThatThrownBy(() ->
+                cache.get(
+                    "admin",
+                    () -> {
+                        throw new IllegalStateException("database down");
+                    }
+                )
+            )
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("admin")).isNull();
+    }
+}
@@ -0,0 +1,143 @@
+package com.kruger.employees.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class BroadcastingCacheManagerTest {
+
+    private static final String CACHE = "usersByLogin";
+
+    private final List<CacheInvalidationBatch> published = new ArrayList<>();
+
+    private javax.cache.CacheManager localJCacheManager;
+
+    private javax.cache.CacheManager remoteJCacheManager;
+
+    private CacheInvalidationBus localBus;
+
+    private CacheInvalidationBus remoteBus;
+
+    private BroadcastingCacheManager local;
+
+    private BroadcastingCacheManager remote;
+
+    @BeforeEach
+    void setup() {
+        CachingProvider cachingProvider = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider");
+        // A cache manager per class loader, for each node
+        localJCacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), nodeClassLoader());
+        remoteJCacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), nodeClassLoader());
+        localJCacheManager.createCache(CACHE, new MutableConfiguration<>());
+        remoteJCacheManager.createCache(CACHE, new MutableConfiguration<>());
+
+        LoopbackCacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+        transport.subscribe(
+            new CacheInvalidationTransport.Subscriber() {
+                @Override
+                public void onBatch(CacheInvalidationBatch batch) {
+                    published.add(batch);
+                }
+
+                @Override
+                public void onMissedBatches() {}
+            }
+        );
+        // Flushed by the tests
+        localBus = new CacheInvalidationBus(transport, Duration.ofHours(1), 100);
+        remoteBus = new CacheInvalidationBus(transport, Duration.ofHours(1), 100);
+        local = cacheManager(localJCacheManager, localBus);
+        remote = cacheManager(remoteJCacheManager, remoteBus);
+    }
+
+    @AfterEach
+    void teardown() {
+        localBus.close();
+        remoteBus.close();
+        localJCacheManager.close();
+        remoteJCacheManager.close();
+    }
+
+    @Test
+    void shouldEvictTheEntryEvictedByAnotherNode() {
+        local.getCache(CACHE).put("admin", "local");
+        remote.getCache(CACHE).put("admin", "remote");
+        remote.getCache(CACHE).put("user", "remote");
+
+        local.getCache(CACHE).evict("admin");
+        localBus.flush();
+
+        assertThat(local.getCache(CACHE).get("admin")).isNull();
+        assertThat(remote.getCache(CACHE).get("admin")).isNull();
+        assertThat(remote.getCache(CACHE).get("user")).isNotNull();
+    }
+
+    @Test
+    void shouldClearTheCacheClearedByAnotherNode() {
+        remote.getCache(CACHE).put("admin", "remote");
+
+        local.getCache(CACHE).clear();
+        localBus.flush();
+
+        assertThat(remote.getCache(CACHE).get("admin")).isNull();
+    }
+
+    @Test
+    void shouldNotBroadcastTheEvictionsOfTheOtherNodes() {
+        localBus.onBatch(
+            new CacheInvalidationBatch("other", List.of(new CacheInvalidation(CacheInvalidation.Kind.CACHE, CACHE, "admin")))
+        );
+        localBus.flush();
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void shouldPublishTheEvictionOfATransactionOnceCommitted() {
+        remote.getCache(CACHE).put("admin", "remote");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            local.getCache(CACHE).evict("admin");
+            localBus.flush();
+            assertThat(published).isEmpty();
+            assertThat(remote.getCache(CACHE).get("admin")).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            localBus.flush();
+        } finally {
+            TransactionSynchronizationManager
+                .getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(published)
+            .flatExtracting(CacheInvalidationBatch::getInvalidations)
+            .containsExactly(new CacheInvalidation(CacheInvalidation.Kind.CACHE, CACHE, "admin"));
+        assertThat(remote.getCache(CACHE).get("admin")).isNull();
+    }
+
+    private ClassLoader nodeClassLoader() {
+        return new URLClassLoader(new URL[0], getClass().getClassLoader());
+    }
+
+    private static BroadcastingCacheManager cacheManager(javax.cache.CacheManager jCacheManager, CacheInvalidationBus bus) {
+        BroadcastingCacheManager cacheManager = new BroadcastingCacheManager(jCacheManager, bus, UnaryOperator.<Cache>identity());
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+}
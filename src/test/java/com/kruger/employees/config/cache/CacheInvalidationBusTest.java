@@ -0,0 +1,144 @@
+package com.kruger.employees.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class CacheInvalidationBusTest {
+
+    private final List<CacheInvalidationBatch> published = new ArrayList<>();
+
+    private final List<CacheInvalidation> applied = new ArrayList<>();
+
+    private LoopbackCacheInvalidationTransport transport;
+
+    private CacheInvalidationBus local;
+
+    private CacheInvalidationBus remote;
+
+    private int remoteInvalidateAll;
+
+    @BeforeEach
+    void setup() {
+        transport = new LoopbackCacheInvalidationTransport();
+        transport.subscribe(
+            new CacheInvalidationTransport.Subscriber() {
+                @Override
+                public void onBatch(CacheInvalidationBatch batch) {
+                    published.add(batch);
+                }
+
+                @Override
+                public void onMissedBatches() {}
+            }
+        );
+        // Flushed by the tests
+        local = new CacheInvalidationBus(transport, Duration.ofHours(1), 3);
+        remote = new CacheInvalidationBus(transport, Duration.ofHours(1), 3);
+        CacheInvalidationBus.Handler handler = new CacheInvalidationBus.Handler() {
+            @Override
+            public void invalidate(CacheInvalidation invalidation) {
+                applied.add(invalidation);
+            }
+
+            @Override
+            public void invalidateAll() {
+                remoteInvalidateAll++;
+            }
+        };
+        local.register(CacheInvalidation.Kind.CACHE, handler);
+        remote.register(CacheInvalidation.Kind.CACHE, handler);
+    }
+
+    @AfterEach
+    void teardown() {
+        local.close();
+        remote.close();
+    }
+
+    @Test
+    void shouldApplyEvictionsOfOtherNodesOnly() {
+        local.invalidate(CacheInvalidation.Kind.CACHE, "usersByLogin", "admin");
+        local.flush();
+
+        assertThat(published).hasSize(1);
+        assertThat(applied).containsExactly(new CacheInvalidation(CacheInvalidation.Kind.CACHE, "usersByLogin", "admin"));
+    }
+
+    @Test
+    void shouldCoalesceRepeatedAndCoveredEvictions() {
+        local.invalidate(CacheInvalidation.Kind.CACHE, "usersByLogin", "admin");
+        local.invalidate(CacheInvalidation.Kind.CACHE, "usersByLogin", "admin");
+        local.invalidate(CacheInvalidation.Kind.CACHE, "usersByEmail", "admin@localhost");
+        local.invalidate(CacheInvalidation.Kind.CACHE, "usersByEmail", null);
+        local.flush();
+
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0).getInvalidations())
+            .containsExactly(
+                new CacheInvalidation(CacheInvalidation.Kind.CACHE, "usersByLogin", "admin"),
+                new CacheInvalidation(CacheInvalidation.Kind.CACHE, "usersByEmail", null)
+            );
+    }
+
+    @Test
+    void shouldSplitBatchesAtMaxBatchSize() {
+        for (int i = 0; i < 7; i++) {
+            local.invalidate(CacheInvalidation.Kind.CACHE, "usersByLogin", "user" + i);
+        }
+        local.flush();
+
+        assertThat(published).extracting(batch -> batch.getInvalidations().size()).containsExactly(3, 3, 1);
+        assertThat(applied).hasSize(7);
+    }
+
+    @Test
+    void shouldPublishTransactionEvictionsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            local.invalidate(CacheInvalidation.Kind.CACHE, "usersByLogin", "admin");
+            local.flush();
+            assertThat(published).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            local.flush();
+            assertThat(published).hasSize(1);
+        } finally {
+            TransactionSynchronizationManager
+                .getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void shouldDropTransactionEvictionsOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            local.invalidate(CacheInvalidation.Kind.CACHE, "usersByLogin", "admin");
+        } finally {
+            TransactionSynchronizationManager
+                .getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        local.flush();
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void shouldInvalidateAllOnMissedBatches() {
+        remote.onMissedBatches();
+
+        assertThat(remoteInvalidateAll).isEqualTo(1);
+    }
+}
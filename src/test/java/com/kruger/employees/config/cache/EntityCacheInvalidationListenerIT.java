@@ -0,0 +1,166 @@
+package com.kruger.employees.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.User;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link EntityCacheInvalidationListener}.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class EntityCacheInvalidationListenerIT {
+
+    private static final String VACCINES_ROLE = ApplicationUser.class.getName() + ".vaccines";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheInvalidationTransport cacheInvalidationTransport;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private final List<CacheInvalidation> published = new ArrayList<>();
+
+    private ApplicationUser owner;
+
+    private ApplicationUser otherOwner;
+
+    private Vaccine vaccine;
+
+    @BeforeEach
+    void setup() {
+        cacheInvalidationTransport.subscribe(
+            new CacheInvalidationTransport.Subscriber() {
+                @Override
+                public void onBatch(CacheInvalidationBatch batch) {
+                    published.addAll(batch.getInvalidations());
+                }
+
+                @Override
+                public void onMissedBatches() {}
+            }
+        );
+        transactionTemplate.executeWithoutResult(status -> {
+            owner = createOwner();
+            otherOwner = createOwner();
+        });
+        cacheInvalidationBus.flush();
+        published.clear();
+    }
+
+    @AfterEach
+    void teardown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (vaccine != null && vaccine.getId() != null) {
+                Vaccine saved = em.find(Vaccine.class, vaccine.getId());
+                if (saved != null) {
+                    em.remove(saved);
+                }
+            }
+            for (ApplicationUser applicationUser : List.of(owner, otherOwner)) {
+                ApplicationUser saved = em.find(ApplicationUser.class, applicationUser.getId());
+                em.remove(saved);
+                em.remove(saved.getInternalUser());
+            }
+        });
+    }
+
+    @Test
+    void assertThatVaccineWritesPublishTheCollectionsOfTheirOwners() {
+        transactionTemplate.executeWithoutResult(status -> {
+            vaccine = createVaccine();
+            em.persist(vaccine);
+            em.flush();
+            cacheInvalidationBus.flush();
+            // Nothing is published before the commit
+            assertThat(published).isEmpty();
+        });
+        cacheInvalidationBus.flush();
+        assertThat(published).containsExactly(vaccinesOf(owner));
+
+        published.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Vaccine moved = em.find(Vaccine.class, vaccine.getId());
+            moved.setApplicationUser(em.getReference(ApplicationUser.class, otherOwner.getId()));
+        });
+        cacheInvalidationBus.flush();
+        assertThat(published).contains(vaccinesOf(owner), vaccinesOf(otherOwner));
+
+        published.clear();
+        transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Vaccine.class, vaccine.getId())));
+        cacheInvalidationBus.flush();
+        assertThat(published).contains(vaccinesOf(otherOwner)).doesNotContain(vaccinesOf(owner));
+    }
+
+    @Test
+    void assertThatReceivedInvalidationEvictsTheCollection() {
+        transactionTemplate.executeWithoutResult(status -> {
+            vaccine = createVaccine();
+            em.persist(vaccine);
+        });
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictCollectionData(VACCINES_ROLE);
+        transactionTemplate.executeWithoutResult(status ->
+            assertThat(em.find(ApplicationUser.class, owner.getId()).getVaccines()).hasSize(1)
+        );
+        assertThat(cache.containsCollection(VACCINES_ROLE, owner.getId())).isTrue();
+
+        cacheInvalidationBus.onBatch(new CacheInvalidationBatch("other", List.of(vaccinesOf(owner))));
+
+        assertThat(cache.containsCollection(VACCINES_ROLE, owner.getId())).isFalse();
+    }
+
+    private ApplicationUser createOwner() {
+        User user = new User();
+        user.setLogin("cache-" + RandomStringUtils.randomAlphabetic(10).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(user.getLogin() + "@localhost");
+        em.persist(user);
+        ApplicationUser applicationUser = new ApplicationUser()
+            .identification(RandomStringUtils.randomNumeric(10))
+            .birthday(LocalDate.ofEpochDay(0L))
+            .address("AAAAAAAAAA")
+            .cellphone("AAAAAAAAAA");
+        applicationUser.setInternalUser(user);
+        em.persist(applicationUser);
+        return applicationUser;
+    }
+
+    private Vaccine createVaccine() {
+        Vaccine created = new Vaccine().vaccineType(VaccineType.SPUTNIK).vaccinationDate(LocalDate.ofEpochDay(0L)).doses(1);
+        created.setApplicationUser(em.getReference(ApplicationUser.class, owner.getId()));
+        return created;
+    }
+
+    private static CacheInvalidation vaccinesOf(ApplicationUser applicationUser) {
+        return new CacheInvalidation(CacheInvalidation.Kind.COLLECTION, VACCINES_ROLE, String.valueOf(applicationUser.getId()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.kruger.employees.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.employees.IntegrationTest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link PostgresCacheInvalidationTransport}.
+ */
+@IntegrationTest
+class PostgresCacheInvalidationTransportIT {
+
+    private static final String CHANNEL = "cache_invalidation_test";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private PostgresCacheInvalidationTransport publisher;
+
+    private PostgresCacheInvalidationTransport listener;
+
+    private final BlockingQueue<CacheInvalidationBatch> received = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void init() {
+        publisher = new PostgresCacheInvalidationTransport(dataSource, objectMapper, CHANNEL);
+        listener = new PostgresCacheInvalidationTransport(dataSource, objectMapper, CHANNEL);
+        listener.subscribe(
+            new CacheInvalidationTransport.Subscriber() {
+                @Override
+                public void onBatch(CacheInvalidationBatch batch) {
+                    received.add(batch);
+                }
+
+                @Override
+                public void onMissedBatches() {}
+            }
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        publisher.close();
+        listener.close();
+    }
+
+    @Test
+    void shouldDeliverBatchToListeningNode() throws Exception {
+        CacheInvalidation invalidation = new CacheInvalidation(CacheInvalidation.Kind.ENTITY, "com.kruger.employees.domain.Vaccine", "42");
+
+        CacheInvalidationBatch batch = null;
+        // The listener may not be listening yet
+        for (int attempt = 0; attempt < 20 && batch == null; attempt++) {
+            publisher.publish(new CacheInvalidationBatch("other-node", List.of(invalidation)));
+            batch = received.poll(500, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(batch).isNotNull();
+        assertThat(batch.getOrigin()).isEqualTo("other-node");
+        assertThat(batch.getInvalidations()).containsExactly(invalidation);
+    }
+
+    @Test
+    void shouldSplitPayloadsOverNotifyLimit() {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            invalidations.add(new CacheInvalidation(CacheInvalidation.Kind.CACHE, "usersByEmail", "user" + i + "@localhost"));
+        }
+
+        List<String> payloads = publisher.encode(new CacheInvalidationBatch("node", invalidations));
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads)
+            .allSatisfy(payload -> assertThat(payload.length()).isLessThan(PostgresCacheInvalidationTransport.MAX_PAYLOAD_BYTES));
+        publisher.publish(new CacheInvalidationBatch("node", invalidations));
+    }
+}
@@ -0,0 +1,91 @@
+package com.kruger.employees.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EhcacheMetricsTest {
+
+    private static final String CACHE_NAME = "metered";
+
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> cache;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        cacheManager =
+            cachingProvider.getCacheManager(
+                URI.create("urn:ehcache-metrics-test"),
+                new DefaultConfiguration(getClass().getClassLoader())
+            );
+        cache =
+            cacheManager.createCache(
+                CACHE_NAME,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10))
+                        .build()
+                )
+            );
+        cacheManager.enableStatistics(CACHE_NAME, true);
+        meterRegistry = new SimpleMeterRegistry();
+        new EhcacheMetrics<>(cache, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldReportHitsMissesAndPuts() {
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("missing");
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportSizeAndFootprint() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        // 20 created, 10 evicted by the heap tier holding 10 entries
+        awaitGauge("cache.size", 10);
+        assertThat(meterRegistry.get("cache.footprint").gauge().value()).isPositive();
+
+        cache.removeAll();
+        awaitGauge("cache.size", 0);
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        for (int i = 0; i < 100 && meterRegistry.get(name).gauge().value() != expected; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(meterRegistry.get(name).gauge().value()).isEqualTo(expected);
+    }
+}
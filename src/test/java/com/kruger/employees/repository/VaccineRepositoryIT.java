@@ -0,0 +1,109 @@
+package com.kruger.employees.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.User;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.web.rest.util.KeysetPaginationUtil;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the fetch plan of the {@link VaccineRepository} read path.
+ */
+@IntegrationTest
+class VaccineRepositoryIT {
+
+    private static final int VACCINE_COUNT = 10_000;
+
+    private static final int APPLICATION_USER_COUNT = 500;
+
+    private static final int PAGE_SIZE = 1_000;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Transactional
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void readingAllVaccinesRunsOneStatementPerPage() {
+        createDataset();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        int pages = 0;
+        int read = 0;
+        long cursor = KeysetPaginationUtil.cursorOrStart(null);
+        Slice<Vaccine> slice;
+        do {
+            slice = vaccineRepository.findAllAfter(null, cursor, KeysetPaginationUtil.seekPageable(PAGE_SIZE));
+            pages++;
+            for (Vaccine vaccine : slice) {
+                // What the REST layer serializes for each row
+                assertThat(Hibernate.isInitialized(vaccine.getApplicationUser())).isTrue();
+                assertThat(vaccine.getApplicationUser().getIdentification()).isNotNull();
+                cursor = vaccine.getId();
+                read++;
+            }
+        } while (slice.hasNext());
+
+        assertThat(read).isEqualTo(VACCINE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private void createDataset() {
+        List<ApplicationUser> applicationUsers = new ArrayList<>();
+        for (int i = 0; i < APPLICATION_USER_COUNT; i++) {
+            User user = new User();
+            user.setLogin("fetch-plan-" + i);
+            user.setEmail("fetch-plan-" + i + "@localhost");
+            user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+            user.setActivated(true);
+            em.persist(user);
+            ApplicationUser applicationUser = new ApplicationUser().identification(String.format("%010d", i)).internalUser(user);
+            em.persist(applicationUser);
+            applicationUsers.add(applicationUser);
+        }
+        em.flush();
+        VaccineType[] vaccineTypes = VaccineType.values();
+        for (int i = 0; i < VACCINE_COUNT; i++) {
+            em.persist(
+                new Vaccine()
+                    .vaccineType(vaccineTypes[i % vaccineTypes.length])
+                    .vaccinationDate(LocalDate.ofEpochDay(18_000L + (i % 365)))
+                    .doses(1 + (i % 3))
+                    .applicationUser(applicationUsers.get(i % APPLICATION_USER_COUNT))
+            );
+            if (i % 500 == 0) {
+                em.flush();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+}
@@ -0,0 +1,135 @@
+package com.kruger.employees.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class CredentialsCachingAuthenticationProviderTest {
+
+    private final Map<String, String> passwordHashes = new HashMap<>();
+
+    private final AtomicInteger hashes = new AtomicInteger();
+
+    private PasswordEncoder passwordEncoder;
+
+    private CacheManager cacheManager;
+
+    private CredentialsCachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setup() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        passwordEncoder =
+            new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    return bcrypt.encode(rawPassword);
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    hashes.incrementAndGet();
+                    return bcrypt.matches(rawPassword, encodedPassword);
+                }
+            };
+        passwordHashes.put("user", passwordEncoder.encode("password"));
+        cacheManager = new ConcurrentMapCacheManager(CredentialsCachingAuthenticationProvider.CREDENTIALS_CACHE);
+        provider =
+            new CredentialsCachingAuthenticationProvider(
+                username -> {
+                    String passwordHash = passwordHashes.get(username.toLowerCase());
+                    if (passwordHash == null) {
+                        throw new UsernameNotFoundException(username);
+                    }
+                    return new User(username.toLowerCase(), passwordHash, List.of(GrantedAuthorities.of(AuthoritiesConstants.USER)));
+                },
+                passwordEncoder,
+                cacheManager
+            );
+    }
+
+    @Test
+    void shouldHashRepeatedCredentialsOnce() {
+        for (int i = 0; i < 3; i++) {
+            Authentication authentication = provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+            assertThat(authentication.isAuthenticated()).isTrue();
+        }
+
+        assertThat(hashes).hasValue(1);
+        assertThat(cacheManager.getCache(CredentialsCachingAuthenticationProvider.CREDENTIALS_CACHE).get("user")).isNotNull();
+    }
+
+    @Test
+    void shouldRejectOtherPasswordDespiteCachedCredentials() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("user", "wrong")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThat(hashes).hasValue(2);
+    }
+
+    @Test
+    void shouldHashAgainAfterPasswordChange() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+        passwordHashes.put("user", passwordEncoder.encode("changed"));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password")))
+            .isInstanceOf(BadCredentialsException.class);
+        provider.authenticate(new UsernamePasswordAuthenticationToken("user", "changed"));
+        assertThat(hashes).hasValue(3);
+    }
+
+    @Test
+    void shouldHashAgainAfterEviction() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken("User", "password"));
+        cacheManager
+            .getCache(CredentialsCachingAuthenticationProvider.CREDENTIALS_CACHE)
+            .evict(CredentialsCachingAuthenticationProvider.cacheKey("user"));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+        assertThat(hashes).hasValue(2);
+    }
+
+    @Test
+    void shouldUpgradeOutdatedPasswordHashAfterLogin() {
+        PasswordEncoder upgradingEncoder = PasswordEncoders.delegating(5);
+        Map<String, String> upgradedHashes = new HashMap<>();
+        provider =
+            new CredentialsCachingAuthenticationProvider(
+                username -> new User(username, passwordHashes.get(username), List.of(GrantedAuthorities.of(AuthoritiesConstants.USER))),
+                upgradingEncoder,
+                cacheManager
+            );
+        provider.setPasswordUpgrade(
+            (user, newPassword) -> {
+                upgradedHashes.put(user.getUsername(), newPassword);
+                return user;
+            },
+            Runnable::run
+        );
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+
+        assertThat(upgradedHashes.get("user")).startsWith("{bcrypt}$2a$05$");
+        assertThat(upgradingEncoder.matches("password", upgradedHashes.get("user"))).isTrue();
+
+        passwordHashes.put("user", upgradedHashes.remove("user"));
+        provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+        assertThat(upgradedHashes).isEmpty();
+    }
+}
@@ -0,0 +1,62 @@
+package com.kruger.employees.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.kruger.employees.domain.Authority;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class GrantedAuthoritiesTest {
+
+    @Test
+    void shouldShareAuthorityInstances() {
+        assertThat(GrantedAuthorities.of(AuthoritiesConstants.ADMIN)).isSameAs(GrantedAuthorities.of(AuthoritiesConstants.ADMIN));
+        assertThat(GrantedAuthorities.of(AuthoritiesConstants.ADMIN)).isEqualTo(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN));
+    }
+
+    @Test
+    void shouldShareCombinationsWhateverTheOrder() {
+        List<GrantedAuthority> fromClaim = GrantedAuthorities.fromClaim("ROLE_USER,ROLE_ADMIN");
+        List<GrantedAuthority> fromNames = GrantedAuthorities.fromNames(Set.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER));
+
+        assertThat(fromClaim)
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(fromClaim).isEqualTo(fromNames);
+        assertThat(GrantedAuthorities.fromClaim("ROLE_USER,ROLE_ADMIN")).isSameAs(fromClaim);
+        assertThat(GrantedAuthorities.fromNames(new HashSet<>(List.of(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN))))
+            .isSameAs(fromNames);
+        assertThat(fromClaim.get(0)).isSameAs(GrantedAuthorities.of(AuthoritiesConstants.ADMIN));
+    }
+
+    @Test
+    void shouldShareTheCombinationOfTheAuthoritiesOfAUser() {
+        Authority admin = new Authority();
+        admin.setName(AuthoritiesConstants.ADMIN);
+        Authority user = new Authority();
+        user.setName(AuthoritiesConstants.USER);
+
+        assertThat(GrantedAuthorities.fromAuthorities(Set.of(user, admin)))
+            .isSameAs(GrantedAuthorities.fromNames(Set.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER)));
+    }
+
+    @Test
+    void shouldIgnoreBlankAndDuplicateNames() {
+        assertThat(GrantedAuthorities.fromClaim("ROLE_USER, ,ROLE_USER,"))
+            .containsExactly(GrantedAuthorities.of(AuthoritiesConstants.USER));
+        assertThat(GrantedAuthorities.fromClaim("")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnImmutableCombinations() {
+        List<GrantedAuthority> authorities = GrantedAuthorities.fromClaim(AuthoritiesConstants.USER);
+
+        assertThatThrownBy(() -> authorities.add(GrantedAuthorities.of(AuthoritiesConstants.ADMIN)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
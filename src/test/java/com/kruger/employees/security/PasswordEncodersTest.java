@@ -0,0 +1,56 @@
+package com.kruger.employees.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncodersTest {
+
+    @Test
+    void shouldPickTheStrongestStrengthWithinTheBudget() {
+        int strength = PasswordEncoders.calibrateBCryptStrength(Duration.ofMillis(250), 10, 16, hashTime(60));
+
+        assertThat(strength).isEqualTo(12);
+    }
+
+    @Test
+    void shouldKeepTheStrengthBetweenTheBounds() {
+        assertThat(PasswordEncoders.calibrateBCryptStrength(Duration.ofMillis(250), 10, 16, hashTime(400))).isEqualTo(10);
+        assertThat(PasswordEncoders.calibrateBCryptStrength(Duration.ofMillis(250), 10, 16, hashTime(1))).isEqualTo(16);
+        assertThatThrownBy(() -> PasswordEncoders.calibrateBCryptStrength(Duration.ofMillis(250), 12, 10, hashTime(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldStoreTheAlgorithmWithTheHash() {
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(5);
+
+        String hash = passwordEncoder.encode("password");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches("password", hash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void shouldMatchAndUpgradeTheOutdatedHashes() {
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(5);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password");
+        String weakerHash = PasswordEncoders.delegating(4).encode("password");
+
+        assertThat(passwordEncoder.matches("password", legacyHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(passwordEncoder.matches("password", weakerHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(weakerHash)).isTrue();
+    }
+
+    private static IntToLongFunction hashTime(long millisAtMinStrength) {
+        return strength -> TimeUnit.MILLISECONDS.toNanos(millisAtMinStrength);
+    }
+}
@@ -0,0 +1,45 @@
+package com.kruger.employees.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.web.rest.errors.ErrorConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for {@link PasswordHashingUnavailableFilter}.
+ */
+@AutoConfigureMockMvc
+@IntegrationTest
+class PasswordHashingUnavailableFilterIT {
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void assertThatSaturatedHttpBasicIsUnavailable() throws Exception {
+        when(passwordEncoder.matches(any(), any()))
+            .thenThrow(new PasswordHashingUnavailableException("Too many passwords are waiting to be hashed", null));
+
+        mockMvc
+            .perform(get("/api/account").with(httpBasic("user", "user")))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_PASSWORD_HASHING_UNAVAILABLE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.kruger.employees.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+class PasswordHashingUnavailableFilterTest {
+
+    private final HandlerExceptionResolver handlerExceptionResolver = (request, response, handler, ex) -> {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return new ModelAndView();
+    };
+
+    @Test
+    void shouldResolveTheUnavailablePasswordHashing() throws Exception {
+        PasswordHashingUnavailableFilter filter = new PasswordHashingUnavailableFilter(handlerExceptionResolver);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(
+            new MockHttpServletRequest(),
+            response,
+            (request, filteredResponse) -> {
+                throw new PasswordHashingUnavailableException("Too many passwords are waiting to be hashed", null);
+            }
+        );
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void shouldNotResolveTheOtherExceptions() {
+        PasswordHashingUnavailableFilter filter = new PasswordHashingUnavailableFilter(handlerExceptionResolver);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() ->
+                filter.doFilter(
+                    new MockHttpServletRequest(),
+                    response,
+                    (request, filteredResponse) -> {
+                        throw new IllegalStateException("test");
+                    }
+                )
+            )
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+    }
+}
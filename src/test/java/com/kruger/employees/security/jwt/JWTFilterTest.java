@@ -1,8 +1,12 @@
 package com.kruger.employees.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.kruger.employees.config.ApplicationProperties;
 import com.kruger.employees.management.SecurityMetersService;
+import com.kruger.employees.repository.TokenRevocationRepository;
 import com.kruger.employees.security.AuthoritiesConstants;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -24,6 +28,10 @@ class JWTFilterTest {
 
     private TokenProvider tokenProvider;
 
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationStore tokenRevocationStore;
+
     private JWTFilter jwtFilter;
 
     @BeforeEach
@@ -38,7 +46,11 @@ class JWTFilterTest {
         ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
-        jwtFilter = new JWTFilter(tokenProvider);
+        tokenRevocationRepository = mock(TokenRevocationRepository.class);
+        tokenRevocationStore =
+            new TokenRevocationStore(tokenRevocationRepository, securityMetersService, new ApplicationProperties(), jHipsterProperties);
+        tokenRevocationStore.synchronize();
+        jwtFilter = new JWTFilter(tokenProvider, tokenRevocationStore);
         SecurityContextHolder.getContext().setAuthentication(null);
     }
 
@@ -61,6 +73,27 @@ class JWTFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication().getCredentials()).hasToString(jwt);
     }
 
+    @Test
+    void testJWTFilterRevokedToken() throws Exception {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+        String jwt = tokenProvider.createToken(authentication, false);
+        TokenValidation validation = tokenProvider.validate(jwt);
+        tokenRevocationStore.revokeToken(validation.getTokenId(), validation.getExpiresAt());
+        when(tokenRevocationRepository.existsByTokenId(validation.getTokenId())).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.setRequestURI("/api/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        jwtFilter.doFilter(request, response, filterChain);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
     @Test
     void testJWTFilterInvalidToken() throws Exception {
         String jwt = "wrong_jwt";
@@ -116,6 +116,40 @@ class TokenProviderTest {
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
     }
 
+    @Test
+    void testValidateBuildsAuthentication() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        TokenValidation validation = tokenProvider.validate(token);
+
+        assertThat(validation.isValid()).isTrue();
+        assertThat(validation.getFailure()).isNull();
+        assertThat(validation.getAuthentication().getName()).isEqualTo("anonymous");
+        assertThat(validation.getAuthentication().getCredentials()).isEqualTo(token);
+        assertThat(validation.getAuthentication().getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+    }
+
+    @Test
+    void testValidateReusesVerifiedToken() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Authentication first = tokenProvider.validate(token).getAuthentication();
+        Authentication second = tokenProvider.validate(token).getAuthentication();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPrincipal()).isSameAs(first.getPrincipal());
+    }
+
+    @Test
+    void testValidateReportsFailure() {
+        assertThat(tokenProvider.validate(createTokenWithDifferentSignature()).getFailure())
+            .isEqualTo(TokenValidation.Failure.INVALID_SIGNATURE);
+        assertThat(tokenProvider.validate(createUnsupportedToken()).getFailure()).isEqualTo(TokenValidation.Failure.UNSUPPORTED);
+        assertThat(tokenProvider.validate("").getFailure()).isEqualTo(TokenValidation.Failure.INVALID);
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
@@ -0,0 +1,107 @@
+package com.kruger.employees.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.TokenRevocation;
+import com.kruger.employees.management.SecurityMetersService;
+import com.kruger.employees.repository.TokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+class TokenRevocationStoreTest {
+
+    private static final Instant ISSUED_AT = Instant.now().minus(1, ChronoUnit.HOURS);
+
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationStore tokenRevocationStore;
+
+    @BeforeEach
+    void setup() {
+        tokenRevocationRepository = mock(TokenRevocationRepository.class);
+        tokenRevocationStore =
+            new TokenRevocationStore(
+                tokenRevocationRepository,
+                new SecurityMetersService(new SimpleMeterRegistry()),
+                new ApplicationProperties(),
+                new JHipsterProperties()
+            );
+    }
+
+    @Test
+    void shouldLookUpAllTokensUntilLoaded() {
+        tokenRevocationStore.isRevoked("token", "user", ISSUED_AT);
+
+        verify(tokenRevocationRepository).existsByTokenId("token");
+        verify(tokenRevocationRepository).existsByLoginAndRevokedAtGreaterThanEqual("user", ISSUED_AT);
+    }
+
+    @Test
+    void shouldNotLookUpTokensNotRevoked() {
+        tokenRevocationStore.synchronize();
+
+        assertThat(tokenRevocationStore.isRevoked("token", "user", ISSUED_AT)).isFalse();
+
+        verify(tokenRevocationRepository, never()).existsByTokenId(anyString());
+        verify(tokenRevocationRepository, never()).existsByLoginAndRevokedAtGreaterThanEqual(anyString(), any());
+    }
+
+    @Test
+    void shouldLoadTheRevocationsAtStartup() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        List<TokenRevocation> revocations = List.of(
+            TokenRevocation.ofToken("revoked", ISSUED_AT, expiresAt),
+            TokenRevocation.ofLogin("locked", ISSUED_AT, expiresAt)
+        );
+        when(tokenRevocationRepository.findAllByExpiresAtAfter(any())).thenReturn(revocations);
+        when(tokenRevocationRepository.existsByTokenId("revoked")).thenReturn(true);
+        when(tokenRevocationRepository.existsByLoginAndRevokedAtGreaterThanEqual(eq("locked"), any())).thenReturn(true);
+
+        tokenRevocationStore.synchronize();
+
+        verify(tokenRevocationRepository).deleteExpired(any());
+        assertThat(tokenRevocationStore.isRevoked("revoked", "user", ISSUED_AT)).isTrue();
+        assertThat(tokenRevocationStore.isRevoked("token", "locked", ISSUED_AT)).isTrue();
+        assertThat(tokenRevocationStore.isRevoked("token", "user", ISSUED_AT)).isFalse();
+    }
+
+    @Test
+    void shouldRevokeTokens() {
+        tokenRevocationStore.synchronize();
+
+        tokenRevocationStore.revokeToken("revoked", Instant.now().plus(1, ChronoUnit.HOURS));
+        tokenRevocationStore.revokeTokens("locked");
+
+        verify(tokenRevocationRepository, times(2)).save(any(TokenRevocation.class));
+        tokenRevocationStore.isRevoked("revoked", "user", ISSUED_AT);
+        verify(tokenRevocationRepository).existsByTokenId("revoked");
+        tokenRevocationStore.isRevoked(null, "locked", null);
+        verify(tokenRevocationRepository).existsByLoginAndRevokedAtGreaterThanEqual("locked", Instant.EPOCH);
+    }
+
+    @Test
+    void shouldAddTheRevocationsOfTheOtherNodes() {
+        tokenRevocationStore.synchronize();
+        when(tokenRevocationRepository.findAllByRevokedAtAfter(any()))
+            .thenReturn(List.of(TokenRevocation.ofToken("revoked", Instant.now(), Instant.now().plus(1, ChronoUnit.HOURS))));
+        when(tokenRevocationRepository.existsByTokenId("revoked")).thenReturn(true);
+
+        tokenRevocationStore.synchronize();
+
+        assertThat(tokenRevocationStore.isRevoked("revoked", "user", ISSUED_AT)).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.kruger.employees.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2022-01-01T00:00:00Z");
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(8, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void shouldKeepTokenUntilItExpires() {
+        cache.put("valid", verifiedToken(NOW.plusSeconds(1)));
+        cache.put("expired", verifiedToken(NOW));
+
+        assertThat(cache.get("valid")).isNotNull();
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("missing")).isNull();
+    }
+
+    @Test
+    void shouldStayBounded() {
+        for (int i = 0; i < 100; i++) {
+            cache.put("token" + i, verifiedToken(NOW.plusSeconds(60)));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(8);
+        assertThat(cache.get("token99")).isNotNull();
+    }
+
+    @Test
+    void shouldEvictExpiredTokensFirst() {
+        for (int i = 0; i < 4; i++) {
+            cache.put("valid" + i, verifiedToken(NOW.plusSeconds(60)));
+            cache.put("expired" + i, verifiedToken(NOW.minusSeconds(1)));
+        }
+
+        cache.put("new", verifiedToken(NOW.plusSeconds(60)));
+
+        assertThat(cache.size()).isEqualTo(5);
+        for (int i = 0; i < 4; i++) {
+            assertThat(cache.get("valid" + i)).isNotNull();
+        }
+    }
+
+    @Test
+    void shouldDigestTokens() {
+        assertThat(VerifiedTokenCache.digest("a.b.c")).isEqualTo(VerifiedTokenCache.digest("a.b.c")).hasSize(44);
+        assertThat(VerifiedTokenCache.digest("a.b.c")).isNotEqualTo(VerifiedTokenCache.digest("a.b.d"));
+    }
+
+    private static VerifiedTokenCache.VerifiedToken verifiedToken(Instant expiresAt) {
+        List<GrantedAuthority> authorities = List.of();
+        return new VerifiedTokenCache.VerifiedToken(new User("user", "", authorities), authorities, null, NOW, expiresAt.toEpochMilli());
+    }
+}
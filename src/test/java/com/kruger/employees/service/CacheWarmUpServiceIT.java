@@ -0,0 +1,77 @@
+package com.kruger.employees.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.domain.User;
+import com.kruger.employees.repository.UserRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@IntegrationTest
+class CacheWarmUpServiceIT {
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private Cache usersByLogin;
+
+    @BeforeEach
+    public void init() {
+        applicationProperties.getCache().getWarmUp().setEnabled(true);
+        usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getCache().getWarmUp().setEnabled(false);
+        applicationProperties.getCache().getWarmUp().setSnapshotFile(null);
+        usersByLogin.clear();
+    }
+
+    @Test
+    void shouldWarmUpActivatedUsers() {
+        cacheWarmUpService.warmUp();
+
+        User admin = usersByLogin.get("admin", User.class);
+        assertThat(admin).isNotNull();
+        assertThat(admin.getAuthorities()).isNotEmpty();
+    }
+
+    @Test
+    void shouldWarmUpUsersOfSnapshot() throws Exception {
+        Path snapshotFile = snapshotDirectory.resolve("cache-snapshot.json");
+        applicationProperties.getCache().getWarmUp().setSnapshotFile(snapshotFile.toString());
+        usersByLogin.put("user", new User());
+
+        cacheWarmUpService.writeSnapshot();
+        assertThat(Files.readString(snapshotFile)).contains("\"user\"").doesNotContain("\"admin\"");
+
+        usersByLogin.clear();
+        cacheWarmUpService.warmUp();
+
+        assertThat(usersByLogin.get("user", User.class).getLogin()).isEqualTo("user");
+        assertThat(usersByLogin.get("admin")).isNull();
+    }
+}
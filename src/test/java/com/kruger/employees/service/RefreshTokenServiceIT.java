@@ -0,0 +1,180 @@
+package com.kruger.employees.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.RefreshToken;
+import com.kruger.employees.domain.User;
+import com.kruger.employees.repository.RefreshTokenRepository;
+import com.kruger.employees.repository.UserRepository;
+import com.kruger.employees.security.AuthoritiesConstants;
+import com.kruger.employees.security.GrantedAuthorities;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link RefreshTokenService}.
+ */
+@IntegrationTest
+@Transactional
+class RefreshTokenServiceIT {
+
+    private static final String DEFAULT_LOGIN = "refresh-token-user";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    private Authentication authentication;
+
+    @BeforeEach
+    public void init() {
+        user = new User();
+        user.setLogin(DEFAULT_LOGIN);
+        user.setEmail("refresh-token-user@localhost");
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        userRepository.saveAndFlush(user);
+        authentication =
+            new UsernamePasswordAuthenticationToken(DEFAULT_LOGIN, null, List.of(GrantedAuthorities.of(AuthoritiesConstants.USER)));
+    }
+
+    @Test
+    void assertThatRefreshRotatesTheToken() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+
+        RefreshTokenService.AuthenticationTokens refreshed = refreshTokenService.refresh(tokens.getRefreshToken());
+
+        assertThat(refreshed.getAccessToken()).isNotBlank();
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(tokens.getRefreshToken());
+        assertThat(refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(tokens.getRefreshToken())))
+            .get()
+            .extracting(RefreshToken::getRotatedAt)
+            .isNotNull();
+        assertThat(refreshTokenService.refresh(refreshed.getRefreshToken()).getRefreshToken()).isNotBlank();
+    }
+
+    @Test
+    void assertThatTokensAreHashed() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, true);
+
+        assertThat(refreshTokenRepository.findAll())
+            .extracting(RefreshToken::getTokenHash)
+            .contains(RefreshTokenService.hash(tokens.getRefreshToken()))
+            .doesNotContain(tokens.getRefreshToken());
+    }
+
+    @Test
+    void assertThatReuseWithinGracePeriodKeepsTheFamily() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        RefreshTokenService.AuthenticationTokens refreshed = refreshTokenService.refresh(tokens.getRefreshToken());
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(tokens.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+        assertThat(refreshTokenService.refresh(refreshed.getRefreshToken()).getRefreshToken()).isNotBlank();
+    }
+
+    @Test
+    void assertThatReuseRevokesTheFamily() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        RefreshTokenService.AuthenticationTokens refreshed = refreshTokenService.refresh(tokens.getRefreshToken());
+        RefreshToken rotated = refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(tokens.getRefreshToken())).orElseThrow();
+        rotated.setRotatedAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+        refreshTokenRepository.saveAndFlush(rotated);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(tokens.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.refresh(refreshed.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void assertThatReuseOfAnOlderRotationRevokesTheFamily() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        RefreshTokenService.AuthenticationTokens refreshed = refreshTokenService.refresh(tokens.getRefreshToken());
+        RefreshTokenService.AuthenticationTokens refreshedAgain = refreshTokenService.refresh(refreshed.getRefreshToken());
+        RefreshToken rotated = refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(tokens.getRefreshToken())).orElseThrow();
+        rotated.setRotatedAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+        refreshTokenRepository.saveAndFlush(rotated);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(tokens.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.refresh(refreshedAgain.getRefreshToken()))
+            .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void assertThatRefreshKeepsTheExpiryOfTheFamily() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        Instant expiresAt = refreshTokenRepository
+            .findOneByTokenHash(RefreshTokenService.hash(tokens.getRefreshToken()))
+            .orElseThrow()
+            .getExpiresAt();
+
+        RefreshTokenService.AuthenticationTokens refreshed = refreshTokenService.refresh(tokens.getRefreshToken());
+
+        assertThat(refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(refreshed.getRefreshToken())))
+            .get()
+            .extracting(RefreshToken::getExpiresAt)
+            .isEqualTo(expiresAt);
+    }
+
+    @Test
+    void assertThatExpiredFamiliesAreRemoved() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        RefreshTokenService.AuthenticationTokens refreshed = refreshTokenService.refresh(tokens.getRefreshToken());
+        for (String refreshToken : List.of(tokens.getRefreshToken(), refreshed.getRefreshToken())) {
+            RefreshToken token = refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(refreshToken)).orElseThrow();
+            token.setExpiresAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+            refreshTokenRepository.saveAndFlush(token);
+        }
+
+        refreshTokenService.removeExpiredTokens();
+
+        assertThat(refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(tokens.getRefreshToken()))).isEmpty();
+        assertThat(refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(refreshed.getRefreshToken()))).isEmpty();
+    }
+
+    @Test
+    void assertThatExpiredTokenIsRejected() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        RefreshToken token = refreshTokenRepository.findOneByTokenHash(RefreshTokenService.hash(tokens.getRefreshToken())).orElseThrow();
+        token.setExpiresAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+        refreshTokenRepository.saveAndFlush(token);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(tokens.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void assertThatDeactivatedUserCannotRefresh() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        user.setActivated(false);
+        userRepository.saveAndFlush(user);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(tokens.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void assertThatLogoutRevokesTheFamily() {
+        RefreshTokenService.AuthenticationTokens tokens = refreshTokenService.issue(authentication, false);
+        RefreshTokenService.AuthenticationTokens other = refreshTokenService.issue(authentication, false);
+
+        refreshTokenService.revoke(tokens.getRefreshToken());
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(tokens.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+        assertThat(refreshTokenService.refresh(other.getRefreshToken()).getRefreshToken()).isNotBlank();
+    }
+}
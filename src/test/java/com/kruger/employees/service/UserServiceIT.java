@@ -5,10 +5,16 @@ import static org.mockito.Mockito.when;
 
 import com.kruger.employees.IntegrationTest;
 import com.kruger.employees.config.Constants;
+import com.kruger.employees.domain.ApplicationUser;
 import com.kruger.employees.domain.User;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.repository.ApplicationUserRepository;
 import com.kruger.employees.repository.UserRepository;
+import com.kruger.employees.repository.VaccineRepository;
 import com.kruger.employees.service.dto.AdminUserDTO;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -22,6 +28,7 @@ import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -47,6 +54,12 @@ class UserServiceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationUserRepository applicationUserRepository;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
     @Autowired
     private UserService userService;
 
@@ -182,4 +195,40 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatManagedUsersAreListedWithTheirVaccineSummary() {
+        userRepository.saveAndFlush(user);
+        ApplicationUser applicationUser = new ApplicationUser().identification("0102030405").internalUser(user);
+        applicationUserRepository.saveAndFlush(applicationUser);
+        vaccineRepository.saveAndFlush(
+            new Vaccine()
+                .vaccineType(VaccineType.PFIZER)
+                .vaccinationDate(LocalDate.of(2022, 3, 1))
+                .doses(1)
+                .applicationUser(applicationUser)
+        );
+        vaccineRepository.saveAndFlush(
+            new Vaccine()
+                .vaccineType(VaccineType.PFIZER)
+                .vaccinationDate(LocalDate.of(2022, 4, 1))
+                .doses(2)
+                .applicationUser(applicationUser)
+        );
+
+        Page<AdminUserDTO> page = userService.getAllManagedUsers(PageRequest.of(0, 100, Sort.by("login")));
+
+        assertThat(page.getContent())
+            .filteredOn(managedUser -> DEFAULT_LOGIN.equals(managedUser.getLogin()))
+            .singleElement()
+            .satisfies(managedUser -> {
+                assertThat(managedUser.getIdentification()).isEqualTo("0102030405");
+                assertThat(managedUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
+                assertThat(managedUser.getVaccineCount()).isEqualTo(2L);
+                assertThat(managedUser.getTotalDoses()).isEqualTo(3L);
+                assertThat(managedUser.getLastVaccinationDate()).isEqualTo(LocalDate.of(2022, 4, 1));
+                assertThat(managedUser.getVaccines()).isNull();
+            });
+    }
 }
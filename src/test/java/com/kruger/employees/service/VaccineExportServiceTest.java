@@ -0,0 +1,31 @@
+package com.kruger.employees.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link VaccineExportService} CSV escaping.
+ */
+class VaccineExportServiceTest {
+
+    @Test
+    void escapeCsvKeepsPlainValues() {
+        assertThat(VaccineExportService.escapeCsv("0102030405")).isEqualTo("0102030405");
+        assertThat(VaccineExportService.escapeCsv(null)).isEmpty();
+    }
+
+    @Test
+    void escapeCsvQuotesValuesWithSeparatorsOrQuotes() {
+        assertThat(VaccineExportService.escapeCsv("a;b")).isEqualTo("\"a;b\"");
+        assertThat(VaccineExportService.escapeCsv("a\"b")).isEqualTo("\"a\"\"b\"");
+        assertThat(VaccineExportService.escapeCsv("a\nb")).isEqualTo("\"a\nb\"");
+    }
+
+    @Test
+    void formatIsResolvedFromItsExtension() {
+        assertThat(VaccineExportService.Format.fromExtension("CSV")).contains(VaccineExportService.Format.CSV);
+        assertThat(VaccineExportService.Format.fromExtension("ndjson")).contains(VaccineExportService.Format.NDJSON);
+        assertThat(VaccineExportService.Format.fromExtension("xml")).isEmpty();
+    }
+}
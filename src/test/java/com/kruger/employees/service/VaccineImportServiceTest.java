@@ -0,0 +1,66 @@
+package com.kruger.employees.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link VaccineImportService} line parsing and counting.
+ */
+class VaccineImportServiceTest {
+
+    @Test
+    void parseValidLine() {
+        VaccineImportService.VaccineLine line = VaccineImportService.parseLine(3, " 0102030405;pfizer;2022-03-01; 2 ");
+
+        assertThat(line.number).isEqualTo(3);
+        assertThat(line.identification).isEqualTo("0102030405");
+        assertThat(line.vaccineType).isEqualTo(VaccineType.PFIZER);
+        assertThat(line.vaccinationDate).isEqualTo(LocalDate.of(2022, 3, 1));
+        assertThat(line.doses).isEqualTo(2);
+    }
+
+    @Test
+    void rejectInvalidLines() {
+        assertThatThrownBy(() -> VaccineImportService.parseLine(1, "0102030405;PFIZER;2022-03-01"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("4 fields");
+        assertThatThrownBy(() -> VaccineImportService.parseLine(1, ";PFIZER;2022-03-01;1")).hasMessage("Missing identification");
+        assertThatThrownBy(() -> VaccineImportService.parseLine(1, "0102030405;MODERNA;2022-03-01;1"))
+            .hasMessage("Unknown vaccine type 'MODERNA'");
+        assertThatThrownBy(() -> VaccineImportService.parseLine(1, "0102030405;PFIZER;01/03/2022;1")).hasMessageContaining("Invalid date");
+        assertThatThrownBy(() -> VaccineImportService.parseLine(1, "0102030405;PFIZER;2022-03-01;two")).hasMessage("Invalid doses 'two'");
+        assertThatThrownBy(() -> VaccineImportService.parseLine(1, "0102030405;PFIZER;2022-03-01;0")).hasMessage("Doses must be at least 1");
+    }
+
+    @Test
+    void detectHeaderLine() {
+        assertThat(VaccineImportService.isHeader("Identification;vaccineType;date;doses")).isTrue();
+        assertThat(VaccineImportService.isHeader("0102030405;PFIZER;2022-03-01;1")).isFalse();
+    }
+
+    @Test
+    void countLinesWhileCopying() throws IOException {
+        assertThat(countLines("")).isZero();
+        assertThat(countLines("a")).isEqualTo(1);
+        assertThat(countLines("a\n")).isEqualTo(1);
+        assertThat(countLines("a\nb")).isEqualTo(2);
+        assertThat(countLines("a\r\nb\r\n")).isEqualTo(2);
+        assertThat(countLines("a\rb\n\nc")).isEqualTo(4);
+    }
+
+    private static long countLines(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long lines = VaccineImportService.copyCountingLines(new ByteArrayInputStream(bytes), out);
+        assertThat(out.toByteArray()).isEqualTo(bytes);
+        return lines;
+    }
+}
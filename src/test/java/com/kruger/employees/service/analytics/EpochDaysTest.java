@@ -0,0 +1,21 @@
+package com.kruger.employees.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EpochDays}.
+ */
+class EpochDaysTest {
+
+    @Test
+    void monthIndexMatchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(LocalDate.of(2101, 3, 1)); date = date.plusDays(1)) {
+            assertThat(EpochDays.monthIndex(Math.toIntExact(date.toEpochDay())))
+                .as("month index of %s", date)
+                .isEqualTo(date.getYear() * 12 + date.getMonthValue() - 1);
+        }
+    }
+}
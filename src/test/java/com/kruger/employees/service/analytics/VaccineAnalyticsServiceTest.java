@@ -0,0 +1,63 @@
+package com.kruger.employees.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.service.VaccineQueryService;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class VaccineAnalyticsServiceTest {
+
+    private VaccineQueryService vaccineQueryService;
+
+    private VaccineAnalyticsService vaccineAnalyticsService;
+
+    @BeforeEach
+    void setup() {
+        vaccineQueryService = mock(VaccineQueryService.class);
+        vaccineAnalyticsService = new VaccineAnalyticsService(vaccineQueryService, new ApplicationProperties(), Runnable::run);
+    }
+
+    @Test
+    void shouldRetryAFailedLoad() {
+        when(vaccineQueryService.forEachByCriteria(isNull(), anyInt(), any()))
+            .thenThrow(new DataAccessResourceFailureException("test"))
+            .thenReturn(0L);
+
+        vaccineAnalyticsService.load();
+        assertThat(vaccineAnalyticsService.isReady()).isFalse();
+        assertThat((Duration) ReflectionTestUtils.getField(vaccineAnalyticsService, "retryDelay"))
+            .isEqualTo(VaccineAnalyticsService.FIRST_RETRY_DELAY);
+
+        // Not due yet
+        vaccineAnalyticsService.retryLoad();
+        assertThat(vaccineAnalyticsService.isReady()).isFalse();
+
+        ReflectionTestUtils.setField(vaccineAnalyticsService, "nextRetry", Instant.now());
+        vaccineAnalyticsService.retryLoad();
+        assertThat(vaccineAnalyticsService.isReady()).isTrue();
+    }
+
+    @Test
+    void shouldDoubleTheRetryDelayUpToTheMaximum() {
+        when(vaccineQueryService.forEachByCriteria(isNull(), anyInt(), any())).thenThrow(new DataAccessResourceFailureException("test"));
+
+        for (int i = 0; i < 10; i++) {
+            vaccineAnalyticsService.load();
+        }
+
+        assertThat(vaccineAnalyticsService.isReady()).isFalse();
+        assertThat((Duration) ReflectionTestUtils.getField(vaccineAnalyticsService, "retryDelay"))
+            .isEqualTo(VaccineAnalyticsService.MAX_RETRY_DELAY);
+    }
+}
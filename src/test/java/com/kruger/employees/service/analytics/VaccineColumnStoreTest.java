@@ -0,0 +1,103 @@
+package com.kruger.employees.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link VaccineColumnStore}.
+ */
+class VaccineColumnStoreTest {
+
+    private static final int ALL_TYPES = (1 << VaccineType.values().length) - 1;
+
+    private VaccineColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new VaccineColumnStore(ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void applyKeepsRowsByIdWhateverTheOrder() {
+        store.apply(
+            List.of(row(5, VaccineType.PFIZER, 2022, 3, 1), row(2, VaccineType.SPUTNIK, 2022, 3, 2), row(9, VaccineType.PFIZER, 2022, 4, 1))
+        );
+        store.apply(List.of(row(2, VaccineType.PFIZER, 2022, 4, 3), VaccineRow.deletion(9), VaccineRow.deletion(42)));
+
+        assertThat(store.rowCount()).isEqualTo(2);
+        Map<Long, long[]> byType = groups(filter(AnalyticsDimension.VACCINE_TYPE));
+        assertThat(byType).containsOnlyKeys((long) VaccineType.PFIZER.ordinal());
+        assertThat(byType.get((long) VaccineType.PFIZER.ordinal())).containsExactly(2, 4);
+        assertThat(groups(filter(AnalyticsDimension.MONTH))).containsOnlyKeys((long) (2022 * 12 + 2), (long) (2022 * 12 + 3));
+    }
+
+    @Test
+    void scanFiltersAndGroupsAcrossForkedTasks() {
+        List<VaccineRow> rows = new ArrayList<>();
+        int count = 200_000;
+        for (int id = 1; id <= count; id++) {
+            VaccineType vaccineType = VaccineType.values()[id % VaccineType.values().length];
+            rows.add(row(id, vaccineType, 2020 + id % 3, 1 + id % 12, 1 + id % 2));
+        }
+        store.apply(rows);
+
+        Map<Long, long[]> byDoses = groups(filter(AnalyticsDimension.DOSES));
+        assertThat(byDoses.get(1L)).containsExactly(count / 2, count / 2);
+        assertThat(byDoses.get(2L)).containsExactly(count / 2, count);
+
+        VaccineColumnStore.ScanFilter year2021Pfizer = new VaccineColumnStore.ScanFilter(
+            AnalyticsDimension.YEAR,
+            1 << VaccineType.PFIZER.ordinal(),
+            Math.toIntExact(LocalDate.of(2021, 1, 1).toEpochDay()),
+            Math.toIntExact(LocalDate.of(2021, 12, 31).toEpochDay()),
+            0,
+            Integer.MAX_VALUE,
+            false,
+            0L
+        );
+        long expected = rows
+            .stream()
+            .filter(row -> row.vaccineType == VaccineType.PFIZER.ordinal() && LocalDate.ofEpochDay(row.epochDay).getYear() == 2021)
+            .count();
+        assertThat(groups(year2021Pfizer)).containsOnlyKeys(2021L);
+        assertThat(groups(year2021Pfizer).get(2021L)[0]).isEqualTo(expected);
+    }
+
+    @Test
+    void loadSkipsRowsWrittenWhileLoading() {
+        store.beginLoad();
+        store.apply(List.of(row(1, VaccineType.PFIZER, 2022, 1, 2), VaccineRow.deletion(2)));
+        store.load(
+            List.of(row(1, VaccineType.SPUTNIK, 2022, 1, 1), row(2, VaccineType.SPUTNIK, 2022, 1, 1), row(3, VaccineType.SPUTNIK, 2022, 1, 1))
+        );
+        store.endLoad();
+
+        assertThat(store.rowCount()).isEqualTo(2);
+        Map<Long, long[]> byType = groups(filter(AnalyticsDimension.VACCINE_TYPE));
+        assertThat(byType.get((long) VaccineType.PFIZER.ordinal())).containsExactly(1, 2);
+        assertThat(byType.get((long) VaccineType.SPUTNIK.ordinal())).containsExactly(1, 1);
+    }
+
+    private Map<Long, long[]> groups(VaccineColumnStore.ScanFilter filter) {
+        Map<Long, long[]> groups = new HashMap<>();
+        store.scan(filter).forEach((key, vaccineCount, doseCount) -> groups.put(key, new long[] { vaccineCount, doseCount }));
+        return groups;
+    }
+
+    private static VaccineColumnStore.ScanFilter filter(AnalyticsDimension groupBy) {
+        return new VaccineColumnStore.ScanFilter(groupBy, ALL_TYPES, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, false, 0L);
+    }
+
+    private static VaccineRow row(long id, VaccineType vaccineType, int year, int month, int doses) {
+        return VaccineRow.of(id, vaccineType.ordinal(), LocalDate.of(year, month, 1).toEpochDay(), doses, 100L + id % 7);
+    }
+}
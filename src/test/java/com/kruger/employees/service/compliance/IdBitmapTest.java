@@ -0,0 +1,101 @@
+package com.kruger.employees.service.compliance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link IdBitmap}.
+ */
+class IdBitmapTest {
+
+    @Test
+    void addRemoveAndContainsAcrossBlocks() {
+        IdBitmap bitmap = new IdBitmap();
+
+        assertThat(bitmap.add(3)).isTrue();
+        assertThat(bitmap.add(3)).isFalse();
+        assertThat(bitmap.add(70_000)).isTrue();
+        assertThat(bitmap.add(Integer.MAX_VALUE)).isTrue();
+
+        assertThat(bitmap.contains(3)).isTrue();
+        assertThat(bitmap.contains(4)).isFalse();
+        assertThat(bitmap.contains(-3)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(3);
+        assertThat(bitmap.toArray(0, 10)).containsExactly(3, 70_000, Integer.MAX_VALUE);
+
+        assertThat(bitmap.remove(70_000)).isTrue();
+        assertThat(bitmap.remove(70_000)).isFalse();
+        assertThat(bitmap.toArray(1, 10)).containsExactly(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void denseBlocksSwitchToBitsetsAndBack() {
+        IdBitmap bitmap = new IdBitmap();
+        for (int id = 0; id < 10_000; id++) {
+            bitmap.add(id);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(10_000);
+        assertThat(bitmap.toArray(9_998, 10)).containsExactly(9_998, 9_999);
+
+        for (int id = 0; id < 10_000; id += 2) {
+            bitmap.remove(id);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(5_000);
+        for (int id = 1; id < 10_000; id += 2) {
+            bitmap.remove(id);
+        }
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    void setOperationsMatchSortedSets() {
+        Random random = new Random(42);
+        IdBitmap left = new IdBitmap();
+        IdBitmap right = new IdBitmap();
+        TreeSet<Long> leftIds = new TreeSet<>();
+        TreeSet<Long> rightIds = new TreeSet<>();
+        // A dense block, a sparse block and a block only on the left
+        for (int i = 0; i < 30_000; i++) {
+            int id = random.nextInt(65_536);
+            left.add(id);
+            leftIds.add((long) id);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(65_536);
+            right.add(id);
+            rightIds.add((long) id);
+        }
+        for (int i = 0; i < 100; i++) {
+            int sparse = 65_536 + random.nextInt(65_536);
+            left.add(sparse);
+            leftIds.add((long) sparse);
+            right.add(sparse + 1);
+            rightIds.add((long) sparse + 1);
+            int leftOnly = 3 * 65_536 + random.nextInt(65_536);
+            left.add(leftOnly);
+            leftIds.add((long) leftOnly);
+        }
+
+        TreeSet<Long> and = new TreeSet<>(leftIds);
+        and.retainAll(rightIds);
+        TreeSet<Long> andNot = new TreeSet<>(leftIds);
+        andNot.removeAll(rightIds);
+        TreeSet<Long> or = new TreeSet<>(leftIds);
+        or.addAll(rightIds);
+
+        assertThat(left.and(right).toArray(0, Integer.MAX_VALUE)).containsExactly(toArray(and));
+        assertThat(left.andNot(right).toArray(0, Integer.MAX_VALUE)).containsExactly(toArray(andNot));
+        assertThat(left.or(right).toArray(0, Integer.MAX_VALUE)).containsExactly(toArray(or));
+        assertThat(left.or(right).toArray(1_000, 5)).containsExactly(or.stream().skip(1_000).limit(5).mapToLong(Long::longValue).toArray());
+        assertThat(left.cardinality()).isEqualTo(leftIds.size());
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,135 @@
+package com.kruger.employees.service.compliance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link VaccinationComplianceIndex}.
+ */
+class VaccinationComplianceIndexTest {
+
+    private static final int PFIZER = VaccineType.PFIZER.ordinal();
+
+    private static final int JHONSONJHONSON = VaccineType.JHONSONJHONSON.ordinal();
+
+    private VaccinationComplianceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VaccinationComplianceIndex(new int[] { 2, 2, 2, 1 });
+    }
+
+    @Test
+    void statusFollowsTheDosesOfEachType() {
+        index.apply(
+            List.of(
+                ComplianceChange.employeeSaved(1),
+                ComplianceChange.employeeSaved(2),
+                ComplianceChange.employeeSaved(3),
+                ComplianceChange.vaccineSaved(10, 2, PFIZER, 1),
+                ComplianceChange.vaccineSaved(11, 3, JHONSONJHONSON, 1),
+                ComplianceChange.vaccineSaved(12, 3, PFIZER, 1)
+            )
+        );
+
+        assertThat(select(ComplianceStatus.UNVACCINATED)).containsExactly(1);
+        assertThat(select(ComplianceStatus.PARTIALLY_VACCINATED)).containsExactly(2);
+        assertThat(select(ComplianceStatus.FULLY_VACCINATED)).containsExactly(3);
+        assertThat(index.select(null, List.of(PFIZER), ComplianceStatus.PARTIALLY_VACCINATED).toArray(0, 10)).containsExactly(2, 3);
+        assertThat(index.select(null, List.of(PFIZER), ComplianceStatus.UNVACCINATED).toArray(0, 10)).containsExactly(1);
+
+        // A second Pfizer dose completes employee 2
+        index.apply(List.of(ComplianceChange.vaccineSaved(13, 2, PFIZER, 1)));
+        assertThat(select(ComplianceStatus.FULLY_VACCINATED)).containsExactly(2, 3);
+        IdBitmap fullyWithBoth = index.select(
+            ComplianceStatus.FULLY_VACCINATED,
+            List.of(PFIZER, JHONSONJHONSON),
+            ComplianceStatus.FULLY_VACCINATED
+        );
+        assertThat(fullyWithBoth.isEmpty()).isTrue();
+
+        // Moving a vaccine to another employee, then deleting it, updates both employees
+        index.apply(List.of(ComplianceChange.vaccineSaved(13, 1, PFIZER, 2)));
+        assertThat(select(ComplianceStatus.FULLY_VACCINATED)).containsExactly(1, 3);
+        assertThat(select(ComplianceStatus.PARTIALLY_VACCINATED)).containsExactly(2);
+        index.apply(List.of(ComplianceChange.vaccineDeleted(13), ComplianceChange.vaccineDeleted(10)));
+        assertThat(select(ComplianceStatus.UNVACCINATED)).containsExactly(1, 2);
+        assertThat(index.countByStatus()).containsExactly(2, 0, 1);
+        assertThat(index.countByStatus(PFIZER)).containsExactly(2, 1, 0);
+    }
+
+    @Test
+    void employeeIdsPastIntRangeMakeTheIndexIncomplete() {
+        index.apply(List.of(ComplianceChange.employeeSaved(1), ComplianceChange.vaccineSaved(10, Integer.MAX_VALUE + 1L, PFIZER, 1)));
+
+        assertThat(index.isComplete()).isFalse();
+        assertThat(select(ComplianceStatus.UNVACCINATED)).containsExactly(1);
+
+        // A new load starts complete again
+        index.beginLoad();
+        index.endLoad();
+        assertThat(index.isComplete()).isTrue();
+        index.loadEmployees(List.of(2L, -1L));
+        assertThat(index.isComplete()).isFalse();
+    }
+
+    @Test
+    void deletingAnEmployeeRemovesItFromEveryBitmap() {
+        index.apply(List.of(ComplianceChange.vaccineSaved(10, 5, JHONSONJHONSON, 1), ComplianceChange.employeeDeleted(5)));
+
+        assertThat(index.countByStatus()).containsExactly(0, 0, 0);
+        assertThat(index.countByStatus(JHONSONJHONSON)).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void deletingAnEmployeeKeepsTheVaccinesOfTheOthers() {
+        index.apply(
+            List.of(
+                ComplianceChange.vaccineSaved(10, 5, PFIZER, 1),
+                ComplianceChange.vaccineSaved(11, 5, PFIZER, 1),
+                ComplianceChange.vaccineSaved(12, 6, PFIZER, 1),
+                ComplianceChange.employeeDeleted(5)
+            )
+        );
+
+        // The vaccines of the deleted employee are gone, a late deletion of one of them changes nothing
+        index.apply(List.of(ComplianceChange.vaccineDeleted(10)));
+        assertThat(select(ComplianceStatus.PARTIALLY_VACCINATED)).containsExactly(6);
+        index.apply(List.of(ComplianceChange.vaccineSaved(13, 6, PFIZER, 1)));
+        assertThat(select(ComplianceStatus.FULLY_VACCINATED)).containsExactly(6);
+        index.apply(List.of(ComplianceChange.vaccineDeleted(12)));
+        assertThat(select(ComplianceStatus.PARTIALLY_VACCINATED)).containsExactly(6);
+    }
+
+    @Test
+    void loadDoesNotOverwriteConcurrentWrites() {
+        index.beginLoad();
+        index.apply(
+            List.of(
+                ComplianceChange.vaccineSaved(10, 1, PFIZER, 2),
+                ComplianceChange.vaccineDeleted(11),
+                ComplianceChange.employeeDeleted(2)
+            )
+        );
+        index.loadEmployees(List.of(1L, 2L, 3L));
+        index.loadVaccines(
+            List.of(
+                ComplianceChange.vaccineSaved(10, 1, PFIZER, 1),
+                ComplianceChange.vaccineSaved(11, 3, PFIZER, 2),
+                ComplianceChange.vaccineSaved(12, 3, JHONSONJHONSON, 0)
+            )
+        );
+        index.endLoad();
+
+        assertThat(select(ComplianceStatus.FULLY_VACCINATED)).containsExactly(1);
+        assertThat(select(ComplianceStatus.UNVACCINATED)).containsExactly(3);
+    }
+
+    private long[] select(ComplianceStatus status) {
+        return index.select(status, List.of(), ComplianceStatus.FULLY_VACCINATED).toArray(0, 10);
+    }
+}
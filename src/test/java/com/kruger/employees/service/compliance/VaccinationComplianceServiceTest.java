@@ -0,0 +1,54 @@
+package com.kruger.employees.service.compliance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.kruger.employees.config.ApplicationProperties;
+import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.service.VaccineQueryService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class VaccinationComplianceServiceTest {
+
+    private ApplicationUserRepository applicationUserRepository;
+
+    private VaccinationComplianceService vaccinationComplianceService;
+
+    @BeforeEach
+    void setup() {
+        VaccineQueryService vaccineQueryService = mock(VaccineQueryService.class);
+        when(vaccineQueryService.forEachByCriteria(isNull(), anyInt(), any())).thenReturn(0L);
+        applicationUserRepository = mock(ApplicationUserRepository.class);
+        vaccinationComplianceService =
+            new VaccinationComplianceService(vaccineQueryService, applicationUserRepository, new ApplicationProperties(), Runnable::run);
+    }
+
+    @Test
+    void shouldRetryAFailedLoad() {
+        when(applicationUserRepository.findAllIds()).thenThrow(new DataAccessResourceFailureException("test")).thenReturn(List.of(1L));
+
+        vaccinationComplianceService.load();
+        assertThat(vaccinationComplianceService.isReady()).isFalse();
+        assertThat((Duration) ReflectionTestUtils.getField(vaccinationComplianceService, "retryDelay"))
+            .isEqualTo(VaccinationComplianceService.FIRST_RETRY_DELAY);
+
+        // Not due yet
+        vaccinationComplianceService.retryLoad();
+        assertThat(vaccinationComplianceService.isReady()).isFalse();
+
+        ReflectionTestUtils.setField(vaccinationComplianceService, "nextRetry", Instant.now());
+        vaccinationComplianceService.retryLoad();
+        assertThat(vaccinationComplianceService.isReady()).isTrue();
+        assertThat(vaccinationComplianceService.getSummary().getByStatus()).containsEntry(ComplianceStatus.UNVACCINATED, 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.kruger.employees.service.compliance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link VaccineOwners}.
+ */
+class VaccineOwnersTest {
+
+    @Test
+    void shouldPutGetAndRemove() {
+        VaccineOwners owners = new VaccineOwners();
+
+        assertThat(owners.put(10, 1)).isEqualTo(VaccineOwners.NONE);
+        assertThat(owners.put(10, 2)).isEqualTo(1);
+        assertThat(owners.get(10)).isEqualTo(2);
+        assertThat(owners.remove(10)).isEqualTo(2);
+        assertThat(owners.remove(10)).isEqualTo(VaccineOwners.NONE);
+        assertThat(owners.get(10)).isEqualTo(VaccineOwners.NONE);
+        assertThat(owners.size()).isZero();
+    }
+
+    @Test
+    void shouldMatchAHashMapThroughResizesAndRemovals() {
+        VaccineOwners owners = new VaccineOwners();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long vaccineId = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(owners.remove(vaccineId)).isEqualTo(expected.getOrDefault(vaccineId, VaccineOwners.NONE));
+                expected.remove(vaccineId);
+            } else {
+                int employeeId = random.nextInt(1_000);
+                assertThat(owners.put(vaccineId, employeeId)).isEqualTo(expected.getOrDefault(vaccineId, VaccineOwners.NONE));
+                expected.put(vaccineId, employeeId);
+            }
+        }
+
+        assertThat(owners.size()).isEqualTo(expected.size());
+        for (long vaccineId = 0; vaccineId < 5_000; vaccineId++) {
+            assertThat(owners.get(vaccineId)).isEqualTo(expected.getOrDefault(vaccineId, VaccineOwners.NONE));
+        }
+    }
+}
@@ -7,10 +7,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.kruger.employees.IntegrationTest;
 import com.kruger.employees.config.Constants;
+import com.kruger.employees.domain.RefreshToken;
 import com.kruger.employees.domain.User;
 import com.kruger.employees.repository.AuthorityRepository;
+import com.kruger.employees.repository.RefreshTokenRepository;
 import com.kruger.employees.repository.UserRepository;
 import com.kruger.employees.security.AuthoritiesConstants;
+import com.kruger.employees.service.RefreshTokenService;
 import com.kruger.employees.service.UserService;
 import com.kruger.employees.service.dto.AdminUserDTO;
 import com.kruger.employees.service.dto.PasswordChangeDTO;
@@ -24,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -51,6 +55,12 @@ class AccountResourceIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
     @Autowired
     private MockMvc restAccountMockMvc;
 
@@ -549,6 +559,7 @@ class AccountResourceIT {
         user.setLogin("change-password");
         user.setEmail("change-password@example.com");
         userRepository.saveAndFlush(user);
+        refreshTokenService.issue(new UsernamePasswordAuthenticationToken("change-password", null, List.of()), false);
 
         restAccountMockMvc
             .perform(
@@ -560,6 +571,7 @@ class AccountResourceIT {
 
         User updatedUser = userRepository.findOneByLogin("change-password").orElse(null);
         assertThat(passwordEncoder.matches("new password", updatedUser.getPassword())).isTrue();
+        assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getLogin).doesNotContain("change-password");
     }
 
     @Test
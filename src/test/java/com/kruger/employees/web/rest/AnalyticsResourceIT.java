@@ -0,0 +1,97 @@
+package com.kruger.employees.web.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.time.LocalDate;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link AnalyticsResource} REST controller.
+ * <p>
+ * The analytics only see committed vaccines, so the tests commit their data and delete it afterwards.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class AnalyticsResourceIT {
+
+    private static final String VACCINES_ANALYTICS_URL = "/api/analytics/vaccines";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restAnalyticsMockMvc;
+
+    @Test
+    void queryCommittedVaccines() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationUser applicationUser = transactionTemplate.execute(status -> {
+            ApplicationUser created = ApplicationUserResourceIT.createEntity(em);
+            em.persist(created);
+            em.persist(vaccine(created, VaccineType.PFIZER, LocalDate.of(2022, 3, 1), 1));
+            em.persist(vaccine(created, VaccineType.PFIZER, LocalDate.of(2022, 3, 20), 2));
+            em.persist(vaccine(created, VaccineType.SPUTNIK, LocalDate.of(2022, 5, 2), 2));
+            return created;
+        });
+        try {
+            String url = VACCINES_ANALYTICS_URL + "?applicationUserId=" + applicationUser.getId();
+            restAnalyticsMockMvc
+                .perform(get(url + "&groupBy=MONTH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].bucket").value(contains("2022-03", "2022-05")))
+                .andExpect(jsonPath("$.[0].vaccineCount").value(2))
+                .andExpect(jsonPath("$.[0].doseCount").value(3));
+
+            restAnalyticsMockMvc
+                .perform(get(url + "&groupBy=VACCINE_TYPE&minDoses=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].bucket").value(contains("SPUTNIK", "PFIZER")))
+                .andExpect(jsonPath("$.[*].vaccineCount").value(contains(1, 1)));
+
+            restAnalyticsMockMvc
+                .perform(get(url + "&vaccineType=PFIZER&from=2022-03-10&to=2022-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].bucket").value("ALL"))
+                .andExpect(jsonPath("$.[0].vaccineCount").value(1));
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> {
+                ApplicationUser created = em.find(ApplicationUser.class, applicationUser.getId());
+                em
+                    .createQuery("select vaccine from Vaccine vaccine where vaccine.applicationUser = :applicationUser", Vaccine.class)
+                    .setParameter("applicationUser", created)
+                    .getResultList()
+                    .forEach(em::remove);
+                em.remove(created);
+                em.remove(created.getInternalUser());
+            });
+        }
+
+        // The deleted vaccines are gone from the analytics too
+        restAnalyticsMockMvc
+            .perform(get(VACCINES_ANALYTICS_URL + "?applicationUserId=" + applicationUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").value(empty()));
+    }
+
+    private static Vaccine vaccine(ApplicationUser applicationUser, VaccineType vaccineType, LocalDate vaccinationDate, int doses) {
+        return new Vaccine().vaccineType(vaccineType).vaccinationDate(vaccinationDate).doses(doses).applicationUser(applicationUser);
+    }
+}
@@ -1,6 +1,7 @@
 package com.kruger.employees.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -9,6 +10,7 @@ import com.kruger.employees.IntegrationTest;
 import com.kruger.employees.domain.ApplicationUser;
 import com.kruger.employees.domain.User;
 import com.kruger.employees.repository.ApplicationUserRepository;
+import com.kruger.employees.web.rest.util.KeysetPaginationUtil;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
@@ -19,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -184,6 +187,30 @@ class ApplicationUserResourceIT {
             .andExpect(jsonPath("$.[*].cellphone").value(hasItem(DEFAULT_CELLPHONE)));
     }
 
+    @Test
+    @Transactional
+    void getAllApplicationUsersWithKeysetPagination() throws Exception {
+        // Initialize the database
+        applicationUserRepository.saveAndFlush(applicationUser);
+        ApplicationUser secondApplicationUser = createUpdatedEntity(em);
+        applicationUserRepository.saveAndFlush(secondApplicationUser);
+
+        // Get the first page, which advertises the cursor of its last element
+        restApplicationUserMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after=" + (applicationUser.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(applicationUser.getId().intValue()))
+            .andExpect(header().string(KeysetPaginationUtil.NEXT_CURSOR_HEADER, applicationUser.getId().toString()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + applicationUser.getId())));
+
+        // Get the next page by seeking after the cursor
+        restApplicationUserMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after=" + applicationUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(secondApplicationUser.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void getApplicationUser() throws Exception {
@@ -233,7 +260,8 @@ class ApplicationUserResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(updatedApplicationUser))
             )
-            .andExpect(status().isOk());
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(updatedApplicationUser.getVersion().intValue() + 1));
 
         // Validate the ApplicationUser in the database
         List<ApplicationUser> applicationUserList = applicationUserRepository.findAll();
@@ -245,6 +273,29 @@ class ApplicationUserResourceIT {
         assertThat(testApplicationUser.getCellphone()).isEqualTo(UPDATED_CELLPHONE);
     }
 
+    @Test
+    @Transactional
+    void putApplicationUserWithStaleVersion() throws Exception {
+        // Initialize the database
+        applicationUserRepository.saveAndFlush(applicationUser);
+
+        // Update the applicationUser from a version which is not the current one anymore
+        ApplicationUser staleApplicationUser = applicationUserRepository.findById(applicationUser.getId()).get();
+        em.detach(staleApplicationUser);
+        staleApplicationUser.version(staleApplicationUser.getVersion() - 1).address(UPDATED_ADDRESS);
+
+        restApplicationUserMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, staleApplicationUser.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(staleApplicationUser))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the ApplicationUser in the database is unchanged
+        assertThat(applicationUserRepository.findById(applicationUser.getId()).orElseThrow().getAddress()).isEqualTo(DEFAULT_ADDRESS);
+    }
+
     @Test
     @Transactional
     void putNonExistingApplicationUser() throws Exception {
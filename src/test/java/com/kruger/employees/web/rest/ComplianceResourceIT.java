@@ -0,0 +1,100 @@
+package com.kruger.employees.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import java.time.LocalDate;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link ComplianceResource} REST controller.
+ * <p>
+ * The compliance index only sees committed writes, so the tests commit their data and delete it afterwards.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ComplianceResourceIT {
+
+    private static final String EMPLOYEES_URL = "/api/compliance/employees?size=2000";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restComplianceMockMvc;
+
+    @Test
+    void filterCommittedEmployees() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationUser applicationUser = transactionTemplate.execute(status -> {
+            ApplicationUser created = ApplicationUserResourceIT.createEntity(em);
+            em.persist(created);
+            return created;
+        });
+        int id = applicationUser.getId().intValue();
+        try {
+            restComplianceMockMvc
+                .perform(get(EMPLOYEES_URL + "&status=UNVACCINATED"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count"))
+                .andExpect(jsonPath("$").value(hasItem(id)));
+
+            transactionTemplate.executeWithoutResult(status ->
+                em.persist(
+                    new Vaccine()
+                        .vaccineType(VaccineType.PFIZER)
+                        .vaccinationDate(LocalDate.of(2022, 3, 1))
+                        .doses(1)
+                        .applicationUser(em.find(ApplicationUser.class, applicationUser.getId()))
+                )
+            );
+
+            restComplianceMockMvc
+                .perform(get(EMPLOYEES_URL + "&status=PARTIALLY_VACCINATED&vaccineType=PFIZER&vaccineTypeStatus=PARTIALLY_VACCINATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasItem(id)));
+            restComplianceMockMvc
+                .perform(get(EMPLOYEES_URL + "&status=UNVACCINATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(not(hasItem(id))));
+            restComplianceMockMvc
+                .perform(get("/api/compliance/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byStatus.PARTIALLY_VACCINATED").isNumber())
+                .andExpect(jsonPath("$.byVaccineType.PFIZER.PARTIALLY_VACCINATED").isNumber());
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> {
+                ApplicationUser created = em.find(ApplicationUser.class, applicationUser.getId());
+                em
+                    .createQuery("select vaccine from Vaccine vaccine where vaccine.applicationUser = :applicationUser", Vaccine.class)
+                    .setParameter("applicationUser", created)
+                    .getResultList()
+                    .forEach(em::remove);
+                em.remove(created);
+                em.remove(created.getInternalUser());
+            });
+        }
+
+        restComplianceMockMvc
+            .perform(get(EMPLOYEES_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").value(not(hasItem(id))));
+    }
+}
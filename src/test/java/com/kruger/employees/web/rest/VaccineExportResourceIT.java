@@ -0,0 +1,115 @@
+package com.kruger.employees.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.repository.VaccineRepository;
+import java.nio.charset.StandardCharsets;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link VaccineExportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class VaccineExportResourceIT {
+
+    private static final String EXPORT_API_URL = "/api/vaccines/export";
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restVaccineExportMockMvc;
+
+    private Vaccine first;
+
+    private Vaccine second;
+
+    @BeforeEach
+    public void initTest() {
+        first = VaccineResourceIT.createEntity(em);
+        second = VaccineResourceIT.createEntity(em).vaccineType(VaccineType.PFIZER).doses(2);
+    }
+
+    @Test
+    @Transactional
+    void exportVaccinesAsNdjson() throws Exception {
+        vaccineRepository.saveAndFlush(first);
+        vaccineRepository.saveAndFlush(second);
+
+        String body = restVaccineExportMockMvc
+            .perform(get(EXPORT_API_URL + "?id.in=" + first.getId() + "," + second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"vaccines.ndjson\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertThat(firstLine.get("id").asLong()).isEqualTo(first.getId());
+        assertThat(firstLine.get("vaccineType").asText()).isEqualTo(first.getVaccineType().name());
+        assertThat(firstLine.get("applicationUser").get("id").asLong()).isEqualTo(first.getApplicationUser().getId());
+        JsonNode secondLine = objectMapper.readTree(lines[1]);
+        assertThat(secondLine.get("id").asLong()).isEqualTo(second.getId());
+        assertThat(secondLine.get("doses").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void exportFilteredVaccinesAsCsv() throws Exception {
+        vaccineRepository.saveAndFlush(first);
+        vaccineRepository.saveAndFlush(second);
+
+        String body = restVaccineExportMockMvc
+            .perform(get(EXPORT_API_URL + "?format=csv&vaccineType.equals=PFIZER&id.in=" + first.getId() + "," + second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body.split("\n"))
+            .containsExactly(
+                "id;applicationUserId;identification;vaccineType;vaccinationDate;doses",
+                second.getId() +
+                ";" +
+                second.getApplicationUser().getId() +
+                ";" +
+                second.getApplicationUser().getIdentification() +
+                ";PFIZER;" +
+                second.getVaccinationDate() +
+                ";2"
+            );
+    }
+
+    @Test
+    void exportVaccinesWithUnsupportedFormat() throws Exception {
+        restVaccineExportMockMvc.perform(get(EXPORT_API_URL + "?format=xml")).andExpect(status().isBadRequest());
+    }
+}
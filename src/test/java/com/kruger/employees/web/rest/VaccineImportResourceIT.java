@@ -0,0 +1,121 @@
+package com.kruger.employees.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.service.dto.VaccineImportJobDTO;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link VaccineImportResource} REST controller.
+ * <p>
+ * Asynchronous execution is disabled in tests, so import jobs are finished when the upload request returns.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class VaccineImportResourceIT {
+
+    private static final String IMPORT_API_URL = "/api/vaccines/import";
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restVaccineImportMockMvc;
+
+    private ApplicationUser applicationUser;
+
+    @BeforeEach
+    public void initTest() {
+        applicationUser = ApplicationUserResourceIT.createEntity(em);
+    }
+
+    @Test
+    @Transactional
+    void importVaccines() throws Exception {
+        em.persist(applicationUser);
+        em.flush();
+        int databaseSizeBeforeImport = vaccineRepository.findAll().size();
+        String unknownIdentification = "X" + applicationUser.getIdentification().substring(1);
+        String csv =
+            "identification;vaccineType;date;doses\n" +
+            applicationUser.getIdentification() +
+            ";PFIZER;2022-03-01;2\n" +
+            unknownIdentification +
+            ";PFIZER;2022-03-01;1\n" +
+            applicationUser.getIdentification() +
+            ";MODERNA;2022-03-01;1\n";
+        MockMultipartFile file = new MockMultipartFile("file", "vaccines.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        String body = restVaccineImportMockMvc
+            .perform(multipart(IMPORT_API_URL).file(file))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andExpect(jsonPath("$.fileName").value("vaccines.csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        UUID jobId = objectMapper.readValue(body, VaccineImportJobDTO.class).getId();
+
+        restVaccineImportMockMvc
+            .perform(get(IMPORT_API_URL + "/{id}", jobId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value(VaccineImportJobDTO.Status.COMPLETED.name()))
+            .andExpect(jsonPath("$.totalLines").value(4))
+            .andExpect(jsonPath("$.processedLines").value(4))
+            .andExpect(jsonPath("$.importedCount").value(1))
+            .andExpect(jsonPath("$.rejectedCount").value(2))
+            .andExpect(jsonPath("$.errors.[*].line").value(hasItem(3)))
+            .andExpect(jsonPath("$.errors.[*].line").value(hasItem(4)))
+            .andExpect(jsonPath("$.errors.[*].message").value(hasItem("Unknown identification '" + unknownIdentification + "'")))
+            .andExpect(jsonPath("$.errors.[*].message").value(hasItem("Unknown vaccine type 'MODERNA'")));
+
+        List<Vaccine> vaccineList = vaccineRepository.findAll();
+        assertThat(vaccineList).hasSize(databaseSizeBeforeImport + 1);
+        Vaccine testVaccine = vaccineList.get(vaccineList.size() - 1);
+        assertThat(testVaccine.getVaccineType()).isEqualTo(VaccineType.PFIZER);
+        assertThat(testVaccine.getVaccinationDate()).isEqualTo(LocalDate.of(2022, 3, 1));
+        assertThat(testVaccine.getDoses()).isEqualTo(2);
+        assertThat(testVaccine.getApplicationUser().getId()).isEqualTo(applicationUser.getId());
+    }
+
+    @Test
+    void importEmptyFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "vaccines.csv", "text/csv", new byte[0]);
+
+        restVaccineImportMockMvc.perform(multipart(IMPORT_API_URL).file(file)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNonExistingImportJob() throws Exception {
+        restVaccineImportMockMvc.perform(get(IMPORT_API_URL + "/{id}", UUID.randomUUID())).andExpect(status().isNotFound());
+    }
+}
@@ -1,6 +1,8 @@
 package com.kruger.employees.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -10,6 +12,9 @@ import com.kruger.employees.domain.ApplicationUser;
 import com.kruger.employees.domain.Vaccine;
 import com.kruger.employees.domain.enumeration.VaccineType;
 import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.service.dto.VaccineBatchOperationDTO;
+import com.kruger.employees.web.rest.errors.ErrorConstants;
+import com.kruger.employees.web.rest.util.KeysetPaginationUtil;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
@@ -20,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -210,6 +216,30 @@ class VaccineResourceIT {
             .andExpect(jsonPath("$.[*].doses").value(hasItem(DEFAULT_DOSES)));
     }
 
+    @Test
+    @Transactional
+    void getAllVaccinesWithKeysetPagination() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+        Vaccine secondVaccine = createEntity(em);
+        vaccineRepository.saveAndFlush(secondVaccine);
+
+        // Get the first page, which advertises the cursor of its last element
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after=" + (vaccine.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(vaccine.getId().intValue()))
+            .andExpect(header().string(KeysetPaginationUtil.NEXT_CURSOR_HEADER, vaccine.getId().toString()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + vaccine.getId())));
+
+        // Get the next page by seeking after the cursor
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after=" + vaccine.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(secondVaccine.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void getVaccine() throws Exception {
@@ -227,6 +257,212 @@ class VaccineResourceIT {
             .andExpect(jsonPath("$.doses").value(DEFAULT_DOSES));
     }
 
+    @Test
+    @Transactional
+    void getVaccineConditionally() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        String eTag = restVaccineMockMvc
+            .perform(get(ENTITY_API_URL_ID, vaccine.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // An unchanged vaccine isn't sent again
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL_ID, vaccine.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // An update from another tag is refused, an update from the current tag changes the tag
+        Vaccine updatedVaccine = createUpdatedEntity(em).id(vaccine.getId()).applicationUser(vaccine.getApplicationUser());
+        restVaccineMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, vaccine.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedVaccine))
+            )
+            .andExpect(status().isPreconditionFailed());
+        restVaccineMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, vaccine.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedVaccine))
+            )
+            .andExpect(status().isOk());
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL_ID, vaccine.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.doses").value(UPDATED_DOSES));
+    }
+
+    @Test
+    @Transactional
+    void getVaccinesByIds() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+        Vaccine secondVaccine = createEntity(em);
+        vaccineRepository.saveAndFlush(secondVaccine);
+
+        // Get both vaccines in the requested order, ignoring unknown ids
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL + "?ids=" + secondVaccine.getId() + "," + Long.MAX_VALUE + "," + vaccine.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(secondVaccine.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(vaccine.getId().intValue()))
+            .andExpect(jsonPath("$.[1].applicationUser.id").value(vaccine.getApplicationUser().getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getVaccinesByEmptyIds() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        // Get no vaccine for an empty list of ids
+        restVaccineMockMvc.perform(get(ENTITY_API_URL + "?ids=")).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getVaccinesByIdFiltering() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        Long id = vaccine.getId();
+
+        defaultVaccineShouldBeFound("id.equals=" + id);
+        defaultVaccineShouldNotBeFound("id.notEquals=" + id);
+
+        defaultVaccineShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultVaccineShouldNotBeFound("id.greaterThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllVaccinesByVaccineTypeIsEqualToSomething() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        // Get all the vaccineList where vaccineType equals to DEFAULT_VACCINE_TYPE
+        defaultVaccineShouldBeFound("vaccineType.equals=" + DEFAULT_VACCINE_TYPE);
+
+        // Get all the vaccineList where vaccineType equals to UPDATED_VACCINE_TYPE
+        defaultVaccineShouldNotBeFound("vaccineType.equals=" + UPDATED_VACCINE_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void getAllVaccinesByVaccineTypeIsInShouldWork() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        // Get all the vaccineList where vaccineType in DEFAULT_VACCINE_TYPE or UPDATED_VACCINE_TYPE
+        defaultVaccineShouldBeFound("vaccineType.in=" + DEFAULT_VACCINE_TYPE + "," + UPDATED_VACCINE_TYPE);
+
+        // Get all the vaccineList where vaccineType equals to UPDATED_VACCINE_TYPE
+        defaultVaccineShouldNotBeFound("vaccineType.in=" + UPDATED_VACCINE_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void getAllVaccinesByVaccinationDateIsGreaterThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        // Get all the vaccineList where vaccinationDate is greater than or equal to DEFAULT_VACCINATION_DATE
+        defaultVaccineShouldBeFound("vaccinationDate.greaterThanOrEqual=" + DEFAULT_VACCINATION_DATE);
+
+        // Get all the vaccineList where vaccinationDate is greater than or equal to UPDATED_VACCINATION_DATE
+        defaultVaccineShouldNotBeFound("vaccinationDate.greaterThanOrEqual=" + UPDATED_VACCINATION_DATE);
+    }
+
+    @Test
+    @Transactional
+    void getAllVaccinesByVaccinationDateIsLessThanSomething() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        // Get all the vaccineList where vaccinationDate is less than DEFAULT_VACCINATION_DATE
+        defaultVaccineShouldNotBeFound("vaccinationDate.lessThan=" + DEFAULT_VACCINATION_DATE);
+
+        // Get all the vaccineList where vaccinationDate is less than UPDATED_VACCINATION_DATE
+        defaultVaccineShouldBeFound("vaccinationDate.lessThan=" + UPDATED_VACCINATION_DATE);
+    }
+
+    @Test
+    @Transactional
+    void getAllVaccinesByDosesIsEqualToSomething() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        // Get all the vaccineList where doses equals to DEFAULT_DOSES
+        defaultVaccineShouldBeFound("doses.equals=" + DEFAULT_DOSES);
+
+        // Get all the vaccineList where doses equals to UPDATED_DOSES
+        defaultVaccineShouldNotBeFound("doses.equals=" + UPDATED_DOSES);
+    }
+
+    @Test
+    @Transactional
+    void getAllVaccinesByApplicationUserIsEqualToSomething() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+        Long applicationUserId = vaccine.getApplicationUser().getId();
+
+        // Get all the vaccineList where applicationUser equals to applicationUserId
+        defaultVaccineShouldBeFound("applicationUserId.equals=" + applicationUserId);
+
+        // Get all the vaccineList where applicationUser equals to (applicationUserId + 1)
+        defaultVaccineShouldNotBeFound("applicationUserId.equals=" + (applicationUserId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultVaccineShouldBeFound(String filter) throws Exception {
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL + "?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(vaccine.getId().intValue())))
+            .andExpect(jsonPath("$.[*].vaccineType").value(hasItem(DEFAULT_VACCINE_TYPE.toString())))
+            .andExpect(jsonPath("$.[*].vaccinationDate").value(hasItem(DEFAULT_VACCINATION_DATE.toString())))
+            .andExpect(jsonPath("$.[*].doses").value(hasItem(DEFAULT_DOSES)));
+
+        // Check, that the count call also returns 1
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL + "/count?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultVaccineShouldNotBeFound(String filter) throws Exception {
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL + "?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restVaccineMockMvc
+            .perform(get(ENTITY_API_URL + "/count?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingVaccine() throws Exception {
@@ -254,7 +490,9 @@ class VaccineResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(updatedVaccine))
             )
-            .andExpect(status().isOk());
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(updatedVaccine.getVersion().intValue() + 1))
+            .andExpect(jsonPath("$.applicationUser.id").value(vaccine.getApplicationUser().getId().intValue()));
 
         // Validate the Vaccine in the database
         List<Vaccine> vaccineList = vaccineRepository.findAll();
@@ -265,6 +503,38 @@ class VaccineResourceIT {
         assertThat(testVaccine.getDoses()).isEqualTo(UPDATED_DOSES);
     }
 
+    @Test
+    @Transactional
+    void putVaccineWithStaleVersion() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+
+        // Update the vaccine from a version which is not the current one anymore
+        Vaccine staleVaccine = vaccineRepository.findById(vaccine.getId()).get();
+        em.detach(staleVaccine);
+        staleVaccine.version(staleVaccine.getVersion() - 1).doses(UPDATED_DOSES);
+
+        restVaccineMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, staleVaccine.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(staleVaccine))
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
+
+        restVaccineMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, staleVaccine.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(new Vaccine().id(staleVaccine.getId()).version(staleVaccine.getVersion())))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the Vaccine in the database is unchanged
+        assertThat(vaccineRepository.findById(vaccine.getId()).orElseThrow().getDoses()).isEqualTo(DEFAULT_DOSES);
+    }
+
     @Test
     @Transactional
     void putNonExistingVaccine() throws Exception {
@@ -456,4 +726,78 @@ class VaccineResourceIT {
         List<Vaccine> vaccineList = vaccineRepository.findAll();
         assertThat(vaccineList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void batchVaccines() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(vaccine);
+        Vaccine deletedVaccine = createEntity(em);
+        vaccineRepository.saveAndFlush(deletedVaccine);
+        int databaseSizeBeforeBatch = vaccineRepository.findAll().size();
+
+        Vaccine newVaccine = createEntity(em);
+        Vaccine updatedVaccine = createUpdatedEntity(em).id(vaccine.getId());
+        Vaccine invalidVaccine = createEntity(em).doses(null);
+        List<VaccineBatchOperationDTO> operations = List.of(
+            new VaccineBatchOperationDTO(VaccineBatchOperationDTO.Operation.CREATE, null, newVaccine),
+            new VaccineBatchOperationDTO(VaccineBatchOperationDTO.Operation.UPDATE, null, updatedVaccine),
+            new VaccineBatchOperationDTO(VaccineBatchOperationDTO.Operation.DELETE, deletedVaccine.getId(), null),
+            new VaccineBatchOperationDTO(VaccineBatchOperationDTO.Operation.DELETE, deletedVaccine.getId(), null),
+            new VaccineBatchOperationDTO(VaccineBatchOperationDTO.Operation.CREATE, null, invalidVaccine)
+        );
+
+        restVaccineMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(operations))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains(201, 200, 204, 404, 400)))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].id").value(vaccine.getId().intValue()))
+            .andExpect(jsonPath("$.[3].error").value("idnotfound"))
+            .andExpect(jsonPath("$.[4].error").value("validation"));
+
+        // Validate the operations in the database
+        assertThat(vaccineRepository.findAll()).hasSize(databaseSizeBeforeBatch);
+        assertThat(vaccineRepository.findById(deletedVaccine.getId())).isEmpty();
+        Vaccine testVaccine = vaccineRepository.findById(vaccine.getId()).orElseThrow();
+        assertThat(testVaccine.getVaccineType()).isEqualTo(UPDATED_VACCINE_TYPE);
+        assertThat(testVaccine.getVaccinationDate()).isEqualTo(UPDATED_VACCINATION_DATE);
+        assertThat(testVaccine.getDoses()).isEqualTo(UPDATED_DOSES);
+    }
+
+    @Test
+    @Transactional
+    void batchVaccinesWithoutApplicationUserId() throws Exception {
+        int databaseSizeBeforeBatch = vaccineRepository.findAll().size();
+
+        String operations =
+            "[{\"operation\": \"CREATE\", \"vaccine\": {\"vaccineType\": \"" +
+            DEFAULT_VACCINE_TYPE +
+            "\", \"vaccinationDate\": \"" +
+            DEFAULT_VACCINATION_DATE +
+            "\", \"doses\": " +
+            DEFAULT_DOSES +
+            ", \"applicationUser\": {}}}]";
+        restVaccineMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(operations))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(400))
+            .andExpect(jsonPath("$.[0].error").value("applicationusernotfound"));
+
+        assertThat(vaccineRepository.findAll()).hasSize(databaseSizeBeforeBatch);
+    }
+
+    @Test
+    @Transactional
+    void batchVaccinesWithInvalidBody() throws Exception {
+        int databaseSizeBeforeBatch = vaccineRepository.findAll().size();
+
+        restVaccineMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content("[{\"operation\": \"MERGE\"}]"))
+            .andExpect(status().isBadRequest());
+
+        assertThat(vaccineRepository.findAll()).hasSize(databaseSizeBeforeBatch);
+    }
 }
@@ -0,0 +1,185 @@
+package com.kruger.employees.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.employees.IntegrationTest;
+import com.kruger.employees.domain.ApplicationUser;
+import com.kruger.employees.domain.Vaccine;
+import com.kruger.employees.domain.VaccineStatistic;
+import com.kruger.employees.domain.enumeration.VaccineType;
+import com.kruger.employees.repository.VaccineRepository;
+import com.kruger.employees.security.AuthoritiesConstants;
+import com.kruger.employees.service.dto.VaccineStatisticsDTO;
+import com.kruger.employees.service.dto.VaccineStatisticsDTO.BucketDTO;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link VaccineStatisticsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class VaccineStatisticsResourceIT {
+
+    private static final String STATISTICS_API_URL = "/api/vaccines/statistics";
+    private static final String VACCINE_API_URL = "/api/vaccines";
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restVaccineStatisticsMockMvc;
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void rebuildVaccineStatistics() throws Exception {
+        // Initialize the database
+        vaccineRepository.saveAndFlush(VaccineResourceIT.createEntity(em));
+        vaccineRepository.saveAndFlush(VaccineResourceIT.createEntity(em).vaccineType(VaccineType.PFIZER).doses(3));
+
+        VaccineStatisticsDTO statistics = readStatistics(restVaccineStatisticsMockMvc.perform(post(STATISTICS_API_URL + "/rebuild")));
+
+        // The rebuilt statistics match the vaccines
+        List<Vaccine> vaccines = vaccineRepository.findAll();
+        assertThat(totalVaccines(statistics.getByVaccineType())).isEqualTo(vaccines.size());
+        assertThat(totalVaccines(statistics.getByMonth())).isEqualTo(vaccines.size());
+        assertThat(totalVaccines(statistics.getByDoses())).isEqualTo(vaccines.size());
+        assertBucket(statistics.getByVaccineType(), vaccines, VaccineType.PFIZER.name(), vaccine -> vaccine.getVaccineType().name());
+        assertBucket(statistics.getByDoses(), vaccines, "3", vaccine -> String.valueOf(vaccine.getDoses()));
+        assertBucket(
+            statistics.getByMonth(),
+            vaccines,
+            VaccineStatistic.monthBucket(vaccines.get(0).getVaccinationDate()),
+            vaccine -> VaccineStatistic.monthBucket(vaccine.getVaccinationDate())
+        );
+    }
+
+    @Test
+    void rebuildVaccineStatisticsIsForAdmins() throws Exception {
+        restVaccineStatisticsMockMvc.perform(post(STATISTICS_API_URL + "/rebuild")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void statisticsAreMaintainedIncrementally() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationUser applicationUser = transactionTemplate.execute(status -> {
+            ApplicationUser created = ApplicationUserResourceIT.createEntity(em);
+            em.persist(created);
+            return created;
+        });
+        try {
+            VaccineStatisticsDTO before = readStatistics(restVaccineStatisticsMockMvc.perform(get(STATISTICS_API_URL)));
+
+            // Create two vaccines, then move the second one to the month of the first one
+            Vaccine first = createVaccine(
+                new Vaccine()
+                    .vaccineType(VaccineType.PFIZER)
+                    .vaccinationDate(LocalDate.of(1901, 1, 15))
+                    .doses(3)
+                    .applicationUser(applicationUser)
+            );
+            Vaccine second = createVaccine(
+                new Vaccine()
+                    .vaccineType(VaccineType.SPUTNIK)
+                    .vaccinationDate(LocalDate.of(1901, 2, 10))
+                    .doses(1)
+                    .applicationUser(applicationUser)
+            );
+            second.vaccinationDate(LocalDate.of(1901, 1, 20)).doses(2);
+            restVaccineStatisticsMockMvc
+                .perform(
+                    put(VACCINE_API_URL + "/{id}", second.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(second))
+                )
+                .andExpect(status().isOk());
+
+            VaccineStatisticsDTO after = readStatistics(restVaccineStatisticsMockMvc.perform(get(STATISTICS_API_URL)));
+            assertDelta(before.getByMonth(), after.getByMonth(), "1901-01", 2, 5);
+            assertDelta(before.getByMonth(), after.getByMonth(), "1901-02", 0, 0);
+            assertDelta(before.getByVaccineType(), after.getByVaccineType(), VaccineType.PFIZER.name(), 1, 3);
+            assertDelta(before.getByVaccineType(), after.getByVaccineType(), VaccineType.SPUTNIK.name(), 1, 2);
+            assertDelta(before.getByDoses(), after.getByDoses(), "1", 0, 0);
+            assertDelta(before.getByDoses(), after.getByDoses(), "2", 1, 2);
+            assertDelta(before.getByDoses(), after.getByDoses(), "3", 1, 3);
+
+            // Deleting the vaccines restores the previous statistics
+            restVaccineStatisticsMockMvc.perform(delete(VACCINE_API_URL + "/{id}", first.getId())).andExpect(status().isNoContent());
+            restVaccineStatisticsMockMvc.perform(delete(VACCINE_API_URL + "/{id}", second.getId())).andExpect(status().isNoContent());
+            VaccineStatisticsDTO restored = readStatistics(restVaccineStatisticsMockMvc.perform(get(STATISTICS_API_URL)));
+            assertThat(restored).usingRecursiveComparison().isEqualTo(before);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> {
+                ApplicationUser created = em.find(ApplicationUser.class, applicationUser.getId());
+                em.remove(created);
+                em.remove(created.getInternalUser());
+            });
+        }
+    }
+
+    private Vaccine createVaccine(Vaccine vaccine) throws Exception {
+        String body = restVaccineStatisticsMockMvc
+            .perform(post(VACCINE_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(vaccine)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return vaccine.id(objectMapper.readValue(body, Vaccine.class).getId());
+    }
+
+    private VaccineStatisticsDTO readStatistics(ResultActions result) throws Exception {
+        String body = result
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return objectMapper.readValue(body, VaccineStatisticsDTO.class);
+    }
+
+    private static long totalVaccines(List<BucketDTO> buckets) {
+        return buckets.stream().mapToLong(BucketDTO::getVaccineCount).sum();
+    }
+
+    private static BucketDTO bucket(List<BucketDTO> buckets, String name) {
+        return buckets.stream().filter(bucket -> bucket.getBucket().equals(name)).findFirst().orElse(new BucketDTO(name, 0, 0));
+    }
+
+    private static void assertBucket(List<BucketDTO> buckets, List<Vaccine> vaccines, String name, Function<Vaccine, String> bucketOf) {
+        BucketDTO bucket = bucket(buckets, name);
+        assertThat(bucket.getVaccineCount()).isEqualTo(vaccines.stream().filter(vaccine -> bucketOf.apply(vaccine).equals(name)).count());
+        assertThat(bucket.getDoseCount())
+            .isEqualTo(vaccines.stream().filter(vaccine -> bucketOf.apply(vaccine).equals(name)).mapToLong(Vaccine::getDoses).sum());
+    }
+
+    private static void assertDelta(List<BucketDTO> before, List<BucketDTO> after, String name, long vaccines, long doses) {
+        assertThat(bucket(after, name).getVaccineCount() - bucket(before, name).getVaccineCount()).isEqualTo(vaccines);
+        assertThat(bucket(after, name).getDoseCount() - bucket(before, name).getDoseCount()).isEqualTo(doses);
+    }
+}
@@ -0,0 +1,48 @@
+package com.kruger.employees.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Test class for the {@link ETagUtil} utility class.
+ */
+class ETagUtilTest {
+
+    @Test
+    void entityTagIsQuotedAndJoinsItsParts() {
+        assertThat(ETagUtil.entityTag(42L, 3L, null)).isEqualTo("\"42-3-null\"");
+    }
+
+    @Test
+    void collectionTagChangesWithAnyEntityAndWithTheOrder() {
+        String tag = ETagUtil.collectionTag(List.of("1-0", "2-0"), entity -> entity);
+
+        assertThat(ETagUtil.collectionTag(List.of("1-0", "2-0"), entity -> entity)).isEqualTo(tag);
+        assertThat(ETagUtil.collectionTag(List.of("1-0", "2-1"), entity -> entity)).isNotEqualTo(tag);
+        assertThat(ETagUtil.collectionTag(List.of("2-0", "1-0"), entity -> entity)).isNotEqualTo(tag);
+        assertThat(ETagUtil.collectionTag(List.of("1-0"), entity -> entity)).isNotEqualTo(tag).startsWith("\"1-");
+    }
+
+    @Test
+    void checkIfMatchAcceptsMissingWildcardAndListedStrongTags() {
+        assertThatCode(() -> ETagUtil.checkIfMatch(null, "\"1\"")).doesNotThrowAnyException();
+        assertThatCode(() -> ETagUtil.checkIfMatch("*", "\"1\"")).doesNotThrowAnyException();
+        assertThatCode(() -> ETagUtil.checkIfMatch("\"0\", \"1\"", "\"1\"")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkIfMatchRejectsOtherAndWeakTags() {
+        assertThatThrownBy(() -> ETagUtil.checkIfMatch("\"0\"", "\"1\""))
+            .isInstanceOfSatisfying(
+                ResponseStatusException.class,
+                exception -> assertThat(exception.getStatus()).isEqualTo(HttpStatus.PRECONDITION_FAILED)
+            );
+        assertThatThrownBy(() -> ETagUtil.checkIfMatch("W/\"1\"", "\"1\"")).isInstanceOf(ResponseStatusException.class);
+    }
+}
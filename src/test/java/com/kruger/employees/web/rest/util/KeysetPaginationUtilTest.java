@@ -0,0 +1,53 @@
+package com.kruger.employees.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilTest {
+
+    @Test
+    void seekPageableAlwaysReadsTheFirstPageOrderedById() {
+        Pageable pageable = KeysetPaginationUtil.seekPageable(50);
+        assertThat(pageable.getPageNumber()).isZero();
+        assertThat(pageable.getOffset()).isZero();
+        assertThat(pageable.getPageSize()).isEqualTo(50);
+        assertThat(pageable.getSort().getOrderFor("id")).isNotNull();
+    }
+
+    @Test
+    void seekPageableClampsTheSize() {
+        assertThat(KeysetPaginationUtil.seekPageable(0).getPageSize()).isEqualTo(1);
+        assertThat(KeysetPaginationUtil.seekPageable(1_000_000).getPageSize()).isEqualTo(KeysetPaginationUtil.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void generateHeadersWithNextCursor() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("/api/vaccines?after=3&size=2");
+        SliceImpl<Long> slice = new SliceImpl<>(List.of(4L, 7L), KeysetPaginationUtil.seekPageable(2), true);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(uriBuilder, slice, id -> id);
+
+        assertThat(headers.getFirst(KeysetPaginationUtil.NEXT_CURSOR_HEADER)).isEqualTo("7");
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo("</api/vaccines?after=7&size=2>; rel=\"next\"");
+    }
+
+    @Test
+    void generateHeadersOnLastPage() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("/api/vaccines");
+        SliceImpl<Long> slice = new SliceImpl<>(List.of(4L), KeysetPaginationUtil.seekPageable(2), false);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(uriBuilder, slice, id -> id);
+
+        assertThat(headers.containsKey(KeysetPaginationUtil.NEXT_CURSOR_HEADER)).isFalse();
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}